@@ -1,13 +1,16 @@
 package com.akash.hotelbookingmanagement;
 
+import com.akash.hotelbookingmanagement.repository.MultiLoadRepositoryImpl;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 
 @SpringBootApplication
-@EnableJpaRepositories
+@EnableJpaRepositories(repositoryBaseClass = MultiLoadRepositoryImpl.class)
 @EnableWebMvc
+@EnableScheduling
 public class HotelBookingManagementApplication {
 	public static void main(final String[] args) {
 		SpringApplication.run(HotelBookingManagementApplication.class, args);
@@ -2,11 +2,23 @@ package com.akash.hotelbookingmanagement.api;
 
 import com.akash.hotelbookingmanagement.model.BookingDetails;
 import com.akash.hotelbookingmanagement.dto.BookingDetailsDto;
+import com.akash.hotelbookingmanagement.dto.BookingView;
+import com.akash.hotelbookingmanagement.dto.BulkBookingResult;
+import com.akash.hotelbookingmanagement.dto.RoomHoldDto;
+import com.akash.hotelbookingmanagement.metrics.SqlBudget;
+import com.akash.hotelbookingmanagement.model.BookingTicket;
+import com.akash.hotelbookingmanagement.model.RoomHold;
 import com.akash.hotelbookingmanagement.service.BookingDetailsService;
+import com.akash.hotelbookingmanagement.service.BookingExportService;
+import com.akash.hotelbookingmanagement.service.BookingImportService;
+import com.akash.hotelbookingmanagement.service.BookingTicketService;
+import com.akash.hotelbookingmanagement.service.RoomHoldService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,8 +26,18 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Controller class for managing booking-related API endpoints.
@@ -29,6 +51,21 @@ public class BookingDetailsController {
     @Autowired
     private BookingDetailsService bookingDetailsService;
 
+    @Autowired
+    private RoomHoldService roomHoldService;
+
+    @Autowired
+    private KeysetPagination keysetPagination;
+
+    @Autowired
+    private BookingExportService bookingExportService;
+
+    @Autowired
+    private BookingImportService bookingImportService;
+
+    @Autowired
+    private BookingTicketService bookingTicketService;
+
     /**
      * Creates a new booking.
      *
@@ -36,6 +73,7 @@ public class BookingDetailsController {
      * @return ResponseEntity representing the HTTP response.
      */
     @PostMapping("/")
+    @SqlBudget(10)
     public ResponseEntity<BookingDetails> createBookingDetails(@RequestBody final BookingDetailsDto bookingDetailsData) {
         LOGGER.info("Request received to create a new booking");
         BookingDetails createdBooking = bookingDetailsService.createBooking(bookingDetailsData);
@@ -43,15 +81,141 @@ public class BookingDetailsController {
     }
 
     /**
-     * Retrieves all bookings.
+     * Submits a booking for asynchronous creation.
+     *
+     * @param bookingDetailsData The booking details to create.
+     * @return ResponseEntity with the pending ticket, to be polled at its location.
+     */
+    @PostMapping("/tickets")
+    @SqlBudget(1)
+    public ResponseEntity<BookingTicket> submitBookingDetails(@RequestBody final BookingDetailsDto bookingDetailsData) {
+        LOGGER.info("Request received to submit a new booking");
+        BookingTicket ticket = bookingTicketService.submit(bookingDetailsData);
+        return ResponseEntity.accepted().location(URI.create("/booking/tickets/" + ticket.getTicketId())).body(ticket);
+    }
+
+    /**
+     * Retrieves a booking ticket by its ID.
+     *
+     * @param ticketId The ID of the ticket.
+     * @return ResponseEntity with the ticket, which carries the booking ID once the booking is created.
+     */
+    @GetMapping("/tickets/{ticketId}")
+    @SqlBudget(1)
+    public ResponseEntity<BookingTicket> getBookingTicket(@PathVariable final String ticketId) {
+        LOGGER.info("Request received to fetch booking ticket with ID: {}", ticketId);
+        return ResponseEntity.ok(bookingTicketService.getTicket(ticketId));
+    }
+
+    /**
+     * Streams the outcome of a booking ticket as a server-sent event once the booking is created or rejected.
+     *
+     * @param ticketId The ID of the ticket.
+     * @return The emitter of the ticket's outcome.
+     */
+    @GetMapping(value = "/tickets/{ticketId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamBookingTicket(@PathVariable final String ticketId) {
+        LOGGER.info("Request received to stream booking ticket with ID: {}", ticketId);
+        return bookingTicketService.subscribe(ticketId);
+    }
+
+    /**
+     * Creates a batch of bookings sent as a JSON array.
+     *
+     * @param bookings The bookings to create.
+     * @return ResponseEntity with the outcome of every booking.
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BulkBookingResult>> importBookings(@RequestBody final List<BookingDetailsDto> bookings) {
+        LOGGER.info("Request received to import {} bookings", bookings.size());
+        return ResponseEntity.ok(bookingImportService.importBookings(bookings));
+    }
+
+    /**
+     * Creates a batch of bookings sent as newline delimited JSON.
+     *
+     * @param body The request body, one booking per line.
+     * @return ResponseEntity with the outcome of every booking.
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<List<BulkBookingResult>> importBookingsNdjson(final InputStream body) {
+        List<BookingDetailsDto> bookings = bookingImportService.readBookings(body);
+        LOGGER.info("Request received to import {} bookings", bookings.size());
+        return ResponseEntity.ok(bookingImportService.importBookings(bookings));
+    }
+
+    /**
+     * Holds rooms for a stay until the booking is paid.
+     *
+     * @param roomHoldData The rooms and stay to hold.
+     * @return ResponseEntity representing the HTTP response.
+     */
+    @PostMapping("/hold")
+    @SqlBudget(6)
+    public ResponseEntity<RoomHold> createRoomHold(@RequestBody final RoomHoldDto roomHoldData) {
+        LOGGER.info("Request received to hold rooms: {}", roomHoldData.getRoomNumberList());
+        RoomHold roomHold = roomHoldService.createHold(roomHoldData);
+        return new ResponseEntity<>(roomHold, HttpStatus.CREATED);
+    }
+
+    /**
+     * Releases a room hold before it expires.
+     *
+     * @param holdId The ID of the hold to release.
+     * @return ResponseEntity representing the HTTP response.
+     */
+    @DeleteMapping("/hold/{holdId}")
+    @SqlBudget(5)
+    public ResponseEntity<Void> releaseRoomHold(@PathVariable final Integer holdId) {
+        LOGGER.info("Request received to release room hold with ID: {}", holdId);
+        roomHoldService.releaseHold(holdId);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
+    /**
+     * Retrieves a page of bookings in ID order.
      *
+     * @param after The booking ID the page starts after, or null for the first page.
+     * @param limit The page size, or null for the default.
      * @return ResponseEntity representing the HTTP response.
      */
     @GetMapping("/")
-    public ResponseEntity<Iterable<BookingDetails>> getAllBookingDetails() {
+    @SqlBudget(3)
+    public ResponseEntity<List<BookingView>> getAllBookingDetails(@RequestParam(required = false) final Integer after,
+                                                                  @RequestParam(required = false) final Integer limit) {
         LOGGER.info("Request received to fetch all bookings");
-        Iterable<BookingDetails> bookingDetailsList = bookingDetailsService.getAllBookingDetails();
-        return new ResponseEntity<>(bookingDetailsList, HttpStatus.OK);
+        int pageSize = keysetPagination.limit(limit);
+        List<BookingView> bookingViews = bookingDetailsService.getAllBookingDetails(after, pageSize);
+        return keysetPagination.page(bookingViews, pageSize, BookingView::getBookingId);
+    }
+
+    /**
+     * Exports every booking as newline delimited JSON, gzip compressed if the client accepts it.
+     *
+     * @param acceptEncoding The Accept-Encoding header of the request.
+     * @return ResponseEntity streaming the bookings.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) final String acceptEncoding) {
+        LOGGER.info("Request received to export all bookings");
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        StreamingResponseBody body = outputStream -> {
+            if (gzip) {
+                GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream, true);
+                bookingExportService.exportBookings(gzipOutputStream);
+                gzipOutputStream.finish();
+            } else {
+                bookingExportService.exportBookings(outputStream);
+            }
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
     }
 
     /**
@@ -61,12 +225,13 @@ public class BookingDetailsController {
      * @return ResponseEntity representing the HTTP response.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<BookingDetails> getBookingDetailsById(@PathVariable final Integer id) {
+    @SqlBudget(3)
+    public ResponseEntity<BookingView> getBookingDetailsById(@PathVariable final Integer id) {
         LOGGER.info("Request received to fetch booking with ID: {}", id);
-        BookingDetails bookingDetails = bookingDetailsService.getBookingDetails(id);
-        if (bookingDetails != null) {
+        BookingView bookingView = bookingDetailsService.getBookingView(id);
+        if (bookingView != null) {
             LOGGER.info("Found booking with ID: {}", id);
-            return new ResponseEntity<>(bookingDetails, HttpStatus.OK);
+            return new ResponseEntity<>(bookingView, HttpStatus.OK);
         } else {
             LOGGER.warn("Booking with ID: {} not found", id);
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
@@ -81,6 +246,7 @@ public class BookingDetailsController {
      * @return ResponseEntity representing the HTTP response.
      */
     @PutMapping("/{id}")
+    @SqlBudget(10)
     public ResponseEntity<BookingDetails> updateBookingDetails(@PathVariable final Integer id, @RequestBody final BookingDetailsDto bookingDetailsData) {
         LOGGER.info("Request received to update booking with ID: {}", id);
         BookingDetails updatedBooking = bookingDetailsService.updateBookingDetails(id, bookingDetailsData);
@@ -94,6 +260,7 @@ public class BookingDetailsController {
      * @return ResponseEntity representing the HTTP response.
      */
     @DeleteMapping("/{id}")
+    @SqlBudget(7)
     public ResponseEntity<Void> deleteBookingDetails(@PathVariable final Integer id) {
         LOGGER.info("Request received to delete booking with ID: {}", id);
         bookingDetailsService.deleteBookingDetails(id);
@@ -1,5 +1,6 @@
 package com.akash.hotelbookingmanagement.api;
 
+import com.akash.hotelbookingmanagement.dto.CustomerView;
 import com.akash.hotelbookingmanagement.model.Customer;
 import com.akash.hotelbookingmanagement.service.CustomerService;
 import org.slf4j.Logger;
@@ -14,8 +15,11 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/customer")
 public class CustomerController {
@@ -25,6 +29,9 @@ public class CustomerController {
     @Autowired
     private CustomerService customerService;
 
+    @Autowired
+    private KeysetPagination keysetPagination;
+
     @PostMapping(value = "/")
     public ResponseEntity<Customer> createCustomer(final @RequestBody Customer customer) {
         LOGGER.info("Request received to create a new customer");
@@ -34,17 +41,19 @@ public class CustomerController {
     }
 
     @GetMapping(value = "/")
-    public ResponseEntity<Iterable<Customer>> getAllCustomers() {
+    public ResponseEntity<List<CustomerView>> getAllCustomers(final @RequestParam(required = false) Integer after,
+                                                              final @RequestParam(required = false) Integer limit) {
         LOGGER.info("Request received to fetch all customers");
-        Iterable<Customer> customers = customerService.getAllCustomers();
+        int pageSize = keysetPagination.limit(limit);
+        List<CustomerView> customers = customerService.getAllCustomers(after, pageSize);
         LOGGER.info("Fetched all customers successfully");
-        return ResponseEntity.ok(customers);
+        return keysetPagination.page(customers, pageSize, CustomerView::getCustomerId);
     }
 
     @GetMapping(value = "/{id}")
-    public ResponseEntity<Customer> getCustomer(final @PathVariable Integer id) {
+    public ResponseEntity<CustomerView> getCustomer(final @PathVariable Integer id) {
         LOGGER.info("Request received to fetch customer with ID: {}", id);
-        Customer customer = customerService.getCustomerById(id);
+        CustomerView customer = customerService.getCustomerView(id);
         return ResponseEntity.ok(customer);
     }
 
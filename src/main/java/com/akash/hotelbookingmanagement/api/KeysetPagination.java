@@ -0,0 +1,71 @@
+package com.akash.hotelbookingmanagement.api;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset pagination of list endpoints. A page is requested with {@code ?after=<key>&limit=<n>} and holds the
+ * items whose key is greater than {@code after}, in key order. A full page carries the key of its last item
+ * in the {@code X-Next-Cursor} header and a {@code Link} header to the next page; the body stays a JSON array.
+ */
+@Component
+public class KeysetPagination {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final int defaultLimit;
+
+    private final int maxLimit;
+
+    @Autowired
+    public KeysetPagination(@Value("${pagination.default-limit:20}") final int defaultLimit,
+                            @Value("${pagination.max-limit:100}") final int maxLimit) {
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * Resolves the page size, capped at the maximum page size.
+     *
+     * @param limit The requested page size, or null for the default.
+     * @return The page size to query.
+     */
+    public int limit(final Integer limit) {
+        if (limit == null || limit < 1) {
+            return defaultLimit;
+        }
+        return Math.min(limit, maxLimit);
+    }
+
+    /**
+     * Builds the response of a page.
+     *
+     * @param page  The items of the page.
+     * @param limit The page size that was queried.
+     * @param key   Extracts the pagination key of an item.
+     * @param <T>   The type of the items.
+     * @return ResponseEntity with the page and, if it is full, the cursor of the next page.
+     */
+    public <T> ResponseEntity<List<T>> page(final List<T> page, final int limit, final Function<T, ?> key) {
+        if (page.size() < limit) {
+            return ResponseEntity.ok(page);
+        }
+        String nextCursor = String.valueOf(key.apply(page.get(page.size() - 1)));
+        String nextPage = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("after", nextCursor)
+                .replaceQueryParam("limit", limit)
+                .build()
+                .toUriString();
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, nextCursor)
+                .header(HttpHeaders.LINK, "<" + nextPage + ">; rel=\"next\"")
+                .body(page);
+    }
+}
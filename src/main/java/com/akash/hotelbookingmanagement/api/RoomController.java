@@ -1,7 +1,10 @@
 package com.akash.hotelbookingmanagement.api;
 
+import com.akash.hotelbookingmanagement.dto.CustomerView;
 import com.akash.hotelbookingmanagement.dto.RoomDto;
-import com.akash.hotelbookingmanagement.model.Customer;
+import com.akash.hotelbookingmanagement.dto.RoomSearchCriteria;
+import com.akash.hotelbookingmanagement.dto.RoomView;
+import com.akash.hotelbookingmanagement.metrics.SqlBudget;
 import com.akash.hotelbookingmanagement.model.Room;
 import com.akash.hotelbookingmanagement.service.RoomService;
 
@@ -12,13 +15,17 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/rooms")
 public class RoomController {
@@ -28,7 +35,11 @@ public class RoomController {
     @Autowired
     private RoomService roomService;
 
+    @Autowired
+    private KeysetPagination keysetPagination;
+
     @PostMapping
+    @SqlBudget(7)
     public ResponseEntity<Room> createRoom(@RequestBody final RoomDto roomData) {
         LOGGER.info("Request received to create a new room");
         Room savedRoom = roomService.createRoom(roomData);
@@ -36,16 +47,31 @@ public class RoomController {
     }
 
     @GetMapping
-    public ResponseEntity<Iterable<Room>> getAllRooms() {
+    @SqlBudget(2)
+    public ResponseEntity<List<RoomView>> getAllRooms(@RequestParam(required = false) final Integer after,
+                                                      @RequestParam(required = false) final Integer limit) {
         LOGGER.info("Request received to fetch all rooms");
-        Iterable<Room> rooms = roomService.getAllRooms();
-        return ResponseEntity.ok(rooms);
+        int pageSize = keysetPagination.limit(limit);
+        List<RoomView> rooms = roomService.getAllRooms(after, pageSize);
+        return keysetPagination.page(rooms, pageSize, RoomView::getRoomNumber);
+    }
+
+    @GetMapping("/available")
+    @SqlBudget(3)
+    public ResponseEntity<List<RoomView>> searchAvailableRooms(@ModelAttribute final RoomSearchCriteria criteria,
+                                                               @RequestParam(required = false) final Integer after,
+                                                               @RequestParam(required = false) final Integer limit) {
+        LOGGER.info("Request received to search available rooms from {} to {}", criteria.getFrom(), criteria.getTo());
+        int pageSize = keysetPagination.limit(limit);
+        List<RoomView> rooms = roomService.searchAvailableRooms(criteria, after, pageSize);
+        return keysetPagination.page(rooms, pageSize, RoomView::getRoomNumber);
     }
 
     @GetMapping("/{roomNumber}")
-    public ResponseEntity<Room> getRoomByRoomNumber(@PathVariable final Integer roomNumber) {
+    @SqlBudget(2)
+    public ResponseEntity<RoomView> getRoomByRoomNumber(@PathVariable final Integer roomNumber) {
         LOGGER.info("Request received to fetch room with room number: {}", roomNumber);
-        Room room = roomService.getRoomByRoomNumber(roomNumber);
+        RoomView room = roomService.getRoomView(roomNumber);
         if (room != null) {
             LOGGER.info("Found room with room number: {}", roomNumber);
             return ResponseEntity.ok(room);
@@ -56,26 +82,24 @@ public class RoomController {
     }
 
     @GetMapping("/type/{type}")
-    public ResponseEntity<Iterable<Room>> getRoomsByType(@PathVariable final String type) {
+    @SqlBudget(2)
+    public ResponseEntity<List<RoomView>> getRoomsByType(@PathVariable final String type) {
         LOGGER.info("Request received to fetch rooms with type: {}", type);
-        Iterable<Room> rooms = roomService.getRoomsByType(type);
+        List<RoomView> rooms = roomService.getRoomsByType(type);
         return ResponseEntity.ok(rooms);
     }
 
     @GetMapping("/{roomNumber}/customers")
-    public ResponseEntity<Iterable<Customer>> getCheckedInCustomers(@PathVariable final Integer roomNumber) {
+    @SqlBudget(2)
+    public ResponseEntity<List<CustomerView>> getCheckedInCustomers(@PathVariable final Integer roomNumber) {
         LOGGER.info("Request received to fetch checked-in customers for room with room number: {}", roomNumber);
-        Iterable<Customer> customers = roomService.getCheckedInCustomers(roomNumber);
-        if (customers != null) {
-            LOGGER.info("Fetched checked-in customers for room with room number: {}", roomNumber);
-            return ResponseEntity.ok(customers);
-        } else {
-            LOGGER.warn("No checked-in customers found for room with room number: {}", roomNumber);
-            return ResponseEntity.notFound().build();
-        }
+        List<CustomerView> customers = roomService.getCheckedInCustomers(roomNumber);
+        LOGGER.info("Fetched checked-in customers for room with room number: {}", roomNumber);
+        return ResponseEntity.ok(customers);
     }
 
     @PutMapping("/{roomNumber}")
+    @SqlBudget(7)
     public ResponseEntity<Room> updateRoomById(@PathVariable final Integer roomNumber, @RequestBody final RoomDto roomData) {
         LOGGER.info("Request received to update room with room number: {}", roomNumber);
         Room updatedRoom = roomService.updateRoomById(roomNumber, roomData);
@@ -89,6 +113,7 @@ public class RoomController {
     }
 
     @DeleteMapping("/{roomNumber}")
+    @SqlBudget(6)
     public ResponseEntity<Void> deleteRoom(@PathVariable final Integer roomNumber) {
         LOGGER.info("Request received to delete room with room number: {}", roomNumber);
         roomService.deleteRoom(roomNumber);
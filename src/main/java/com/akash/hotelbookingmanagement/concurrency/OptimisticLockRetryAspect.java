@@ -0,0 +1,116 @@
+package com.akash.hotelbookingmanagement.concurrency;
+
+import com.akash.hotelbookingmanagement.metrics.RequestSqlStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retries methods annotated with {@link RetryOnOptimisticLock} when they fail on a stale entity version.
+ * The aspect runs outside the transaction interceptor, so every attempt gets a fresh transaction and
+ * persistence context. Attempts are spaced with exponential backoff and full jitter, so that the writers
+ * that collided do not collide again on their next attempt. Each attempt is held to the request's SQL budget
+ * on its own.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class OptimisticLockRetryAspect {
+    private static final Logger LOGGER = LoggerFactory.getLogger(OptimisticLockRetryAspect.class);
+
+    private final int maxAttempts;
+
+    private final long backoffMillis;
+
+    private final long maxBackoffMillis;
+
+    private final Counter retryCounter;
+
+    private final Counter exhaustedCounter;
+
+    @Autowired
+    public OptimisticLockRetryAspect(@Value("${booking.optimistic-retry.max-attempts:3}") final int maxAttempts,
+                                     @Value("${booking.optimistic-retry.backoff-ms:10}") final long backoffMillis,
+                                     @Value("${booking.optimistic-retry.max-backoff-ms:200}") final long maxBackoffMillis,
+                                     final MeterRegistry meterRegistry) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Max attempts must be greater than zero");
+        }
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.retryCounter = Counter.builder("booking.optimistic.retries")
+                .description("Write attempts re-run after an optimistic lock failure")
+                .register(meterRegistry);
+        this.exhaustedCounter = Counter.builder("booking.optimistic.retries.exhausted")
+                .description("Writes that still failed on an optimistic lock after the last attempt")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the annotated method, re-running it while it fails on an optimistic lock and attempts remain.
+     *
+     * @param joinPoint The annotated method invocation.
+     * @return The result of the first successful attempt.
+     * @throws Throwable the failure of the last attempt, or any other failure.
+     */
+    @Around("@annotation(com.akash.hotelbookingmanagement.concurrency.RetryOnOptimisticLock)")
+    public Object retry(final ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // the enclosing transaction is already doomed by the failure, only its owner can retry
+            return joinPoint.proceed();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException | OptimisticLockException exception) {
+                if (attempt >= maxAttempts) {
+                    exhaustedCounter.increment();
+                    throw exception;
+                }
+                retryCounter.increment();
+                LOGGER.debug(String.format("Optimistic lock failure in %s, attempt %d of %d",
+                        joinPoint.getSignature().toShortString(), attempt, maxAttempts));
+                backOff(attempt, exception);
+                RequestSqlStats sqlStats = RequestSqlStats.current();
+                if (sqlStats != null) {
+                    sqlStats.retryStarted();
+                }
+            }
+        }
+    }
+
+    /**
+     * Waits before the next attempt. An interrupted thread is not retried: it keeps its interrupt status and
+     * the failure of the attempt is rethrown.
+     */
+    private void backOff(final int attempt, final RuntimeException failure) {
+        long ceiling = Math.min(maxBackoffMillis, backoffMillis << Math.min(attempt - 1, 20));
+        try {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (ceiling > 0) {
+                TimeUnit.MILLISECONDS.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw failure;
+        }
+    }
+}
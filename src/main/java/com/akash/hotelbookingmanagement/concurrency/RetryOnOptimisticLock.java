@@ -0,0 +1,18 @@
+package com.akash.hotelbookingmanagement.concurrency;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a transactional write method that is re-run from scratch when its transaction loses an optimistic
+ * lock race with a concurrent update. The method must be safe to repeat: every attempt re-reads the entities
+ * it changes, so the retry applies the same change on top of the latest committed version.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnOptimisticLock {
+}
@@ -0,0 +1,149 @@
+package com.akash.hotelbookingmanagement.concurrency;
+
+import com.akash.hotelbookingmanagement.exception.RoomNotAvailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serializes bookings that touch the same rooms inside this process. Room numbers are hashed onto a fixed
+ * number of lock stripes which are always acquired in ascending order, so two bookings can never deadlock.
+ * Bookings for disjoint rooms mostly land on different stripes and proceed in parallel.
+ */
+@Component
+public class RoomLockManager {
+
+    private final ReentrantLock[] stripes;
+
+    private final long timeoutMillis;
+
+    private final Timer waitTimer;
+
+    private final Counter contendedCounter;
+
+    private final Counter timeoutCounter;
+
+    @Autowired
+    public RoomLockManager(@Value("${booking.room-locks.stripes:64}") final int stripeCount,
+                           @Value("${booking.room-locks.timeout-ms:500}") final long timeoutMillis,
+                           final MeterRegistry meterRegistry) {
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("Stripe count must be greater than zero");
+        }
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.timeoutMillis = timeoutMillis;
+        this.waitTimer = Timer.builder("booking.room.lock.wait")
+                .description("Time spent waiting for room lock stripes")
+                .register(meterRegistry);
+        this.contendedCounter = Counter.builder("booking.room.lock.contended")
+                .description("Room lock acquisitions that had to wait for another booking")
+                .register(meterRegistry);
+        this.timeoutCounter = Counter.builder("booking.room.lock.timeouts")
+                .description("Room lock acquisitions that gave up after the timeout")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Locks the given rooms until the current transaction completes, whether it commits or rolls back.
+     *
+     * @param roomNumbers The rooms to lock.
+     * @throws RoomNotAvailableException if the rooms could not be locked within the timeout.
+     */
+    public void lockUntilTransactionCompletes(final Collection<Integer> roomNumbers) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Room locks can only be held by an active transaction");
+        }
+        RoomLocks locks = lock(roomNumbers);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(final int status) {
+                locks.close();
+            }
+        });
+    }
+
+    /**
+     * Locks the given rooms.
+     *
+     * @param roomNumbers The rooms to lock.
+     * @return The held locks, to be closed by the caller.
+     * @throws RoomNotAvailableException if the rooms could not be locked within the timeout.
+     */
+    public RoomLocks lock(final Collection<Integer> roomNumbers) {
+        int[] stripeIndexes = roomNumbers.stream().mapToInt(this::stripeOf).distinct().sorted().toArray();
+        long startNanos = System.nanoTime();
+        long deadlineNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        int acquired = 0;
+        boolean contended = false;
+        try {
+            for (int stripeIndex : stripeIndexes) {
+                ReentrantLock stripe = stripes[stripeIndex];
+                if (!stripe.tryLock()) {
+                    contended = true;
+                    if (!stripe.tryLock(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                        timeoutCounter.increment();
+                        throw new RoomNotAvailableException("Rooms selected are being booked by another request, please retry");
+                    }
+                }
+                acquired++;
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new RoomNotAvailableException("Interrupted while waiting for the rooms selected");
+        } finally {
+            if (acquired < stripeIndexes.length) {
+                unlock(stripeIndexes, acquired);
+            }
+            if (contended) {
+                contendedCounter.increment();
+            }
+            waitTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+        return new RoomLocks(stripeIndexes);
+    }
+
+    private int stripeOf(final Integer roomNumber) {
+        int hash = roomNumber.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), stripes.length);
+    }
+
+    private void unlock(final int[] stripeIndexes, final int count) {
+        for (int i = count - 1; i >= 0; i--) {
+            stripes[stripeIndexes[i]].unlock();
+        }
+    }
+
+    /**
+     * Lock stripes held for a set of rooms.
+     */
+    public final class RoomLocks implements AutoCloseable {
+
+        private final int[] stripeIndexes;
+
+        private boolean released;
+
+        private RoomLocks(final int[] stripeIndexes) {
+            this.stripeIndexes = stripeIndexes;
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                unlock(stripeIndexes, stripeIndexes.length);
+            }
+        }
+    }
+}
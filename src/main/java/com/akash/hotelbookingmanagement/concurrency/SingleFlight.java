@@ -0,0 +1,116 @@
+package com.akash.hotelbookingmanagement.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent lookups of the same key: the first caller runs the lookup on its own thread and callers
+ * arriving while it is in flight wait for and share its result, or its exception. A caller that waits longer than
+ * the timeout gives up on the shared lookup and runs its own. A shared result may have been read up to one lookup
+ * earlier than the call, so lookups inside a transaction, which may need to see its own writes, are never shared.
+ *
+ * @param <K> The key type.
+ * @param <V> The result type.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final long timeoutMillis;
+
+    private final Counter executedCounter;
+
+    private final Counter coalescedCounter;
+
+    private final Counter timeoutCounter;
+
+    /**
+     * Creates a single-flight group.
+     *
+     * @param name          The name of the lookup, tagged on the meters.
+     * @param timeoutMillis How long a caller waits for a shared lookup.
+     * @param meterRegistry The registry of the meters.
+     */
+    public SingleFlight(final String name, final long timeoutMillis, final MeterRegistry meterRegistry) {
+        this.timeoutMillis = timeoutMillis;
+        this.executedCounter = Counter.builder("booking.single.flight.calls")
+                .description("Lookups run or shared by concurrent callers")
+                .tags("flight", name, "result", "executed")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("booking.single.flight.calls")
+                .description("Lookups run or shared by concurrent callers")
+                .tags("flight", name, "result", "coalesced")
+                .register(meterRegistry);
+        this.timeoutCounter = Counter.builder("booking.single.flight.timeouts")
+                .description("Callers that stopped waiting for a shared lookup and ran their own")
+                .tags("flight", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the result of the lookup in flight for the key, or runs the lookup.
+     *
+     * @param key    The key.
+     * @param lookup The lookup of the key.
+     * @return The result of the lookup.
+     */
+    public V execute(final K key, final Supplier<V> lookup) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            executedCounter.increment();
+            return lookup.get();
+        }
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing == null) {
+            return lead(key, flight, lookup);
+        }
+        coalescedCounter.increment();
+        try {
+            return existing.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timeoutCounter.increment();
+            executedCounter.increment();
+            return lookup.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the lookup of " + key, e);
+        }
+    }
+
+    /**
+     * @return The number of keys with a lookup in flight.
+     */
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    private V lead(final K key, final CompletableFuture<V> flight, final Supplier<V> lookup) {
+        executedCounter.increment();
+        try {
+            V result = lookup.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.akash.hotelbookingmanagement.concurrency;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hierarchical timing wheel that tracks the deadlines of many items with constant time scheduling and
+ * cancellation. Level 0 has one slot per tick, every higher level has slots spanning a whole rotation of
+ * the level below. When a lower level wraps around, the next slot of the level above is cascaded down, so
+ * each item is only touched once per level instead of on every tick.
+ *
+ * <p>The wheel has no thread of its own: the owner calls {@link #advance(long)} periodically and acts on the
+ * items returned. Deadlines beyond the range of the top level are parked in its furthest slot and placed
+ * again when that slot is cascaded.</p>
+ *
+ * @param <T> The type of the items, used as keys for cancellation.
+ */
+public final class TimingWheel<T> {
+
+    private final long tickMillis;
+
+    private final int wheelSize;
+
+    private final long[] levelSpans;
+
+    private final List<List<Deque<Timeout<T>>>> levels;
+
+    private final Map<T, Timeout<T>> timeouts = new HashMap<>();
+
+    private final List<Timeout<T>> due = new ArrayList<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long currentTick;
+
+    /**
+     * Creates a timing wheel.
+     *
+     * @param tickMillis  The duration of a level 0 slot, in milliseconds.
+     * @param wheelSize   The number of slots per level.
+     * @param levelCount  The number of levels.
+     * @param startMillis The current time, in epoch milliseconds.
+     */
+    public TimingWheel(final long tickMillis, final int wheelSize, final int levelCount, final long startMillis) {
+        if (tickMillis < 1 || wheelSize < 2 || levelCount < 1) {
+            throw new IllegalArgumentException("Tick, wheel size and level count must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.levelSpans = new long[levelCount + 1];
+        levelSpans[0] = 1;
+        for (int level = 1; level <= levelCount; level++) {
+            levelSpans[level] = Math.multiplyExact(levelSpans[level - 1], wheelSize);
+        }
+        this.levels = new ArrayList<>(levelCount);
+        for (int level = 0; level < levelCount; level++) {
+            List<Deque<Timeout<T>>> slots = new ArrayList<>(wheelSize);
+            for (int slot = 0; slot < wheelSize; slot++) {
+                slots.add(new ArrayDeque<>());
+            }
+            levels.add(slots);
+        }
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+    }
+
+    /**
+     * Schedules an item, replacing any deadline it already had. An item whose deadline has already passed is
+     * returned by the next call to {@link #advance(long)}.
+     *
+     * @param item           The item.
+     * @param deadlineMillis The deadline, in epoch milliseconds.
+     */
+    public void schedule(final T item, final long deadlineMillis) {
+        lock.lock();
+        try {
+            Timeout<T> previous = timeouts.remove(item);
+            if (previous != null) {
+                previous.cancelled = true;
+            }
+            // round up, so an item never fires before its deadline
+            Timeout<T> timeout = new Timeout<>(item, Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis));
+            timeouts.put(item, timeout);
+            place(timeout);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Cancels the deadline of an item.
+     *
+     * @param item The item.
+     * @return True if the item was scheduled and had not fired yet, false otherwise.
+     */
+    public boolean cancel(final T item) {
+        lock.lock();
+        try {
+            Timeout<T> timeout = timeouts.remove(item);
+            if (timeout == null) {
+                return false;
+            }
+            timeout.cancelled = true;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Moves the wheel forward to the given time.
+     *
+     * @param nowMillis The current time, in epoch milliseconds.
+     * @return The items whose deadline has been reached.
+     */
+    public List<T> advance(final long nowMillis) {
+        long nowTick = Math.floorDiv(nowMillis, tickMillis);
+        lock.lock();
+        try {
+            while (currentTick < nowTick) {
+                currentTick++;
+                for (int level = levels.size() - 1; level > 0; level--) {
+                    if (currentTick % levelSpans[level] == 0) {
+                        cascade(level);
+                    }
+                }
+                expire();
+            }
+            List<T> fired = new ArrayList<>(due.size());
+            for (Timeout<T> timeout : due) {
+                if (!timeout.cancelled) {
+                    timeouts.remove(timeout.item);
+                    fired.add(timeout.item);
+                }
+            }
+            due.clear();
+            return fired;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of items waiting for their deadline.
+     *
+     * @return The number of scheduled items.
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return timeouts.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void place(final Timeout<T> timeout) {
+        long delta = timeout.deadlineTick - currentTick;
+        if (delta <= 0) {
+            due.add(timeout);
+            return;
+        }
+        int top = levels.size() - 1;
+        long placementTick = Math.min(timeout.deadlineTick, currentTick + levelSpans[top + 1] - 1);
+        for (int level = 0; level <= top; level++) {
+            if (placementTick - currentTick < levelSpans[level + 1]) {
+                int slot = (int) ((placementTick / levelSpans[level]) % wheelSize);
+                levels.get(level).get(slot).add(timeout);
+                return;
+            }
+        }
+    }
+
+    private void cascade(final int level) {
+        Deque<Timeout<T>> slot = levels.get(level).get((int) ((currentTick / levelSpans[level]) % wheelSize));
+        List<Timeout<T>> cascaded = new ArrayList<>(slot);
+        slot.clear();
+        cascaded.stream().filter(timeout -> !timeout.cancelled).forEach(this::place);
+    }
+
+    private void expire() {
+        Deque<Timeout<T>> slot = levels.get(0).get((int) (currentTick % wheelSize));
+        List<Timeout<T>> expired = new ArrayList<>(slot);
+        slot.clear();
+        expired.stream().filter(timeout -> !timeout.cancelled).forEach(this::place);
+    }
+
+    /**
+     * The deadline of a scheduled item, flagged instead of unlinked when cancelled.
+     */
+    private static final class Timeout<T> {
+
+        private final T item;
+
+        private final long deadlineTick;
+
+        private boolean cancelled;
+
+        private Timeout(final T item, final long deadlineTick) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.akash.hotelbookingmanagement.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuration of the asynchronous request processing used by streaming responses.
+ */
+@Configuration
+public class AsyncWebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    @Value("${booking.export.timeout-ms:1800000}")
+    private long exportTimeoutMillis;
+
+    /**
+     * Streams responses from the application task pool, allowing long exports to finish.
+     *
+     * @param configurer the async support configurer
+     */
+    @Override
+    public void configureAsyncSupport(final AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(applicationTaskExecutor);
+        configurer.setDefaultTimeout(exportTimeoutMillis);
+    }
+}
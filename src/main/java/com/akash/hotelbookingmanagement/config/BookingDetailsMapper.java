@@ -7,26 +7,25 @@ import com.akash.hotelbookingmanagement.model.Room;
 import com.akash.hotelbookingmanagement.service.CustomerService;
 import com.akash.hotelbookingmanagement.service.RoomService;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-import org.modelmapper.ModelMapper;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
 
 import java.util.List;
 
-@Component
+/**
+ * Maps bookings to and from their DTO; the implementation is generated at build time.
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
 @SuppressFBWarnings(value = {"EI_EXPOSE_REP", "EI_EXPOSE_REP2"})
-public class BookingDetailsMapper {
+public abstract class BookingDetailsMapper {
 
-    private final ModelMapper modelMapper;
-    private final CustomerService customerService;
-    private final RoomService roomService;
+    @Autowired
+    protected CustomerService customerService;
 
     @Autowired
-    public BookingDetailsMapper(final ModelMapper modelMapper, final CustomerService customerService, final RoomService roomService) {
-        this.modelMapper = modelMapper;
-        this.customerService = customerService;
-        this.roomService = roomService;
-    }
+    protected RoomService roomService;
 
     /**
      * Converts BookingDetailsDto to BookingDetails entity.
@@ -34,27 +33,12 @@ public class BookingDetailsMapper {
      * @param bookingDetailsDto The BookingDetailsDto to convert.
      * @return BookingDetails entity.
      */
-    public BookingDetails convertToEntity(final BookingDetailsDto bookingDetailsDto) {
-        BookingDetails bookingDetails = modelMapper.map(bookingDetailsDto, BookingDetails.class);
-
-        // Map customer ids to Customer entities
-        if (bookingDetailsDto.getCustomerIdList() != null && !bookingDetailsDto.getCustomerIdList().isEmpty()) {
-            List<Customer> customers = bookingDetailsDto.getCustomerIdList().stream()
-                    .map(customerService::getCustomerById)
-                    .toList();
-            bookingDetails.setCustomerList(customers);
-        }
-
-        // Map room numbers to Room entities
-        if (bookingDetailsDto.getRoomNumberList() != null && !bookingDetailsDto.getRoomNumberList().isEmpty()) {
-            List<Room> rooms = bookingDetailsDto.getRoomNumberList().stream()
-                    .map(roomService::getRoomByRoomNumber)
-                    .toList();
-            bookingDetails.setRoomList(rooms);
-        }
-
-        return bookingDetails;
-    }
+    @Mapping(target = "bookingId", ignore = true)
+    @Mapping(target = "billAmount", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "customerList", source = "customerIdList")
+    @Mapping(target = "roomList", source = "roomNumberList")
+    public abstract BookingDetails convertToEntity(BookingDetailsDto bookingDetailsDto);
 
     /**
      * Converts BookingDetails entity to BookingDetailsDto.
@@ -62,25 +46,26 @@ public class BookingDetailsMapper {
      * @param bookingDetails The BookingDetails entity to convert.
      * @return BookingDetailsDto.
      */
-    public BookingDetailsDto convertToDto(final BookingDetails bookingDetails) {
-        BookingDetailsDto bookingDetailsDto = modelMapper.map(bookingDetails, BookingDetailsDto.class);
+    @Mapping(target = "holdId", ignore = true)
+    @Mapping(target = "customerIdList", source = "customerList")
+    @Mapping(target = "roomNumberList", source = "roomList")
+    public abstract BookingDetailsDto convertToDto(BookingDetails bookingDetails);
 
-        // Extract customer ids from Customer entities
-        if (bookingDetails.getCustomerList() != null && !bookingDetails.getCustomerList().isEmpty()) {
-            List<Integer> customerIds = bookingDetails.getCustomerList().stream()
-                    .map(Customer::getCustomerId)
-                    .toList();
-            bookingDetailsDto.setCustomerIdList(customerIds);
-        }
+    // Map customer ids to Customer entities with one query
+    protected List<Customer> toCustomers(final List<Integer> customerIds) {
+        return customerIds != null && !customerIds.isEmpty() ? customerService.getCustomersByIds(customerIds) : null;
+    }
 
-        // Extract room numbers from Room entities
-        if (bookingDetails.getRoomList() != null && !bookingDetails.getRoomList().isEmpty()) {
-            List<Integer> roomNumbers = bookingDetails.getRoomList().stream()
-                    .map(Room::getRoomNumber)
-                    .toList();
-            bookingDetailsDto.setRoomNumberList(roomNumbers);
-        }
+    // Map room numbers to Room entities with one query
+    protected List<Room> toRooms(final List<Integer> roomNumbers) {
+        return roomNumbers != null && !roomNumbers.isEmpty() ? roomService.getRoomsByRoomNumbers(roomNumbers) : null;
+    }
+
+    protected Integer toCustomerId(final Customer customer) {
+        return customer.getCustomerId();
+    }
 
-        return bookingDetailsDto;
+    protected Integer toRoomNumber(final Room room) {
+        return room.getRoomNumber();
     }
 }
@@ -0,0 +1,33 @@
+package com.akash.hotelbookingmanagement.config;
+
+import com.akash.hotelbookingmanagement.metrics.SqlBudgetInterceptor;
+import com.akash.hotelbookingmanagement.metrics.SqlMetricsInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuration of the per-request metrics of the web layer.
+ */
+@Configuration
+public class MetricsWebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private SqlMetricsInterceptor sqlMetricsInterceptor;
+
+    @Autowired
+    private SqlBudgetInterceptor sqlBudgetInterceptor;
+
+    /**
+     * Records the SQL work of every request and checks it against the budget of the handler. The budget
+     * interceptor is registered second so that it runs inside the collection started by the metrics one.
+     *
+     * @param registry the interceptor registry
+     */
+    @Override
+    public void addInterceptors(final InterceptorRegistry registry) {
+        registry.addInterceptor(sqlMetricsInterceptor);
+        registry.addInterceptor(sqlBudgetInterceptor);
+    }
+}
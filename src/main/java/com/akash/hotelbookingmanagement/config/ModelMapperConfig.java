@@ -1,25 +0,0 @@
-package com.akash.hotelbookingmanagement.config;
-
-import org.modelmapper.ModelMapper;
-import org.modelmapper.convention.MatchingStrategies;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-
-/**
- * Configuration class for Model Mapper Bean.
- */
-@Configuration
-public class ModelMapperConfig {
-    /**
-     * Creates a Bean for Model mapper.
-     * @return an instance of ModelMapper
-     */
-    @Bean
-    public ModelMapper modelMapper() {
-        ModelMapper modelMapper = new ModelMapper();
-        modelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT);
-
-        return modelMapper;
-    }
-
-}
@@ -5,39 +5,37 @@ import com.akash.hotelbookingmanagement.model.Customer;
 import com.akash.hotelbookingmanagement.model.Room;
 import com.akash.hotelbookingmanagement.service.CustomerService;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-import org.modelmapper.ModelMapper;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
 
 import java.util.List;
 
-@Component
+/**
+ * Maps rooms to and from their DTO; the implementation is generated at build time.
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
 @SuppressFBWarnings(value = {"EI_EXPOSE_REP", "EI_EXPOSE_REP2"})
-public class RoomMapper {
-
-    private final ModelMapper modelMapper;
-    private final CustomerService customerService;
+public abstract class RoomMapper {
 
     @Autowired
-    public RoomMapper(final ModelMapper modelMapper, final CustomerService customerService) {
-        this.modelMapper = modelMapper;
-        this.customerService = customerService;
-    }
+    protected CustomerService customerService;
+
+    @Mapping(target = "roomNumber", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "checkedInCustomers", source = "checkedInCustomerIdList")
+    public abstract Room convertToEntity(RoomDto roomDto);
+
+    @Mapping(target = "checkedInCustomerIdList", source = "checkedInCustomers")
+    public abstract RoomDto convertToDto(Room room);
 
-    public Room convertToEntity(final RoomDto roomDto) {
-        Room room = modelMapper.map(roomDto, Room.class);
-
-        // Map room ids to Room entities
-        if (roomDto.getCheckedInCustomerIdList() != null) {
-            List<Customer> checkedInCustomers = roomDto.getCheckedInCustomerIdList().stream()
-                    .map(customerService::getCustomerById)
-                    .toList();
-            room.setCheckedInCustomers(checkedInCustomers);
-        }
-        return room;
+    // Map customer ids to Customer entities with one query
+    protected List<Customer> toCustomers(final List<Integer> customerIds) {
+        return customerIds != null ? customerService.getCustomersByIds(customerIds) : null;
     }
 
-    public RoomDto convertToDto(final Room room) {
-        return modelMapper.map(room, RoomDto.class);
+    protected Integer toCustomerId(final Customer customer) {
+        return customer.getCustomerId();
     }
 }
@@ -0,0 +1,43 @@
+package com.akash.hotelbookingmanagement.config;
+
+import com.akash.hotelbookingmanagement.concurrency.SingleFlight;
+import com.akash.hotelbookingmanagement.dto.BookingView;
+import com.akash.hotelbookingmanagement.dto.RoomView;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the coalescing of concurrent lookups of hot rooms and bookings.
+ */
+@Configuration
+public class SingleFlightConfig {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${booking.single-flight.timeout-ms:2000}")
+    private long timeoutMillis;
+
+    /**
+     * Shares the view of a room between concurrent lookups of the same room.
+     *
+     * @return the single-flight group of room views
+     */
+    @Bean
+    public SingleFlight<Integer, RoomView> roomViewLookups() {
+        return new SingleFlight<>("room.view", timeoutMillis, meterRegistry);
+    }
+
+    /**
+     * Shares the view of a booking between concurrent lookups of the same booking.
+     *
+     * @return the single-flight group of booking views
+     */
+    @Bean
+    public SingleFlight<Integer, BookingView> bookingViewLookups() {
+        return new SingleFlight<>("booking.view", timeoutMillis, meterRegistry);
+    }
+}
@@ -0,0 +1,34 @@
+package com.akash.hotelbookingmanagement.dto;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Projection of one row of a join table: the id of the owning entity and the id of an associated entity.
+ */
+public interface AssociatedId {
+
+    /**
+     * @return The id of the owning booking or room.
+     */
+    Integer getOwnerId();
+
+    /**
+     * @return The id of the associated customer or room.
+     */
+    Integer getAssociatedId();
+
+    /**
+     * Groups rows by their owner.
+     *
+     * @param associatedIds The rows to group.
+     * @return The associated ids of each owner, in row order.
+     */
+    static Map<Integer, List<Integer>> groupByOwner(final List<AssociatedId> associatedIds) {
+        Map<Integer, List<Integer>> idsByOwner = new HashMap<>();
+        associatedIds.forEach(row -> idsByOwner.computeIfAbsent(row.getOwnerId(), key -> new ArrayList<>()).add(row.getAssociatedId()));
+        return idsByOwner;
+    }
+}
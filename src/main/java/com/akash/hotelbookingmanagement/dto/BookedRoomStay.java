@@ -0,0 +1,29 @@
+package com.akash.hotelbookingmanagement.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of one booked room over the stay of its booking.
+ */
+public interface BookedRoomStay {
+
+    /**
+     * @return The id of the booking.
+     */
+    Integer getBookingId();
+
+    /**
+     * @return The booked room number.
+     */
+    Integer getRoomNumber();
+
+    /**
+     * @return The first night of the stay.
+     */
+    LocalDate getStartDate();
+
+    /**
+     * @return The check-out date, exclusive.
+     */
+    LocalDate getEndDate();
+}
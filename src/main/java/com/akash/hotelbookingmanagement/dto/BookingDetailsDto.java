@@ -79,4 +79,9 @@ public class BookingDetailsDto {
     @Min(value = 0, message = "Paid amount cannot be negative")
     private Integer paidAmount;
 
+    /**
+     * Room hold confirmed by the booking, if the rooms were held while paying.
+     */
+    private Integer holdId;
+
 }
@@ -0,0 +1,50 @@
+package com.akash.hotelbookingmanagement.dto;
+
+import com.akash.hotelbookingmanagement.model.enums.ModeOfBooking;
+import com.akash.hotelbookingmanagement.model.enums.ModeOfPayment;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Read view of a booking, selected column by column and flattened to the ids of its customers and rooms.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@SuppressFBWarnings(value = {"EI_EXPOSE_REP", "EI_EXPOSE_REP2"})
+public class BookingView {
+
+    private Integer bookingId;
+
+    private Integer duration;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    private ModeOfBooking modeOfBooking;
+
+    private ModeOfPayment modeOfPayment;
+
+    private Integer billAmount;
+
+    private Integer paidAmount;
+
+    private List<Integer> customerIdList;
+
+    private List<Integer> roomNumberList;
+
+    /**
+     * Creates the view of the booking's own columns, used by constructor expressions in queries.
+     */
+    public BookingView(final Integer bookingId, final Integer duration, final LocalDate startDate, final LocalDate endDate,
+                       final ModeOfBooking modeOfBooking, final ModeOfPayment modeOfPayment,
+                       final Integer billAmount, final Integer paidAmount) {
+        this(bookingId, duration, startDate, endDate, modeOfBooking, modeOfPayment, billAmount, paidAmount, List.of(), List.of());
+    }
+}
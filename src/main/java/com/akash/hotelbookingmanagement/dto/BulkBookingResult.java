@@ -0,0 +1,48 @@
+package com.akash.hotelbookingmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Outcome of one booking of a bulk import.
+ */
+@Getter
+@AllArgsConstructor
+public class BulkBookingResult {
+
+    /**
+     * Position of the booking in the imported batch, starting at 0.
+     */
+    private int index;
+
+    /**
+     * Whether the booking was created or rejected.
+     */
+    private Status status;
+
+    /**
+     * ID of the created booking, null if it was rejected.
+     */
+    private Integer bookingId;
+
+    /**
+     * Reason the booking was rejected, null if it was created.
+     */
+    private String message;
+
+    public static BulkBookingResult created(final int index, final Integer bookingId) {
+        return new BulkBookingResult(index, Status.CREATED, bookingId, null);
+    }
+
+    public static BulkBookingResult rejected(final int index, final String message) {
+        return new BulkBookingResult(index, Status.REJECTED, null, message);
+    }
+
+    /**
+     * Outcome of a booking.
+     */
+    public enum Status {
+        CREATED,
+        REJECTED
+    }
+}
@@ -0,0 +1,32 @@
+package com.akash.hotelbookingmanagement.dto;
+
+/**
+ * Projection of the columns of a customer.
+ */
+public interface CustomerView {
+
+    /**
+     * @return The id of the customer.
+     */
+    Integer getCustomerId();
+
+    /**
+     * @return The full name of the customer.
+     */
+    String getFullName();
+
+    /**
+     * @return The address of the customer.
+     */
+    String getAddress();
+
+    /**
+     * @return The age of the customer.
+     */
+    Integer getAge();
+
+    /**
+     * @return The contact number of the customer.
+     */
+    String getContactNumber();
+}
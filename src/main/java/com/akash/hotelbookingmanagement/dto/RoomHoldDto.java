@@ -0,0 +1,49 @@
+package com.akash.hotelbookingmanagement.dto;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Request to hold rooms for a stay while the booking is being paid.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@SuppressFBWarnings(value = {"EI_EXPOSE_REP", "EI_EXPOSE_REP2"})
+public class RoomHoldDto {
+
+    /**
+     * List of roomNumbers to hold.
+     */
+    @NotNull(message = "Rooms to hold must be specified")
+    private List<Integer> roomNumberList;
+
+    /**
+     * Start date of the stay.
+     */
+    @NotNull(message = "Start date must be specified")
+    private LocalDate startDate;
+
+    /**
+     * End date of the stay.
+     */
+    @NotNull(message = "End date must be specified")
+    private LocalDate endDate;
+
+    /**
+     * Minutes the rooms stay held, the configured default when not specified.
+     */
+    @Min(value = 1, message = "Hold must last at least one minute")
+    private Integer holdMinutes;
+}
@@ -0,0 +1,48 @@
+package com.akash.hotelbookingmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Filters of the available room search. Only the stay dates are mandatory.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomSearchCriteria {
+
+    /**
+     * First night of the stay.
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    /**
+     * Check-out date of the stay, exclusive.
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+
+    /**
+     * The type of the room.
+     */
+    private String type;
+
+    /**
+     * The minimum occupancy of the room.
+     */
+    private Integer minOccupancy;
+
+    /**
+     * The maximum price per day of the room.
+     */
+    private Integer maxPrice;
+}
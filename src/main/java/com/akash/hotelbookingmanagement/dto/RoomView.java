@@ -0,0 +1,42 @@
+package com.akash.hotelbookingmanagement.dto;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Read view of a room, selected column by column and flattened to the ids of its checked-in customers.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@SuppressFBWarnings(value = {"EI_EXPOSE_REP", "EI_EXPOSE_REP2"})
+public class RoomView {
+
+    private Integer roomNumber;
+
+    private String type;
+
+    private Integer occupancy;
+
+    private Integer pricePerDay;
+
+    private Boolean availability;
+
+    private Boolean isCheckedIn;
+
+    private Boolean isCheckedOut;
+
+    private List<Integer> checkedInCustomerIdList;
+
+    /**
+     * Creates the view of the room's own columns, used by constructor expressions in queries.
+     */
+    public RoomView(final Integer roomNumber, final String type, final Integer occupancy, final Integer pricePerDay,
+                    final Boolean availability, final Boolean isCheckedIn, final Boolean isCheckedOut) {
+        this(roomNumber, type, occupancy, pricePerDay, availability, isCheckedIn, isCheckedOut, List.of());
+    }
+}
@@ -2,6 +2,7 @@ package com.akash.hotelbookingmanagement.exception;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -73,6 +74,76 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(errorMessage, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles the InvalidBookingDatesException and returns an appropriate response.
+     *
+     * @param exception The InvalidBookingDatesException that occurred.
+     * @param request   The current Web request.
+     * @return a Response entity with an error message and 400 status code.
+     */
+    @ExceptionHandler(InvalidBookingDatesException.class)
+    public ResponseEntity<Object> handleInvalidBookingDatesException(final InvalidBookingDatesException exception, final WebRequest request) {
+        ErrorMessage errorMessage = new ErrorMessage(HttpStatus.BAD_REQUEST, exception.getMessage(), request.getDescription(false));
+        LOGGER.debug(String.format("Invalid booking dates exception: %s", errorMessage));
+        return new ResponseEntity<>(errorMessage, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles the InvalidRoomHoldException and returns an appropriate response.
+     *
+     * @param exception The InvalidRoomHoldException that occurred.
+     * @param request   The current Web request.
+     * @return a Response entity with an error message and 400 status code.
+     */
+    @ExceptionHandler(InvalidRoomHoldException.class)
+    public ResponseEntity<Object> handleInvalidRoomHoldException(final InvalidRoomHoldException exception, final WebRequest request) {
+        ErrorMessage errorMessage = new ErrorMessage(HttpStatus.BAD_REQUEST, exception.getMessage(), request.getDescription(false));
+        LOGGER.debug(String.format("Invalid room hold exception: %s", errorMessage));
+        return new ResponseEntity<>(errorMessage, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles the InvalidBulkBookingException and returns an appropriate response.
+     *
+     * @param exception The InvalidBulkBookingException that occurred.
+     * @param request   The current Web request.
+     * @return a Response entity with an error message and 400 status code.
+     */
+    @ExceptionHandler(InvalidBulkBookingException.class)
+    public ResponseEntity<Object> handleInvalidBulkBookingException(final InvalidBulkBookingException exception, final WebRequest request) {
+        ErrorMessage errorMessage = new ErrorMessage(HttpStatus.BAD_REQUEST, exception.getMessage(), request.getDescription(false));
+        LOGGER.debug(String.format("Invalid bulk booking exception: %s", errorMessage));
+        return new ResponseEntity<>(errorMessage, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles the InvalidBookingRequestException and returns an appropriate response.
+     *
+     * @param exception The InvalidBookingRequestException that occurred.
+     * @param request   The current Web request.
+     * @return a Response entity with an error message and 400 status code.
+     */
+    @ExceptionHandler(InvalidBookingRequestException.class)
+    public ResponseEntity<Object> handleInvalidBookingRequestException(final InvalidBookingRequestException exception, final WebRequest request) {
+        ErrorMessage errorMessage = new ErrorMessage(HttpStatus.BAD_REQUEST, exception.getMessage(), request.getDescription(false));
+        LOGGER.debug(String.format("Invalid booking request exception: %s", errorMessage));
+        return new ResponseEntity<>(errorMessage, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles the OptimisticLockingFailureException left after the write retries ran out and returns an appropriate response.
+     *
+     * @param exception The OptimisticLockingFailureException that occurred.
+     * @param request   The current Web request.
+     * @return a Response entity with an error message and 409 status code.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleOptimisticLockingFailureException(final OptimisticLockingFailureException exception, final WebRequest request) {
+        ErrorMessage errorMessage = new ErrorMessage(HttpStatus.CONFLICT, "Resource was modified concurrently, please retry", request.getDescription(false));
+        LOGGER.debug(String.format("Optimistic locking failure exception: %s", errorMessage));
+        return new ResponseEntity<>(errorMessage, HttpStatus.CONFLICT);
+    }
+
     /**
      * Handles all exceptions and returns appropriate response.
      *
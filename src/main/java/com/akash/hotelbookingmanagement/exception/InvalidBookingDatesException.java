@@ -0,0 +1,13 @@
+package com.akash.hotelbookingmanagement.exception;
+
+public class InvalidBookingDatesException extends RuntimeException {
+
+    public InvalidBookingDatesException() {
+        super();
+    }
+
+    public InvalidBookingDatesException(final String message) {
+        super(message);
+    }
+
+}
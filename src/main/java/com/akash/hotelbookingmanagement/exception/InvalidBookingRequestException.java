@@ -0,0 +1,13 @@
+package com.akash.hotelbookingmanagement.exception;
+
+public class InvalidBookingRequestException extends RuntimeException {
+
+    public InvalidBookingRequestException() {
+        super();
+    }
+
+    public InvalidBookingRequestException(final String message) {
+        super(message);
+    }
+
+}
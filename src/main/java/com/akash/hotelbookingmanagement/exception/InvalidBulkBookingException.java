@@ -0,0 +1,13 @@
+package com.akash.hotelbookingmanagement.exception;
+
+public class InvalidBulkBookingException extends RuntimeException {
+
+    public InvalidBulkBookingException() {
+        super();
+    }
+
+    public InvalidBulkBookingException(final String message) {
+        super(message);
+    }
+
+}
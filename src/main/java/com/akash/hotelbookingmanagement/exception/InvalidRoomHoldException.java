@@ -0,0 +1,13 @@
+package com.akash.hotelbookingmanagement.exception;
+
+public class InvalidRoomHoldException extends RuntimeException {
+
+    public InvalidRoomHoldException() {
+        super();
+    }
+
+    public InvalidRoomHoldException(final String message) {
+        super(message);
+    }
+
+}
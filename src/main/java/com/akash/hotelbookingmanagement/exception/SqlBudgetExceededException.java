@@ -0,0 +1,13 @@
+package com.akash.hotelbookingmanagement.exception;
+
+public class SqlBudgetExceededException extends RuntimeException {
+
+    public SqlBudgetExceededException() {
+        super();
+    }
+
+    public SqlBudgetExceededException(final String message) {
+        super(message);
+    }
+
+}
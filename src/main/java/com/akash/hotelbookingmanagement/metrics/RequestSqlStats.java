@@ -0,0 +1,156 @@
+package com.akash.hotelbookingmanagement.metrics;
+
+import com.akash.hotelbookingmanagement.exception.SqlBudgetExceededException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * SQL work done for the request handled on the current thread: the statements and batches sent to the database,
+ * the time spent executing them and the time spent waiting for a pooled connection.
+ */
+public final class RequestSqlStats {
+
+    private static final ThreadLocal<RequestSqlStats> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\?(\\s*,\\s*\\?)+");
+
+    private int statements;
+
+    private long statementNanos;
+
+    private int connectionAcquisitions;
+
+    private long connectionWaitNanos;
+
+    private int statementsPrepared;
+
+    private String budgetOwner;
+
+    private int budget = Integer.MAX_VALUE;
+
+    private boolean failOnBudgetExceeded;
+
+    /**
+     * Number of statements prepared per statement shape, only kept once a budget is set.
+     */
+    private Map<String, Integer> statementShapes;
+
+    private RequestSqlStats() {
+    }
+
+    /**
+     * Starts collecting the SQL work of the current thread.
+     *
+     * @return The stats collected until {@link #stop()}.
+     */
+    public static RequestSqlStats start() {
+        RequestSqlStats stats = new RequestSqlStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Stops collecting the SQL work of the current thread.
+     *
+     * @return The collected stats, or null if nothing was being collected.
+     */
+    public static RequestSqlStats stop() {
+        RequestSqlStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    /**
+     * Returns the stats being collected on the current thread.
+     *
+     * @return The stats, or null if nothing is being collected.
+     */
+    public static RequestSqlStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Limits the statements the request may prepare, keeping the shape of each statement for the report.
+     *
+     * @param owner          The handler the budget was declared on.
+     * @param maxStatements  The maximum number of statements.
+     * @param failOnExceeded Whether preparing the first statement over budget throws.
+     */
+    public void setBudget(final String owner, final int maxStatements, final boolean failOnExceeded) {
+        this.budgetOwner = owner;
+        this.budget = maxStatements;
+        this.failOnBudgetExceeded = failOnExceeded;
+        this.statementShapes = new LinkedHashMap<>();
+    }
+
+    /**
+     * Counts the statements of a retried attempt of the request's work against the budget afresh, as those of
+     * the attempt that was rolled back are not part of the work the request finally did. The executed
+     * statements and their time keep adding up.
+     */
+    public void retryStarted() {
+        statementsPrepared = 0;
+        if (statementShapes != null) {
+            statementShapes.clear();
+        }
+    }
+
+    void statementPrepared(final String sql) {
+        statementsPrepared++;
+        if (statementShapes != null) {
+            statementShapes.merge(PARAMETER_LIST.matcher(sql).replaceAll("?, ..."), 1, Integer::sum);
+        }
+        if (failOnBudgetExceeded && statementsPrepared == budget + 1) {
+            throw new SqlBudgetExceededException(describeBudgetOverrun());
+        }
+    }
+
+    void statementExecuted(final long nanos) {
+        statements++;
+        statementNanos += nanos;
+    }
+
+    void connectionAcquired(final long waitNanos) {
+        connectionAcquisitions++;
+        connectionWaitNanos += waitNanos;
+    }
+
+    /**
+     * @return The number of statements and batches executed, a JDBC batch counting once.
+     */
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getStatementNanos() {
+        return statementNanos;
+    }
+
+    public int getConnectionAcquisitions() {
+        return connectionAcquisitions;
+    }
+
+    public long getConnectionWaitNanos() {
+        return connectionWaitNanos;
+    }
+
+    public boolean isOverBudget() {
+        return statementsPrepared > budget;
+    }
+
+    /**
+     * Describes the statements of a request over budget, the most repeated statement shape first.
+     *
+     * @return The description.
+     */
+    public String describeBudgetOverrun() {
+        String shapes = statementShapes.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .map(shape -> shape.getValue() + "x " + shape.getKey())
+                .collect(Collectors.joining("; "));
+        return String.format("%s prepared %d SQL statements, budget %d: %s", budgetOwner, statementsPrepared, budget, shapes);
+    }
+}
@@ -0,0 +1,22 @@
+package com.akash.hotelbookingmanagement.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares how many SQL statements a request to the annotated controller method may prepare. A request over budget
+ * usually loads associations one row at a time; see {@link SqlBudgetInterceptor} for how it is reported.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SqlBudget {
+
+    /**
+     * @return The maximum number of SQL statements per request.
+     */
+    int value();
+}
@@ -0,0 +1,79 @@
+package com.akash.hotelbookingmanagement.metrics;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Holds requests to {@link SqlBudget} controller methods to their SQL statement budget. With
+ * {@code booking.sql-budget.fail-on-exceeded}, as in tests, the first statement over budget throws
+ * {@link com.akash.hotelbookingmanagement.exception.SqlBudgetExceededException}; otherwise every request over budget
+ * is counted and a sample of them is logged with the shapes of its statements. Relies on
+ * {@link SqlMetricsInterceptor} to collect the {@link RequestSqlStats} of the request.
+ */
+@Component
+@SuppressFBWarnings("EI_EXPOSE_REP2")
+public class SqlBudgetInterceptor implements AsyncHandlerInterceptor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SqlBudgetInterceptor.class);
+
+    public static final String EXCEEDED = "http.server.sql.budget.exceeded";
+
+    private final boolean failOnExceeded;
+
+    private final double warnSampleRate;
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public SqlBudgetInterceptor(@Value("${booking.sql-budget.fail-on-exceeded:false}") final boolean failOnExceeded,
+                                @Value("${booking.sql-budget.warn-sample-rate:0.1}") final double warnSampleRate,
+                                final MeterRegistry meterRegistry) {
+        this.failOnExceeded = failOnExceeded;
+        this.warnSampleRate = warnSampleRate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response, final Object handler) {
+        RequestSqlStats stats = RequestSqlStats.current();
+        if (stats != null && handler instanceof HandlerMethod handlerMethod) {
+            SqlBudget sqlBudget = handlerMethod.getMethodAnnotation(SqlBudget.class);
+            if (sqlBudget != null) {
+                stats.setBudget(handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName(),
+                        sqlBudget.value(), failOnExceeded);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(final HttpServletRequest request, final HttpServletResponse response,
+                                final Object handler, final Exception exception) {
+        RequestSqlStats stats = RequestSqlStats.current();
+        if (stats == null || !stats.isOverBudget()) {
+            return;
+        }
+        Counter.builder(EXCEEDED)
+                .description("Requests that prepared more SQL statements than their budget")
+                .tags("method", request.getMethod(), "uri", Objects.toString(
+                        request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE), "UNKNOWN"))
+                .register(meterRegistry)
+                .increment();
+        if (!failOnExceeded && ThreadLocalRandom.current().nextDouble() < warnSampleRate) {
+            LOGGER.warn(stats.describeBudgetOverrun());
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.akash.hotelbookingmanagement.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Adds every SQL statement Hibernate prepares to the {@link RequestSqlStats} of the current thread, before it is
+ * sent to the database. Configured through the {@code hibernate.session_factory.statement_inspector} property.
+ */
+public class SqlBudgetStatementInspector implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public String inspect(final String sql) {
+        RequestSqlStats stats = RequestSqlStats.current();
+        if (stats != null) {
+            stats.statementPrepared(sql);
+        }
+        return sql;
+    }
+}
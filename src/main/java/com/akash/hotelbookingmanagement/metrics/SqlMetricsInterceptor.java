@@ -0,0 +1,81 @@
+package com.akash.hotelbookingmanagement.metrics;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the SQL work of every handled request, tagged with its method and URI pattern. Work done on other
+ * threads, such as a streamed export, is not attributed to the request.
+ */
+@Component
+@SuppressFBWarnings("EI_EXPOSE_REP2")
+public class SqlMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String STATEMENTS = "http.server.sql.statements";
+
+    public static final String STATEMENT_TIME = "http.server.sql.time";
+
+    public static final String CONNECTION_WAIT = "http.server.sql.connection.wait";
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public SqlMetricsInterceptor(final MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response, final Object handler) {
+        RequestSqlStats.start();
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(final HttpServletRequest request, final HttpServletResponse response,
+                                               final Object handler) {
+        // the async dispatch that completes the request starts over on its own thread
+        RequestSqlStats.stop();
+    }
+
+    @Override
+    public void afterCompletion(final HttpServletRequest request, final HttpServletResponse response,
+                                final Object handler, final Exception exception) {
+        RequestSqlStats stats = RequestSqlStats.stop();
+        if (stats == null) {
+            return;
+        }
+        Tags tags = Tags.of("method", request.getMethod(), "uri", Objects.toString(
+                request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE), "UNKNOWN"));
+        DistributionSummary.builder(STATEMENTS)
+                .description("SQL statements and batches executed per request")
+                .baseUnit("statements")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder(STATEMENT_TIME)
+                .description("Time per request spent executing SQL statements and batches")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.getStatementNanos(), TimeUnit.NANOSECONDS);
+        Timer.builder(CONNECTION_WAIT)
+                .description("Time per request spent waiting for a pooled connection")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.getConnectionWaitNanos(), TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,73 @@
+package com.akash.hotelbookingmanagement.metrics;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Actuator endpoint ({@code /actuator/sqlstats}) summarizing the SQL cost of each endpoint and the wait for pooled
+ * connections, read from the meters recorded by {@link SqlMetricsInterceptor} and the connection pool.
+ */
+@Component
+@Endpoint(id = "sqlstats")
+@SuppressFBWarnings("EI_EXPOSE_REP2")
+public class SqlStatsEndpoint {
+
+    private static final String POOL_ACQUIRE = "hikaricp.connections.acquire";
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public SqlStatsEndpoint(final MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Summarizes the SQL cost per endpoint since startup; maxima cover the recent past only.
+     *
+     * @return The SQL cost of each endpoint, keyed by method and URI pattern, and of the connection pool.
+     */
+    @ReadOperation
+    public SqlStatsReport sqlStats() {
+        Map<String, EndpointSqlStats> endpoints = new TreeMap<>();
+        for (DistributionSummary statements : meterRegistry.find(SqlMetricsInterceptor.STATEMENTS).summaries()) {
+            Tags tags = Tags.of(statements.getId().getTags());
+            Timer statementTime = meterRegistry.find(SqlMetricsInterceptor.STATEMENT_TIME).tags(tags).timer();
+            Timer connectionWait = meterRegistry.find(SqlMetricsInterceptor.CONNECTION_WAIT).tags(tags).timer();
+            endpoints.put(statements.getId().getTag("method") + " " + statements.getId().getTag("uri"), new EndpointSqlStats(
+                    statements.count(),
+                    statements.mean(),
+                    statements.max(),
+                    statementTime == null ? 0 : statementTime.mean(TimeUnit.MILLISECONDS),
+                    statementTime == null ? 0 : statementTime.max(TimeUnit.MILLISECONDS),
+                    connectionWait == null ? 0 : connectionWait.mean(TimeUnit.MILLISECONDS),
+                    connectionWait == null ? 0 : connectionWait.max(TimeUnit.MILLISECONDS)));
+        }
+        Timer poolAcquire = meterRegistry.find(POOL_ACQUIRE).timer();
+        ConnectionPoolStats pool = poolAcquire == null ? null : new ConnectionPoolStats(poolAcquire.count(),
+                poolAcquire.mean(TimeUnit.MILLISECONDS), poolAcquire.max(TimeUnit.MILLISECONDS));
+        return new SqlStatsReport(endpoints, pool);
+    }
+
+    @SuppressFBWarnings(value = {"EI_EXPOSE_REP", "EI_EXPOSE_REP2"})
+    public record SqlStatsReport(Map<String, EndpointSqlStats> endpoints, ConnectionPoolStats connectionPool) {
+    }
+
+    public record EndpointSqlStats(long requests, double meanStatements, double maxStatements,
+                                   double meanSqlMillis, double maxSqlMillis,
+                                   double meanConnectionWaitMillis, double maxConnectionWaitMillis) {
+    }
+
+    public record ConnectionPoolStats(long acquisitions, double meanWaitMillis, double maxWaitMillis) {
+    }
+}
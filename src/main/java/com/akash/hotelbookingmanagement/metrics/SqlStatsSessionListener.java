@@ -0,0 +1,56 @@
+package com.akash.hotelbookingmanagement.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Adds the JDBC work of a Hibernate session to the {@link RequestSqlStats} of the current thread. Hibernate creates
+ * one listener per session from the {@code hibernate.session.events.auto} property.
+ */
+public class SqlStatsSessionListener implements SessionEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    private long statementStart;
+
+    private long connectionAcquisitionStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        statementEnded();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        statementEnded();
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        connectionAcquisitionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        RequestSqlStats stats = RequestSqlStats.current();
+        if (stats != null) {
+            stats.connectionAcquired(System.nanoTime() - connectionAcquisitionStart);
+        }
+    }
+
+    private void statementEnded() {
+        RequestSqlStats stats = RequestSqlStats.current();
+        if (stats != null) {
+            stats.statementExecuted(System.nanoTime() - statementStart);
+        }
+    }
+}
@@ -14,7 +14,11 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -34,17 +38,26 @@ import java.util.List;
 @Getter
 @Setter
 @Entity
+@NamedEntityGraph(name = BookingDetails.WITH_ROOMS, attributeNodes = @NamedAttributeNode("roomList"))
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @SuppressFBWarnings(value = {"EI_EXPOSE_REP", "EI_EXPOSE_REP2"})
 public class BookingDetails {
 
+    /**
+     * Entity graph loading a booking together with its rooms. Only one of the two collections is joined, as
+     * fetching both would multiply their rows; the customers are batch fetched.
+     */
+    public static final String WITH_ROOMS = "BookingDetails.withRooms";
+
     /**
      * BookingId
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "booking_id")
+    @TableGenerator(name = "booking_id", table = IdAllocation.TABLE, pkColumnName = IdAllocation.ENTITY_COLUMN,
+            valueColumnName = IdAllocation.NEXT_ID_COLUMN, pkColumnValue = "booking_details", allocationSize = IdAllocation.BLOCK_SIZE)
     private Integer bookingId;
 
     /**
@@ -87,7 +100,7 @@ public class BookingDetails {
      */
     @NotNull(message = "At least one customer must be specified")
     @Size(min = 1, message = "At least one customer must be specified")
-    @OneToMany(cascade = CascadeType.MERGE, fetch = FetchType.EAGER)
+    @OneToMany(cascade = CascadeType.MERGE, fetch = FetchType.LAZY)
     @JoinTable(name = "booking_customer",
             joinColumns = @JoinColumn(name = "booking_id"),
             inverseJoinColumns = @JoinColumn(name = "customerId"))
@@ -98,7 +111,7 @@ public class BookingDetails {
      */
     @NotNull(message = "At least one room must be specified")
     @Size(min = 1, message = "At least one room must be specified")
-    @OneToMany(cascade = CascadeType.MERGE, fetch = FetchType.EAGER)
+    @OneToMany(cascade = CascadeType.MERGE, fetch = FetchType.LAZY)
     @JoinTable(name = "booked_room_list",
             joinColumns = @JoinColumn(name = "booking_id"),
             inverseJoinColumns = @JoinColumn(name = "room_number"))
@@ -116,4 +129,10 @@ public class BookingDetails {
     @Min(value = 0, message = "Paid amount cannot be negative")
     private Integer paidAmount;
 
+    /**
+     * Version used to detect concurrent updates of the booking.
+     */
+    @Version
+    private Long version;
+
 }
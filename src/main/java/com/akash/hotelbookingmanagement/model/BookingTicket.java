@@ -0,0 +1,82 @@
+package com.akash.hotelbookingmanagement.model;
+
+import com.akash.hotelbookingmanagement.model.enums.BookingTicketStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity class representing a booking submitted for asynchronous creation. The ticket stages the request
+ * durably until a worker creates or rejects the booking, and then records the outcome for the client to poll.
+ */
+@Getter
+@Setter
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingTicket {
+
+    /**
+     * Longest request, as JSON, a ticket can stage.
+     */
+    public static final int MAX_REQUEST_LENGTH = 4000;
+
+    /**
+     * Longest rejection message a ticket records.
+     */
+    public static final int MAX_MESSAGE_LENGTH = 255;
+
+    /**
+     * TicketId
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String ticketId;
+
+    /**
+     * The submitted booking, as JSON.
+     */
+    @JsonIgnore
+    @Column(length = MAX_REQUEST_LENGTH)
+    private String request;
+
+    /**
+     * Whether the booking is still pending, was created or was rejected.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(columnDefinition = "enum")
+    private BookingTicketStatus status;
+
+    /**
+     * ID of the created booking, null until it is created.
+     */
+    private Integer bookingId;
+
+    /**
+     * Reason the booking was rejected, null unless it was rejected.
+     */
+    private String message;
+
+    /**
+     * Time the booking was submitted.
+     */
+    private LocalDateTime submittedAt;
+
+    /**
+     * Time the booking was created or rejected, null while it is pending.
+     */
+    private LocalDateTime completedAt;
+}
@@ -1,35 +1,49 @@
 package com.akash.hotelbookingmanagement.model;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Id;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Column;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.TableGenerator;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor;
 
 /**
- * Represents a customer in the hotel booking system.
+ * Represents a customer in the hotel booking system, kept in the second-level cache.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Customer.CACHE_REGION)
 @Getter
 @Setter
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
 public class Customer {
+
+    /**
+     * Second-level cache region of customers, configured in {@code ehcache.xml}.
+     */
+    public static final String CACHE_REGION = "customer";
+
     /**
      * The unique identifier for the customer.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "customer_id")
+    @TableGenerator(name = "customer_id", table = IdAllocation.TABLE, pkColumnName = IdAllocation.ENTITY_COLUMN,
+            valueColumnName = IdAllocation.NEXT_ID_COLUMN, pkColumnValue = "customer", allocationSize = IdAllocation.BLOCK_SIZE)
     private Integer customerId;
 
     /**
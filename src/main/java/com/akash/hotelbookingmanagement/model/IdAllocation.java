@@ -0,0 +1,20 @@
+package com.akash.hotelbookingmanagement.model;
+
+/**
+ * Names shared by the table generators of the entities. Each entity has a row in id_allocation holding the
+ * next free id; Hibernate reserves {@link #BLOCK_SIZE} ids per round trip and hands them out from memory,
+ * so inserts do not need the generated key back and can be batched.
+ */
+public final class IdAllocation {
+
+    public static final String TABLE = "id_allocation";
+
+    public static final String ENTITY_COLUMN = "entity";
+
+    public static final String NEXT_ID_COLUMN = "next_id";
+
+    public static final int BLOCK_SIZE = 50;
+
+    private IdAllocation() {
+    }
+}
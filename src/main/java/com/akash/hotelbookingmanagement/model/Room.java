@@ -5,6 +5,7 @@ import jakarta.persistence.ManyToMany;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -13,6 +14,12 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -21,21 +28,39 @@ import lombok.Setter;
 import java.util.List;
 
 /**
- * Represents a room in the hotel.
+ * Represents a room in the hotel. Rooms and their checked-in customers are kept in the second-level cache.
  */
 @Getter
 @Setter
 @Builder
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Room.CACHE_REGION)
+@NamedEntityGraph(name = Room.WITH_CHECKED_IN_CUSTOMERS, attributeNodes = @NamedAttributeNode("checkedInCustomers"))
 @NoArgsConstructor
 @AllArgsConstructor
 @SuppressFBWarnings(value = {"EI_EXPOSE_REP", "EI_EXPOSE_REP2"})
 public class Room {
+
+    /**
+     * Entity graph loading a room together with its checked-in customers.
+     */
+    public static final String WITH_CHECKED_IN_CUSTOMERS = "Room.withCheckedInCustomers";
+
+    /**
+     * Second-level cache regions of rooms and of their checked-in customers, configured in {@code ehcache.xml}.
+     */
+    public static final String CACHE_REGION = "room";
+
+    public static final String CHECKED_IN_CUSTOMERS_CACHE_REGION = "room.checkedInCustomers";
+
     /**
      * The unique identifier for the room.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "room_number")
+    @TableGenerator(name = "room_number", table = IdAllocation.TABLE, pkColumnName = IdAllocation.ENTITY_COLUMN,
+            valueColumnName = IdAllocation.NEXT_ID_COLUMN, pkColumnValue = "room", allocationSize = IdAllocation.BLOCK_SIZE)
     private Integer roomNumber;
 
     /**
@@ -74,9 +99,16 @@ public class Room {
     /**
      * The list of customers currently checked in to the room.
      */
-    @ManyToMany(cascade = CascadeType.MERGE, fetch = FetchType.EAGER)
+    @ManyToMany(cascade = CascadeType.MERGE, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Room.CHECKED_IN_CUSTOMERS_CACHE_REGION)
     @JoinTable(name = "customer_room",
             joinColumns = @JoinColumn(name = "roomNumber"),
             inverseJoinColumns = @JoinColumn(name = "customerId"))
     private List<Customer> checkedInCustomers;
+
+    /**
+     * Version used to detect concurrent updates of the room.
+     */
+    @Version
+    private Long version;
 }
@@ -0,0 +1,65 @@
+package com.akash.hotelbookingmanagement.model;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Entity class representing a temporary hold of rooms, taken while the guest pays and released
+ * automatically when it expires.
+ */
+@Getter
+@Setter
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@SuppressFBWarnings(value = {"EI_EXPOSE_REP", "EI_EXPOSE_REP2"})
+public class RoomHold {
+
+    /**
+     * HoldId
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer holdId;
+
+    /**
+     * Room numbers held.
+     */
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "room_hold_room", joinColumns = @JoinColumn(name = "hold_id"))
+    @Column(name = "room_number")
+    private List<Integer> roomNumberList;
+
+    /**
+     * First night of the held stay.
+     */
+    private LocalDate startDate;
+
+    /**
+     * Check-out date of the held stay, exclusive.
+     */
+    private LocalDate endDate;
+
+    /**
+     * Time after which the rooms are released.
+     */
+    private LocalDateTime expiresAt;
+}
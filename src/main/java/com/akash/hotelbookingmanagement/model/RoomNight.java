@@ -0,0 +1,99 @@
+package com.akash.hotelbookingmanagement.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Transient;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDate;
+
+/**
+ * Inventory row recording that a room is sold, or held for a pending booking, for a single night.
+ * The primary key (room number, night) guarantees a room can never be sold twice for the same night.
+ */
+@Getter
+@Setter
+@Entity
+@NoArgsConstructor
+@IdClass(RoomNightId.class)
+public class RoomNight implements Persistable<RoomNightId> {
+
+    /**
+     * The room number.
+     */
+    @Id
+    private Integer roomNumber;
+
+    /**
+     * The night the room is sold for.
+     */
+    @Id
+    private LocalDate night;
+
+    /**
+     * The booking the room is sold to for this night, null while the night is only held.
+     */
+    private Integer bookingId;
+
+    /**
+     * The room hold reserving the room for this night, null once the night is sold.
+     */
+    private Integer holdId;
+
+    /**
+     * Ids are always assigned, so track newness explicitly to make save() insert instead of merge.
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean isNew = true;
+
+    /**
+     * Creates an inventory row for a room night held by a booking.
+     *
+     * @param roomNumber The room number.
+     * @param night      The night the room is sold for.
+     * @param bookingId  The booking holding the room.
+     */
+    public RoomNight(final Integer roomNumber, final LocalDate night, final Integer bookingId) {
+        this(roomNumber, night, bookingId, null);
+    }
+
+    /**
+     * Creates an inventory row for a room night sold to a booking or held for one.
+     *
+     * @param roomNumber The room number.
+     * @param night      The night the room is sold or held for.
+     * @param bookingId  The booking the room is sold to, or null.
+     * @param holdId     The hold reserving the room, or null.
+     */
+    public RoomNight(final Integer roomNumber, final LocalDate night, final Integer bookingId, final Integer holdId) {
+        this.roomNumber = roomNumber;
+        this.night = night;
+        this.bookingId = bookingId;
+        this.holdId = holdId;
+    }
+
+    @Override
+    public RoomNightId getId() {
+        return new RoomNightId(roomNumber, night);
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
@@ -0,0 +1,33 @@
+package com.akash.hotelbookingmanagement.model;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Composite identifier of a {@link RoomNight}: one room on one night.
+ */
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomNightId implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The room number.
+     */
+    private Integer roomNumber;
+
+    /**
+     * The night the room is sold for.
+     */
+    private LocalDate night;
+}
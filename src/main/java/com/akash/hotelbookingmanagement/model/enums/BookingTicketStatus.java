@@ -0,0 +1,7 @@
+package com.akash.hotelbookingmanagement.model.enums;
+
+public enum BookingTicketStatus {
+    PENDING,
+    CREATED,
+    REJECTED,
+}
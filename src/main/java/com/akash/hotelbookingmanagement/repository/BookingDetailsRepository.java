@@ -1,8 +1,54 @@
 package com.akash.hotelbookingmanagement.repository;
 
+import com.akash.hotelbookingmanagement.dto.AssociatedId;
+import com.akash.hotelbookingmanagement.dto.BookedRoomStay;
+import com.akash.hotelbookingmanagement.dto.BookingView;
 import com.akash.hotelbookingmanagement.model.BookingDetails;
-import org.springframework.data.repository.CrudRepository;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface BookingDetailsRepository extends CrudRepository<BookingDetails, Integer> {
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
+public interface BookingDetailsRepository extends JpaRepository<BookingDetails, Integer> {
+
+    String SELECT_BOOKING_VIEW = "select new com.akash.hotelbookingmanagement.dto.BookingView(b.bookingId, b.duration,"
+            + " b.startDate, b.endDate, b.modeOfBooking, b.modeOfPayment, b.billAmount, b.paidAmount) from BookingDetails b";
+
+    @Override
+    @EntityGraph(BookingDetails.WITH_ROOMS)
+    Optional<BookingDetails> findById(Integer id);
+
+    /**
+     * Loads a booking whose version is incremented when the transaction commits, even if only its room nights
+     * change, so that a concurrent update or delete of the booking fails its version check and is retried.
+     */
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @EntityGraph(BookingDetails.WITH_ROOMS)
+    Optional<BookingDetails> findWithVersionIncrementByBookingId(Integer bookingId);
+
+    @Query(SELECT_BOOKING_VIEW + " where b.bookingId > :after order by b.bookingId")
+    List<BookingView> findViewsAfter(@Param("after") Integer after, Limit limit);
+
+    @Query(SELECT_BOOKING_VIEW + " where b.bookingId = :id")
+    Optional<BookingView> findViewById(@Param("id") Integer id);
+
+    @Query("select b.bookingId as ownerId, c.customerId as associatedId"
+            + " from BookingDetails b join b.customerList c where b.bookingId in :ids")
+    List<AssociatedId> findCustomerIdsByBookingIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query("select b.bookingId as ownerId, r.roomNumber as associatedId"
+            + " from BookingDetails b join b.roomList r where b.bookingId in :ids")
+    List<AssociatedId> findRoomNumbersByBookingIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query("select b.bookingId as bookingId, r.roomNumber as roomNumber, b.startDate as startDate, b.endDate as endDate"
+            + " from BookingDetails b join b.roomList r where b.endDate > :after")
+    List<BookedRoomStay> findAllBookedRoomStaysEndingAfter(@Param("after") LocalDate after);
 }
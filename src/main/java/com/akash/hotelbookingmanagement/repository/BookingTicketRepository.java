@@ -0,0 +1,30 @@
+package com.akash.hotelbookingmanagement.repository;
+
+import com.akash.hotelbookingmanagement.model.BookingTicket;
+import com.akash.hotelbookingmanagement.model.enums.BookingTicketStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface BookingTicketRepository extends JpaRepository<BookingTicket, String> {
+
+    List<BookingTicket> findAllByTicketIdInAndStatusOrderBySubmittedAt(Collection<String> ticketIds, BookingTicketStatus status);
+
+    @Query("select t.ticketId from BookingTicket t where t.status = :status order by t.submittedAt")
+    List<String> findTicketIdsByStatus(@Param("status") BookingTicketStatus status, Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("update BookingTicket t set t.status = :status, t.bookingId = :bookingId, t.message = :message, t.completedAt = :completedAt"
+            + " where t.ticketId = :ticketId")
+    int complete(@Param("ticketId") String ticketId, @Param("status") BookingTicketStatus status,
+                 @Param("bookingId") Integer bookingId, @Param("message") String message,
+                 @Param("completedAt") LocalDateTime completedAt);
+}
@@ -1,8 +1,15 @@
 package com.akash.hotelbookingmanagement.repository;
 
+import com.akash.hotelbookingmanagement.dto.CustomerView;
 import com.akash.hotelbookingmanagement.model.Customer;
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.domain.Limit;
 
-public interface CustomerRepository extends CrudRepository<Customer, Integer> {
+import java.util.List;
+import java.util.Optional;
 
+public interface CustomerRepository extends MultiLoadRepository<Customer, Integer> {
+
+    List<CustomerView> findViewsByCustomerIdGreaterThanOrderByCustomerId(Integer after, Limit limit);
+
+    Optional<CustomerView> findViewByCustomerId(Integer id);
 }
@@ -0,0 +1,26 @@
+package com.akash.hotelbookingmanagement.repository;
+
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.NoRepositoryBean;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository loading entities by several ids at once through the persistence context and the second-level cache,
+ * unlike {@link CrudRepository#findAllById(Iterable)} which always queries the database.
+ *
+ * @param <T>  The entity type.
+ * @param <ID> The id type.
+ */
+@NoRepositoryBean
+public interface MultiLoadRepository<T, ID> extends CrudRepository<T, ID> {
+
+    /**
+     * Loads the entities with the given ids, only querying the database for those neither managed nor cached.
+     *
+     * @param ids The ids.
+     * @return The entities found, without any order.
+     */
+    List<T> multiLoadById(Collection<ID> ids);
+}
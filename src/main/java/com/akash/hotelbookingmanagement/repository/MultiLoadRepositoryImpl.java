@@ -0,0 +1,41 @@
+package com.akash.hotelbookingmanagement.repository;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Base class of the repositories, implementing {@link MultiLoadRepository} with Hibernate's multi-load.
+ *
+ * @param <T>  The entity type.
+ * @param <ID> The id type.
+ */
+@SuppressFBWarnings("EI_EXPOSE_REP2")
+public class MultiLoadRepositoryImpl<T, ID> extends SimpleJpaRepository<T, ID> implements MultiLoadRepository<T, ID> {
+
+    private final EntityManager entityManager;
+
+    public MultiLoadRepositoryImpl(final JpaEntityInformation<T, ?> entityInformation, final EntityManager entityManager) {
+        super(entityInformation, entityManager);
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<T> multiLoadById(final Collection<ID> ids) {
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(getDomainClass())
+                .with(CacheMode.NORMAL)
+                .enableSessionCheck(true)
+                .multiLoad(List.copyOf(ids))
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
@@ -0,0 +1,24 @@
+package com.akash.hotelbookingmanagement.repository;
+
+import com.akash.hotelbookingmanagement.model.RoomHold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface RoomHoldRepository extends JpaRepository<RoomHold, Integer> {
+
+    @Transactional
+    @Modifying
+    @Query("delete from RoomHold h where h.holdId = :holdId and h.expiresAt > :now")
+    int deleteUnexpired(@Param("holdId") Integer holdId, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RoomHold h where h.holdId in :holdIds")
+    int deleteAllByHoldIdIn(@Param("holdIds") Collection<Integer> holdIds);
+}
@@ -0,0 +1,24 @@
+package com.akash.hotelbookingmanagement.repository;
+
+import com.akash.hotelbookingmanagement.model.RoomNight;
+import com.akash.hotelbookingmanagement.model.RoomNightId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+public interface RoomNightRepository extends JpaRepository<RoomNight, RoomNightId> {
+
+    @Transactional
+    @Modifying
+    @Query("delete from RoomNight n where n.bookingId = :bookingId")
+    int deleteAllByBookingId(@Param("bookingId") Integer bookingId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RoomNight n where n.holdId in :holdIds")
+    int deleteAllByHoldIdIn(@Param("holdIds") Collection<Integer> holdIds);
+}
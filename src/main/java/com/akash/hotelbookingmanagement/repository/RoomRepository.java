@@ -1,8 +1,57 @@
 package com.akash.hotelbookingmanagement.repository;
 
+import com.akash.hotelbookingmanagement.dto.AssociatedId;
+import com.akash.hotelbookingmanagement.dto.CustomerView;
+import com.akash.hotelbookingmanagement.dto.RoomView;
 import com.akash.hotelbookingmanagement.model.Room;
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface RoomRepository extends CrudRepository<Room, Integer> {
-    Iterable<Room> findAllByType(String type);
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface RoomRepository extends MultiLoadRepository<Room, Integer> {
+
+    String SELECT_ROOM_VIEW = "select new com.akash.hotelbookingmanagement.dto.RoomView(r.roomNumber, r.type, r.occupancy,"
+            + " r.pricePerDay, r.availability, r.isCheckedIn, r.isCheckedOut) from Room r";
+
+    @Override
+    @EntityGraph(Room.WITH_CHECKED_IN_CUSTOMERS)
+    Optional<Room> findById(Integer roomNumber);
+
+    @Query(SELECT_ROOM_VIEW + " where r.roomNumber > :after order by r.roomNumber")
+    List<RoomView> findViewsAfter(@Param("after") Integer after, Limit limit);
+
+    @Query(SELECT_ROOM_VIEW + " where r.roomNumber = :roomNumber")
+    Optional<RoomView> findViewByRoomNumber(@Param("roomNumber") Integer roomNumber);
+
+    @Query(SELECT_ROOM_VIEW + " where r.type = :type order by r.roomNumber")
+    List<RoomView> findViewsByType(@Param("type") String type);
+
+    @Query(SELECT_ROOM_VIEW + " where r.roomNumber in :roomNumbers order by r.roomNumber")
+    List<RoomView> findViewsByRoomNumberIn(@Param("roomNumbers") Collection<Integer> roomNumbers);
+
+    @Query("select r.roomNumber as ownerId, c.customerId as associatedId"
+            + " from Room r join r.checkedInCustomers c where r.roomNumber in :roomNumbers")
+    List<AssociatedId> findCheckedInCustomerIdsByRoomNumberIn(@Param("roomNumbers") Collection<Integer> roomNumbers);
+
+    @Query("select c.customerId as customerId, c.fullName as fullName, c.address as address, c.age as age,"
+            + " c.contactNumber as contactNumber from Room r join r.checkedInCustomers c where r.roomNumber = :roomNumber")
+    List<CustomerView> findCheckedInCustomerViews(@Param("roomNumber") Integer roomNumber);
+
+    @Query("select r.roomNumber from Room r"
+            + " where r.availability = true and r.roomNumber > :after"
+            + " and (:type is null or r.type = :type)"
+            + " and (:minOccupancy is null or r.occupancy >= :minOccupancy)"
+            + " and (:maxPrice is null or r.pricePerDay <= :maxPrice)"
+            + " and not exists (select n.night from RoomNight n"
+            + "     where n.roomNumber = r.roomNumber and n.night >= :from and n.night < :to)"
+            + " order by r.roomNumber")
+    List<Integer> findAvailableRoomNumbers(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                           @Param("type") String type, @Param("minOccupancy") Integer minOccupancy,
+                                           @Param("maxPrice") Integer maxPrice, @Param("after") Integer after, Limit limit);
 }
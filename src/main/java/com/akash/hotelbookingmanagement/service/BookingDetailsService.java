@@ -1,24 +1,43 @@
 package com.akash.hotelbookingmanagement.service;
 
+import com.akash.hotelbookingmanagement.concurrency.RetryOnOptimisticLock;
+import com.akash.hotelbookingmanagement.concurrency.RoomLockManager;
+import com.akash.hotelbookingmanagement.concurrency.SingleFlight;
 import com.akash.hotelbookingmanagement.config.BookingDetailsMapper;
+import com.akash.hotelbookingmanagement.dto.AssociatedId;
+import com.akash.hotelbookingmanagement.dto.BookingView;
 import com.akash.hotelbookingmanagement.exception.AdvancePaymentNotDoneException;
 import com.akash.hotelbookingmanagement.exception.ChildrenNotAccompaniedByAdultException;
+import com.akash.hotelbookingmanagement.exception.InvalidBookingDatesException;
 import com.akash.hotelbookingmanagement.exception.RoomNotAvailableException;
 import com.akash.hotelbookingmanagement.exception.ResourceNotFoundException;
 import com.akash.hotelbookingmanagement.model.BookingDetails;
 import com.akash.hotelbookingmanagement.dto.BookingDetailsDto;
 import com.akash.hotelbookingmanagement.model.Room;
+import com.akash.hotelbookingmanagement.model.RoomHold;
+import com.akash.hotelbookingmanagement.model.RoomNight;
 import com.akash.hotelbookingmanagement.repository.BookingDetailsRepository;
-import com.akash.hotelbookingmanagement.repository.RoomRepository;
+import com.akash.hotelbookingmanagement.repository.RoomNightRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service class for managing booking details.
  */
 @Service
+@Timed(value = "booking.service.calls", histogram = true)
 public class BookingDetailsService {
 
     @Autowired
@@ -31,27 +50,50 @@ public class BookingDetailsService {
     private RoomService roomService;
 
     @Autowired
-    private RoomRepository roomRepository;
+    private RoomNightRepository roomNightRepository;
+
+    @Autowired
+    private RoomOccupancyIndex roomOccupancyIndex;
+
+    @Autowired
+    private RoomLockManager roomLockManager;
+
+    @Autowired
+    private RoomHoldService roomHoldService;
 
     @Autowired
     private BookingDetailsMapper bookingDetailsMapper;
 
+    @Autowired
+    private SingleFlight<Integer, BookingView> bookingViewLookups;
+
     private static final int MAX_NUMBER_OF_ROOMS_WITHOUT_ANY_ADV_PAYMENT_REQUIREMENT = 3;
     private static final int MIN_ADULT_AGE = 18;
 
 
     /**
-     * Creates a new booking.
+     * Creates a new booking, confirming the room hold it names, if any.
      *
      * @param bookingDetailsData The booking details to create.
      * @return The created booking details.
      */
+    @Transactional
     public BookingDetails createBooking(@Valid final BookingDetailsDto bookingDetailsData) {
 
         BookingDetails bookingDetails = bookingDetailsMapper.convertToEntity(bookingDetailsData);
-
-        //check if all the rooms are available or not
-        if (!roomService.checkRoomsAvailability(bookingDetails.getRoomList())) {
+        validateStayDates(bookingDetails);
+        RoomHold roomHold = bookingDetailsData.getHoldId() == null ? null : roomHoldService.getRoomHold(bookingDetailsData.getHoldId());
+
+        //serialize bookings of the same rooms until this one commits or rolls back
+        roomLockManager.lockUntilTransactionCompletes(roomNumbersOf(bookingDetails));
+
+        if (roomHold != null) {
+            //the held nights are already reserved for this booking
+            if (!isForHeldStay(bookingDetails, roomHold)) {
+                throw new RoomNotAvailableException("Booking must be for the rooms and dates held");
+            }
+        } else if (!roomService.checkRoomsAvailability(bookingDetails.getRoomList(), bookingDetails.getStartDate(), bookingDetails.getEndDate())) {
+            //check if all the rooms are available for every night of the stay
             throw new RoomNotAvailableException("All rooms selected are currently not available");
         }
 
@@ -70,12 +112,13 @@ public class BookingDetailsService {
 
         BookingDetails savedBookingDetails = bookingDetailsRepository.save(bookingDetails);
 
-        //set the availability of every room to be false after saving to avoid possibility of error
-        bookingDetails.getRoomList().forEach(room -> {
-            room = roomService.getRoomByRoomNumber(room.getRoomNumber());
-            room.setAvailability(false);
-            roomRepository.save(room);
-        });
+        //sell every room for every night of the stay, taking the nights over from the hold if there is one
+        if (roomHold != null) {
+            roomHoldService.consumeHold(roomHold);
+        }
+        claimRoomNights(savedBookingDetails);
+        roomOccupancyIndex.book(savedBookingDetails.getBookingId(), roomNumbersOf(savedBookingDetails),
+                savedBookingDetails.getStartDate(), savedBookingDetails.getEndDate());
         return savedBookingDetails;
     }
 
@@ -91,12 +134,48 @@ public class BookingDetailsService {
     }
 
     /**
-     * Retrieves all bookings.
+     * Retrieves the view of a booking by its ID, sharing the lookup with concurrent callers for the same booking.
      *
-     * @return Iterable containing all bookings.
+     * @param id The ID of the booking.
+     * @return The booking view with its customer IDs and room numbers.
      */
-    public Iterable<BookingDetails> getAllBookingDetails() {
-        return bookingDetailsRepository.findAll();
+    public BookingView getBookingView(final Integer id) {
+        return bookingViewLookups.execute(id, () -> {
+            BookingView bookingView = bookingDetailsRepository.findViewById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Booking details not found with id: " + id));
+            return withAssociatedIds(List.of(bookingView)).get(0);
+        });
+    }
+
+    /**
+     * Retrieves a page of booking views in ID order.
+     *
+     * @param after The ID the page starts after, or null for the first page.
+     * @param limit The maximum number of bookings to return.
+     * @return The booking views of the page.
+     */
+    public List<BookingView> getAllBookingDetails(final Integer after, final int limit) {
+        return withAssociatedIds(bookingDetailsRepository.findViewsAfter(Objects.requireNonNullElse(after, 0), Limit.of(limit)));
+    }
+
+    /**
+     * Fills in the customer IDs and room numbers of booking views, with one query for each.
+     *
+     * @param bookingViews The booking views.
+     * @return The same booking views.
+     */
+    public List<BookingView> withAssociatedIds(final List<BookingView> bookingViews) {
+        if (bookingViews.isEmpty()) {
+            return bookingViews;
+        }
+        List<Integer> bookingIds = bookingViews.stream().map(BookingView::getBookingId).toList();
+        Map<Integer, List<Integer>> customerIds = AssociatedId.groupByOwner(bookingDetailsRepository.findCustomerIdsByBookingIdIn(bookingIds));
+        Map<Integer, List<Integer>> roomNumbers = AssociatedId.groupByOwner(bookingDetailsRepository.findRoomNumbersByBookingIdIn(bookingIds));
+        bookingViews.forEach(bookingView -> {
+            bookingView.setCustomerIdList(customerIds.getOrDefault(bookingView.getBookingId(), List.of()));
+            bookingView.setRoomNumberList(roomNumbers.getOrDefault(bookingView.getBookingId(), List.of()));
+        });
+        return bookingViews;
     }
 
     /**
@@ -106,13 +185,24 @@ public class BookingDetailsService {
      * @param bookingDetailsData The updated booking details.
      * @return The updated booking details if successful, otherwise null.
      */
+    @RetryOnOptimisticLock
+    @Transactional
     public BookingDetails updateBookingDetails(final Integer id, final BookingDetailsDto bookingDetailsData) {
-        BookingDetails existingBooking = getBookingDetails(id);
+        //a concurrent update or delete of the booking makes one of the two fail its version check and retry
+        BookingDetails existingBooking = bookingDetailsRepository.findWithVersionIncrementByBookingId(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking details not found with id: " + id));
         BookingDetails bookingDetails = bookingDetailsMapper.convertToEntity(bookingDetailsData);
 
-        //check if all the rooms are available or not
-        if (bookingDetails.getRoomList() != null && !roomService.checkRoomsAvailability(bookingDetails.getRoomList())) {
-            throw new RoomNotAvailableException("All rooms selected are currently not available");
+        //lock the booking's rooms, old and new, before writing anything: a concurrent update or delete of the
+        //booking locks the same rooms, so the two cannot interleave their row writes and deadlock
+        Set<Integer> roomNumbers = new HashSet<>(roomNumbersOf(existingBooking));
+        if (bookingDetails.getRoomList() != null) {
+            roomNumbers.addAll(roomNumbersOf(bookingDetails));
+        }
+        roomLockManager.lockUntilTransactionCompletes(roomNumbers);
+        //a delete that committed while this waited for the locks would leave the lazily loaded customers empty
+        if (!bookingDetailsRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Booking details not found with id: " + id);
         }
 
         if (bookingDetails.getDuration() != null) {
@@ -140,11 +230,25 @@ public class BookingDetailsService {
             existingBooking.setRoomList(bookingDetails.getRoomList());
         }
 
+        boolean staySoldAgain = bookingDetails.getRoomList() != null
+                || bookingDetails.getStartDate() != null || bookingDetails.getEndDate() != null;
+        if (staySoldAgain) {
+            validateStayDates(existingBooking);
+
+            //check if all the rooms are available for every night of the stay, ignoring nights this booking already holds
+            if (!roomService.checkRoomsAvailability(existingBooking.getRoomList(), existingBooking.getStartDate(), existingBooking.getEndDate(), id)) {
+                throw new RoomNotAvailableException("All rooms selected are currently not available");
+            }
+        }
 
         if (existingBooking.getRoomList() != null) {
             existingBooking.setBillAmount(existingBooking.getRoomList().stream().mapToInt(Room::getPricePerDay).sum());
         }
 
+        //write the booking before checking it: if it was updated or deleted since it was read, the version check
+        //fails here, before the checks read collections a delete may have emptied and before the nights are resold
+        BookingDetails savedBookingDetails = bookingDetailsRepository.saveAndFlush(existingBooking);
+
         if (!isAccompaniedByAdult(existingBooking)) {
             throw new ChildrenNotAccompaniedByAdultException("At least one adult must be present with children");
         }
@@ -153,15 +257,12 @@ public class BookingDetailsService {
             throw new AdvancePaymentNotDoneException("For number of rooms more than 3, at least 50% payment must be done");
         }
 
-        BookingDetails savedBookingDetails = bookingDetailsRepository.save(existingBooking);
-
-        //set the availability of every room to be false after saving to avoid possibility of error
-        if (bookingDetails.getRoomList() != null) {
-            bookingDetails.getRoomList().forEach(room -> {
-                room = roomService.getRoomByRoomNumber(room.getRoomNumber());
-                room.setAvailability(false);
-                roomRepository.save(room);
-            });
+        //release the nights previously held by this booking and sell the new stay
+        if (staySoldAgain) {
+            roomNightRepository.deleteAllByBookingId(id);
+            claimRoomNights(savedBookingDetails);
+            roomOccupancyIndex.book(id, roomNumbersOf(savedBookingDetails),
+                    savedBookingDetails.getStartDate(), savedBookingDetails.getEndDate());
         }
 
         return savedBookingDetails;
@@ -173,9 +274,18 @@ public class BookingDetailsService {
      * @param id The ID of the booking to delete.
      * @return true if the booking was deleted, false otherwise.
      */
+    @RetryOnOptimisticLock
+    @Transactional
     public boolean deleteBookingDetails(final Integer id) {
-        if (bookingDetailsRepository.existsById(id)) {
-            bookingDetailsRepository.deleteById(id);
+        //the booking is deleted at the version read here, so an update committing after its room nights were
+        //deleted fails the delete's version check and the delete is retried with the update's nights
+        Optional<BookingDetails> bookingDetails = bookingDetailsRepository.findById(id);
+        if (bookingDetails.isPresent()) {
+            //locked like an update of the booking, so the two write their rows one after the other
+            roomLockManager.lockUntilTransactionCompletes(roomNumbersOf(bookingDetails.get()));
+            roomNightRepository.deleteAllByBookingId(id);
+            bookingDetailsRepository.delete(bookingDetails.get());
+            roomOccupancyIndex.release(id);
             return true;
         } else {
             return false;
@@ -183,7 +293,8 @@ public class BookingDetailsService {
     }
 
     /**
-     * Checks if the advance payment has been made for booking more than 3 rooms.
+     * Checks if the advance payment has been made for booking more than 3 rooms. A booking without a paid
+     * amount counts as nothing paid.
      *
      * @param bookingDetails the details of booking
      * @return True if advance payment is done, false otherwise.
@@ -192,7 +303,8 @@ public class BookingDetailsService {
         if (bookingDetails.getRoomList() == null || bookingDetails.getRoomList().size() <= MAX_NUMBER_OF_ROOMS_WITHOUT_ANY_ADV_PAYMENT_REQUIREMENT) {
             return true;
         }
-        return (bookingDetails.getBillAmount() / 2 <= bookingDetails.getPaidAmount());
+        int paidAmount = bookingDetails.getPaidAmount() == null ? 0 : bookingDetails.getPaidAmount();
+        return (bookingDetails.getBillAmount() / 2 <= paidAmount);
     }
 
     /**
@@ -209,4 +321,66 @@ public class BookingDetailsService {
         return children != bookingDetails.getCustomerList().size();
     }
 
+    /**
+     * Checks that the stay covers at least one night.
+     *
+     * @param bookingDetails the details of booking
+     */
+    private void validateStayDates(final BookingDetails bookingDetails) {
+        if (bookingDetails.getStartDate() == null || bookingDetails.getEndDate() == null
+                || !bookingDetails.getEndDate().isAfter(bookingDetails.getStartDate())) {
+            throw new InvalidBookingDatesException("End date must be after start date");
+        }
+    }
+
+    /**
+     * Checks that the booking is for exactly the rooms and stay of the hold.
+     *
+     * @param bookingDetails the details of booking
+     * @param roomHold       the hold confirmed by the booking
+     * @return True if the booking matches the hold, false otherwise.
+     */
+    private boolean isForHeldStay(final BookingDetails bookingDetails, final RoomHold roomHold) {
+        return bookingDetails.getStartDate().equals(roomHold.getStartDate())
+                && bookingDetails.getEndDate().equals(roomHold.getEndDate())
+                && new HashSet<>(roomNumbersOf(bookingDetails)).equals(new HashSet<>(roomHold.getRoomNumberList()));
+    }
+
+    /**
+     * Inserts the room nights of the booking in one batch. A night already sold by a concurrent booking
+     * violates the room_night primary key, which rolls back the whole booking.
+     *
+     * @param bookingDetails the saved details of booking
+     */
+    private void claimRoomNights(final BookingDetails bookingDetails) {
+        try {
+            roomNightRepository.saveAllAndFlush(toRoomNights(bookingDetails));
+        } catch (DataIntegrityViolationException exception) {
+            throw new RoomNotAvailableException("All rooms selected are currently not available");
+        }
+    }
+
+    /**
+     * Builds one inventory row per booked room per night of the stay.
+     *
+     * @param bookingDetails the saved details of booking
+     * @return The room nights held by the booking.
+     */
+    private List<RoomNight> toRoomNights(final BookingDetails bookingDetails) {
+        return bookingDetails.getRoomList().stream()
+                .flatMap(room -> bookingDetails.getStartDate().datesUntil(bookingDetails.getEndDate())
+                        .map(night -> new RoomNight(room.getRoomNumber(), night, bookingDetails.getBookingId())))
+                .toList();
+    }
+
+    /**
+     * Extracts the booked room numbers.
+     *
+     * @param bookingDetails the details of booking
+     * @return The room numbers of the booking.
+     */
+    private List<Integer> roomNumbersOf(final BookingDetails bookingDetails) {
+        return bookingDetails.getRoomList().stream().map(Room::getRoomNumber).toList();
+    }
+
 }
@@ -0,0 +1,93 @@
+package com.akash.hotelbookingmanagement.service;
+
+import com.akash.hotelbookingmanagement.dto.BookingView;
+import com.akash.hotelbookingmanagement.repository.BookingDetailsRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Service class exporting every booking as newline delimited JSON. Bookings are read through a forward-only
+ * result stream and written in chunks of the JDBC fetch size; the rooms and customers of a chunk are resolved
+ * with one query each. Only booking views are selected, so the persistence context stays empty and memory
+ * use does not grow with the number of bookings.
+ */
+@Service
+@SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "Spring managed collaborators")
+public class BookingExportService {
+
+    private static final byte[] NEWLINE = {'\n'};
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private BookingDetailsService bookingDetailsService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${booking.export.fetch-size:500}")
+    private int fetchSize;
+
+    /**
+     * Writes every booking, in ID order, as one JSON object per line.
+     *
+     * @param outputStream The stream to write to, left open.
+     */
+    public void exportBookings(final OutputStream outputStream) {
+        ObjectWriter writer = objectMapper.writerFor(BookingView.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        readOnlyTransaction.executeWithoutResult(status -> {
+            Stream<BookingView> bookings = entityManager.createQuery(
+                            BookingDetailsRepository.SELECT_BOOKING_VIEW + " order by b.bookingId", BookingView.class)
+                    .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                    .setHint(AvailableHints.HINT_READ_ONLY, true)
+                    .getResultStream();
+            try {
+                Iterator<BookingView> rows = bookings.iterator();
+                List<BookingView> chunk = new ArrayList<>(fetchSize);
+                while (rows.hasNext()) {
+                    chunk.add(rows.next());
+                    if (chunk.size() == fetchSize || !rows.hasNext()) {
+                        writeChunk(chunk, writer, outputStream);
+                        chunk.clear();
+                    }
+                }
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            } finally {
+                bookings.close();
+            }
+        });
+    }
+
+    private void writeChunk(final List<BookingView> chunk, final ObjectWriter writer, final OutputStream outputStream) throws IOException {
+        for (BookingView booking : bookingDetailsService.withAssociatedIds(chunk)) {
+            writer.writeValue(outputStream, booking);
+            outputStream.write(NEWLINE);
+        }
+        outputStream.flush();
+    }
+}
@@ -0,0 +1,329 @@
+package com.akash.hotelbookingmanagement.service;
+
+import com.akash.hotelbookingmanagement.concurrency.RoomLockManager;
+import com.akash.hotelbookingmanagement.dto.BookingDetailsDto;
+import com.akash.hotelbookingmanagement.dto.BulkBookingResult;
+import com.akash.hotelbookingmanagement.exception.AdvancePaymentNotDoneException;
+import com.akash.hotelbookingmanagement.exception.ChildrenNotAccompaniedByAdultException;
+import com.akash.hotelbookingmanagement.exception.InvalidBookingDatesException;
+import com.akash.hotelbookingmanagement.exception.InvalidBookingRequestException;
+import com.akash.hotelbookingmanagement.exception.InvalidBulkBookingException;
+import com.akash.hotelbookingmanagement.exception.ResourceNotFoundException;
+import com.akash.hotelbookingmanagement.exception.RoomNotAvailableException;
+import com.akash.hotelbookingmanagement.model.BookingDetails;
+import com.akash.hotelbookingmanagement.model.Customer;
+import com.akash.hotelbookingmanagement.model.Room;
+import com.akash.hotelbookingmanagement.model.RoomNight;
+import com.akash.hotelbookingmanagement.model.RoomNightId;
+import com.akash.hotelbookingmanagement.repository.BookingDetailsRepository;
+import com.akash.hotelbookingmanagement.repository.CustomerRepository;
+import com.akash.hotelbookingmanagement.repository.RoomNightRepository;
+import com.akash.hotelbookingmanagement.repository.RoomRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Service class importing large batches of bookings. Each chunk of the batch is checked and written in one
+ * transaction: the referenced rooms and customers are loaded with one query each, the rooms must be open for
+ * sale and free in the occupancy index and not taken by a booking earlier in the batch, and the bookings, their join
+ * rows and room nights are inserted in JDBC batches. Invalid bookings are rejected without failing the rest
+ * of their chunk. A chunk whose insert fails, e.g. because a concurrent booking claimed one of its nights,
+ * is rolled back and retried one booking at a time.
+ */
+@Service
+public class BookingImportService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BookingImportService.class);
+
+    private static final String ROOMS_NOT_AVAILABLE = "All rooms selected are currently not available";
+
+    private static final String BOOKING_NOT_CHECKED = "Booking could not be checked";
+
+    @Autowired
+    private BookingDetailsRepository bookingDetailsRepository;
+
+    @Autowired
+    private RoomNightRepository roomNightRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private BookingDetailsService bookingDetailsService;
+
+    @Autowired
+    private RoomOccupancyIndex roomOccupancyIndex;
+
+    @Autowired
+    private RoomLockManager roomLockManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${booking.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${booking.bulk.max-bookings:10000}")
+    private int maxBookings;
+
+    /**
+     * Reads bookings sent as newline delimited JSON.
+     *
+     * @param ndjson The request body, one booking per line.
+     * @return The bookings, in the order they were sent.
+     */
+    public List<BookingDetailsDto> readBookings(final InputStream ndjson) {
+        try {
+            return objectMapper.readerFor(BookingDetailsDto.class).<BookingDetailsDto>readValues(ndjson).readAll();
+        } catch (JsonProcessingException exception) {
+            throw new InvalidBulkBookingException("Bookings must be sent as one JSON object per line: " + exception.getOriginalMessage());
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Applies the checks of a booking that need no database access: its fields, its dates and that it names
+     * at least one room and one customer.
+     *
+     * @param bookingData The booking to check.
+     * @throws InvalidBookingRequestException if a field is invalid or no room or customer is named.
+     * @throws InvalidBookingDatesException   if the stay does not end after it starts.
+     */
+    public void validateBooking(final BookingDetailsDto bookingData) {
+        Set<ConstraintViolation<BookingDetailsDto>> violations = validator.validate(bookingData);
+        if (!violations.isEmpty()) {
+            throw new InvalidBookingRequestException(violations.stream().map(ConstraintViolation::getMessage).sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        if (!bookingData.getEndDate().isAfter(bookingData.getStartDate())) {
+            throw new InvalidBookingDatesException("End date must be after start date");
+        }
+        if (bookingData.getRoomNumberList() == null || bookingData.getRoomNumberList().isEmpty()
+                || bookingData.getCustomerIdList() == null || bookingData.getCustomerIdList().isEmpty()) {
+            throw new InvalidBookingRequestException("At least one room and one customer must be specified");
+        }
+    }
+
+    /**
+     * Creates a batch of bookings. Bookings are checked in order, so of two bookings of the same room night
+     * the first one wins.
+     *
+     * @param bookings The bookings to create.
+     * @return The outcome of every booking, in the order of the batch.
+     */
+    public List<BulkBookingResult> importBookings(final List<BookingDetailsDto> bookings) {
+        return importBookings(bookings, results -> { });
+    }
+
+    /**
+     * Creates a batch of bookings, handing the outcomes over as they are decided. The outcomes of a chunk are
+     * handed over inside the chunk's transaction, so whatever the caller writes with them commits or rolls back
+     * with the bookings.
+     *
+     * @param bookings    The bookings to create.
+     * @param onCompleted Receives the outcomes of each chunk, or of a single booking rejected on its own.
+     * @return The outcome of every booking, in the order of the batch.
+     */
+    public List<BulkBookingResult> importBookings(final List<BookingDetailsDto> bookings,
+                                                  final Consumer<List<BulkBookingResult>> onCompleted) {
+        if (bookings.size() > maxBookings) {
+            throw new InvalidBulkBookingException("At most " + maxBookings + " bookings can be imported at once");
+        }
+        BulkBookingResult[] results = new BulkBookingResult[bookings.size()];
+        for (int from = 0; from < bookings.size(); from += chunkSize) {
+            List<Integer> chunk = IntStream.range(from, Math.min(from + chunkSize, bookings.size())).boxed().toList();
+            try {
+                importChunk(chunk, bookings, onCompleted).forEach(result -> results[result.getIndex()] = result);
+            } catch (DataIntegrityViolationException | RoomNotAvailableException exception) {
+                LOGGER.debug("Bulk import of bookings {} to {} failed, importing them one by one", from, from + chunk.size() - 1, exception);
+                for (Integer index : chunk) {
+                    try {
+                        importChunk(List.of(index), bookings, onCompleted).forEach(result -> results[result.getIndex()] = result);
+                    } catch (DataIntegrityViolationException itemException) {
+                        results[index] = BulkBookingResult.rejected(index, ROOMS_NOT_AVAILABLE);
+                        onCompleted.accept(List.of(results[index]));
+                    } catch (RoomNotAvailableException itemException) {
+                        results[index] = BulkBookingResult.rejected(index, itemException.getMessage());
+                        onCompleted.accept(List.of(results[index]));
+                    }
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Checks and writes one chunk of the batch in a transaction of its own.
+     *
+     * @param indexes     The positions of the chunk's bookings in the batch.
+     * @param bookings    The whole batch.
+     * @param onCompleted Receives the outcomes of the chunk before it commits.
+     * @return The outcome of every booking of the chunk.
+     */
+    private List<BulkBookingResult> importChunk(final List<Integer> indexes, final List<BookingDetailsDto> bookings,
+                                                final Consumer<List<BulkBookingResult>> onCompleted) {
+        return transactionTemplate.execute(status -> {
+            List<BookingDetailsDto> chunk = indexes.stream().map(bookings::get).toList();
+            Map<Integer, Room> rooms = new HashMap<>();
+            roomRepository.findAllById(distinctIds(chunk, BookingDetailsDto::getRoomNumberList))
+                    .forEach(room -> rooms.put(room.getRoomNumber(), room));
+            Map<Integer, Customer> customers = new HashMap<>();
+            customerRepository.findAllById(distinctIds(chunk, BookingDetailsDto::getCustomerIdList))
+                    .forEach(customer -> customers.put(customer.getCustomerId(), customer));
+            roomLockManager.lockUntilTransactionCompletes(rooms.keySet());
+
+            List<BulkBookingResult> results = new ArrayList<>(indexes.size());
+            List<Integer> acceptedIndexes = new ArrayList<>();
+            List<BookingDetails> accepted = new ArrayList<>();
+            Set<RoomNightId> claimedNights = new HashSet<>();
+            for (Integer index : indexes) {
+                try {
+                    accepted.add(toBooking(bookings.get(index), rooms, customers, claimedNights));
+                    acceptedIndexes.add(index);
+                } catch (InvalidBulkBookingException | InvalidBookingRequestException | InvalidBookingDatesException
+                         | ResourceNotFoundException | RoomNotAvailableException | ChildrenNotAccompaniedByAdultException
+                         | AdvancePaymentNotDoneException exception) {
+                    results.add(BulkBookingResult.rejected(index, exception.getMessage()));
+                } catch (RuntimeException exception) {
+                    //nothing is written while checking, so an unexpected failure only concerns this booking
+                    LOGGER.warn("Booking {} of the batch could not be checked", index, exception);
+                    results.add(BulkBookingResult.rejected(index, BOOKING_NOT_CHECKED));
+                }
+            }
+
+            bookingDetailsRepository.saveAll(accepted);
+            roomNightRepository.saveAllAndFlush(accepted.stream().flatMap(booking -> toRoomNights(booking).stream()).toList());
+            for (int i = 0; i < accepted.size(); i++) {
+                BookingDetails booking = accepted.get(i);
+                results.add(BulkBookingResult.created(acceptedIndexes.get(i), booking.getBookingId()));
+                roomOccupancyIndex.book(booking.getBookingId(), roomNumbersOf(booking), booking.getStartDate(), booking.getEndDate());
+            }
+            onCompleted.accept(results);
+            //the chunk is written, keep the persistence context from growing with the batch
+            entityManager.clear();
+            return results;
+        });
+    }
+
+    /**
+     * Builds a booking of the batch, applying the same rules as a single booking.
+     *
+     * @param bookingData   The booking to check.
+     * @param rooms         The rooms referenced by the chunk, by room number.
+     * @param customers     The customers referenced by the chunk, by ID.
+     * @param claimedNights The room nights sold to earlier bookings of the chunk; extended with this booking's nights.
+     * @return The booking, ready to be saved.
+     */
+    private BookingDetails toBooking(final BookingDetailsDto bookingData, final Map<Integer, Room> rooms,
+                                     final Map<Integer, Customer> customers, final Set<RoomNightId> claimedNights) {
+        validateBooking(bookingData);
+        if (bookingData.getHoldId() != null) {
+            throw new InvalidBulkBookingException("Room holds cannot be confirmed by a bulk import");
+        }
+
+        List<Integer> roomNumbers = bookingData.getRoomNumberList().stream().distinct().toList();
+        List<Integer> missingRoomNumbers = roomNumbers.stream().filter(roomNumber -> !rooms.containsKey(roomNumber)).toList();
+        if (!missingRoomNumbers.isEmpty()) {
+            throw new ResourceNotFoundException("Room details not found with room numbers: " + missingRoomNumbers);
+        }
+        List<Integer> customerIds = bookingData.getCustomerIdList().stream().distinct().toList();
+        List<Integer> missingCustomerIds = customerIds.stream().filter(customerId -> !customers.containsKey(customerId)).toList();
+        if (!missingCustomerIds.isEmpty()) {
+            throw new ResourceNotFoundException("Customer details not found with ids: " + missingCustomerIds);
+        }
+
+        BookingDetails bookingDetails = BookingDetails.builder()
+                .duration(bookingData.getDuration())
+                .startDate(bookingData.getStartDate())
+                .endDate(bookingData.getEndDate())
+                .modeOfBooking(bookingData.getModeOfBooking())
+                .modeOfPayment(bookingData.getModeOfPayment())
+                .paidAmount(bookingData.getPaidAmount())
+                .roomList(roomNumbers.stream().map(rooms::get).collect(Collectors.toList()))
+                .customerList(customerIds.stream().map(customers::get).collect(Collectors.toList()))
+                .build();
+
+        //check the rooms are open for sale, then against the committed bookings and holds, then against the
+        //earlier bookings of the chunk
+        List<RoomNightId> nights = toRoomNights(bookingDetails).stream()
+                .map(roomNight -> new RoomNightId(roomNight.getRoomNumber(), roomNight.getNight())).toList();
+        if (!bookingDetails.getRoomList().stream().allMatch(room -> Boolean.TRUE.equals(room.getAvailability()))
+                || !roomOccupancyIndex.isFree(roomNumbers, bookingDetails.getStartDate(), bookingDetails.getEndDate(), null)
+                || nights.stream().anyMatch(claimedNights::contains)) {
+            throw new RoomNotAvailableException(ROOMS_NOT_AVAILABLE);
+        }
+        if (!bookingDetailsService.isAccompaniedByAdult(bookingDetails)) {
+            throw new ChildrenNotAccompaniedByAdultException("At least one adult must be present with children");
+        }
+        bookingDetails.setBillAmount(bookingDetails.getRoomList().stream().mapToInt(Room::getPricePerDay).sum());
+        if (!bookingDetailsService.isAdvancePaymentDone(bookingDetails)) {
+            throw new AdvancePaymentNotDoneException("For number of customers more than 3, at least 50% payment must be done");
+        }
+        claimedNights.addAll(nights);
+        return bookingDetails;
+    }
+
+    /**
+     * Collects the distinct room numbers or customer IDs referenced by a chunk.
+     *
+     * @param chunk The bookings of the chunk.
+     * @param ids   Extracts the IDs of a booking.
+     * @return The distinct IDs.
+     */
+    private static Set<Integer> distinctIds(final Collection<BookingDetailsDto> chunk, final Function<BookingDetailsDto, List<Integer>> ids) {
+        return chunk.stream().map(ids).filter(Objects::nonNull).flatMap(List::stream).filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private static List<RoomNight> toRoomNights(final BookingDetails bookingDetails) {
+        return bookingDetails.getRoomList().stream()
+                .flatMap(room -> bookingDetails.getStartDate().datesUntil(bookingDetails.getEndDate())
+                        .map(night -> new RoomNight(room.getRoomNumber(), night, bookingDetails.getBookingId())))
+                .toList();
+    }
+
+    private static List<Integer> roomNumbersOf(final BookingDetails bookingDetails) {
+        return bookingDetails.getRoomList().stream().map(Room::getRoomNumber).toList();
+    }
+}
@@ -0,0 +1,461 @@
+package com.akash.hotelbookingmanagement.service;
+
+import com.akash.hotelbookingmanagement.dto.BookingDetailsDto;
+import com.akash.hotelbookingmanagement.dto.BulkBookingResult;
+import com.akash.hotelbookingmanagement.exception.AdvancePaymentNotDoneException;
+import com.akash.hotelbookingmanagement.exception.ChildrenNotAccompaniedByAdultException;
+import com.akash.hotelbookingmanagement.exception.InvalidBookingDatesException;
+import com.akash.hotelbookingmanagement.exception.InvalidBookingRequestException;
+import com.akash.hotelbookingmanagement.exception.ResourceNotFoundException;
+import com.akash.hotelbookingmanagement.exception.RoomNotAvailableException;
+import com.akash.hotelbookingmanagement.model.BookingDetails;
+import com.akash.hotelbookingmanagement.model.BookingTicket;
+import com.akash.hotelbookingmanagement.model.enums.BookingTicketStatus;
+import com.akash.hotelbookingmanagement.repository.BookingTicketRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PessimisticLockException;
+import jakarta.persistence.QueryTimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service class creating bookings asynchronously. A submitted booking is checked for what can be checked
+ * without the database, staged as a pending ticket in booking_ticket and queued in memory; a pool of workers
+ * drains the queue in batches and creates the bookings through the bulk import, recording each outcome on its
+ * ticket in the same transaction. The queue is bounded: tickets that do not fit, and tickets left pending by
+ * a restart or a failed batch, wait in the table and are queued again as the queue drains. A batch failing
+ * unexpectedly is retried one ticket at a time, and a ticket that still fails on its own is rejected, so that
+ * it cannot hold up the tickets queued behind it. Transient failures, such as lock conflicts, timeouts or a
+ * lost connection, never reject a ticket: it stays pending and is retried from the table.
+ */
+@Service
+public class BookingTicketService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BookingTicketService.class);
+
+    private static final long POLL_MILLIS = 1000;
+
+    private static final String TICKET_NOT_PROCESSED = "Booking could not be processed";
+
+    @Autowired
+    private BookingTicketRepository bookingTicketRepository;
+
+    @Autowired
+    private BookingImportService bookingImportService;
+
+    @Autowired
+    private BookingDetailsService bookingDetailsService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${booking.tickets.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${booking.tickets.workers:2}")
+    private int workers;
+
+    @Value("${booking.tickets.batch-size:100}")
+    private int batchSize;
+
+    @Value("${booking.tickets.sse-timeout-ms:60000}")
+    private long sseTimeoutMillis;
+
+    private BlockingQueue<String> queue;
+
+    /**
+     * IDs of the tickets in the queue or being processed, so that a ticket is never queued twice.
+     */
+    private final Set<String> queuedTicketIds = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Whether pending tickets may be waiting in the table only. Set on startup, so that the tickets left
+     * pending by the last run are picked up.
+     */
+    private final AtomicBoolean pendingInTable = new AtomicBoolean(true);
+
+    private final Map<String, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    private ExecutorService workerPool;
+
+    /**
+     * Creates the queue and publishes its depth as the booking.tickets.queued gauge.
+     */
+    @PostConstruct
+    public void createQueue() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        Gauge.builder("booking.tickets.queued", queue, Collection::size)
+                .description("Booking tickets queued in memory for the workers")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts the workers once the application is ready to serve.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startWorkers() {
+        AtomicInteger workerNumber = new AtomicInteger();
+        workerPool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "booking-ticket-worker-" + workerNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workers; i++) {
+            workerPool.execute(this::work);
+        }
+        LOGGER.info("Started {} booking ticket workers", workers);
+    }
+
+    /**
+     * Stops the workers; the tickets they did not finish stay pending in the table.
+     */
+    @PreDestroy
+    public void stopWorkers() {
+        if (workerPool != null) {
+            workerPool.shutdownNow();
+        }
+    }
+
+    /**
+     * Stages a booking for asynchronous creation.
+     *
+     * @param bookingData The booking to create.
+     * @return The pending ticket.
+     */
+    @Transactional
+    public BookingTicket submit(final BookingDetailsDto bookingData) {
+        bookingImportService.validateBooking(bookingData);
+        String request;
+        try {
+            request = objectMapper.writeValueAsString(bookingData);
+        } catch (JsonProcessingException exception) {
+            throw new InvalidBookingRequestException("Booking cannot be written as JSON: " + exception.getOriginalMessage());
+        }
+        if (request.length() > BookingTicket.MAX_REQUEST_LENGTH) {
+            throw new InvalidBookingRequestException("Booking is too large to be submitted asynchronously");
+        }
+        BookingTicket ticket = bookingTicketRepository.save(BookingTicket.builder()
+                .request(request)
+                .status(BookingTicketStatus.PENDING)
+                .submittedAt(LocalDateTime.now())
+                .build());
+        String ticketId = ticket.getTicketId();
+        afterCommit(() -> enqueue(ticketId));
+        return ticket;
+    }
+
+    /**
+     * Retrieves a ticket.
+     *
+     * @param ticketId The ID of the ticket.
+     * @return The ticket.
+     */
+    public BookingTicket getTicket(final String ticketId) {
+        return bookingTicketRepository.findById(ticketId)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking ticket not found with id: " + ticketId));
+    }
+
+    /**
+     * Subscribes to the outcome of a ticket. The emitter sends the ticket once it is created or rejected, at
+     * once if it already is, and then completes.
+     *
+     * @param ticketId The ID of the ticket.
+     * @return The emitter of the ticket's outcome.
+     */
+    public SseEmitter subscribe(final String ticketId) {
+        SseEmitter emitter = new SseEmitter(sseTimeoutMillis);
+        List<SseEmitter> emitters = subscribers.computeIfAbsent(ticketId, id -> new CopyOnWriteArrayList<>());
+        emitters.add(emitter);
+        emitter.onCompletion(() -> unsubscribe(ticketId, emitters, emitter));
+        emitter.onTimeout(() -> unsubscribe(ticketId, emitters, emitter));
+
+        //read the ticket after subscribing, so an outcome committed in between is sent by one side or the other
+        BookingTicket ticket;
+        try {
+            ticket = getTicket(ticketId);
+        } catch (ResourceNotFoundException exception) {
+            unsubscribe(ticketId, emitters, emitter);
+            throw exception;
+        }
+        if (ticket.getStatus() != BookingTicketStatus.PENDING && emitters.remove(emitter)) {
+            send(emitter, ticket);
+        }
+        return emitter;
+    }
+
+    /**
+     * Creates the bookings of the next batch of queued tickets, waiting for one to be queued if there is none.
+     *
+     * @param waitMillis How long to wait for a ticket.
+     * @return The number of tickets taken from the queue.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public int processNextBatch(final long waitMillis) throws InterruptedException {
+        String first = queue.poll(waitMillis, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return 0;
+        }
+        List<String> ticketIds = new ArrayList<>(batchSize);
+        ticketIds.add(first);
+        queue.drainTo(ticketIds, batchSize - 1);
+        try {
+            process(ticketIds);
+        } catch (RuntimeException exception) {
+            //the tickets of the batch that were not completed are still pending, retry them from the table
+            LOGGER.error(String.format("Failed to process booking tickets %s", ticketIds), exception);
+            pendingInTable.set(true);
+        } finally {
+            ticketIds.forEach(queuedTicketIds::remove);
+        }
+        return ticketIds.size();
+    }
+
+    /**
+     * Queues the pending tickets waiting in the table, oldest first, while the queue has room.
+     */
+    @Scheduled(fixedDelayString = "${booking.tickets.requeue-ms:1000}")
+    public void requeuePendingTickets() {
+        int capacity = queue.remainingCapacity();
+        if (capacity == 0 || !pendingInTable.compareAndSet(true, false)) {
+            return;
+        }
+        try {
+            //the oldest pending tickets include the ones already queued
+            int limit = capacity + queuedTicketIds.size();
+            List<String> ticketIds = bookingTicketRepository.findTicketIdsByStatus(BookingTicketStatus.PENDING, Limit.of(limit));
+            ticketIds.forEach(this::enqueue);
+            if (ticketIds.size() == limit) {
+                pendingInTable.set(true);
+            }
+            LOGGER.debug("Queued {} pending booking tickets from the table", ticketIds.size());
+        } catch (RuntimeException exception) {
+            pendingInTable.set(true);
+            throw exception;
+        }
+    }
+
+    private void work() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                processNextBatch(POLL_MILLIS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void enqueue(final String ticketId) {
+        if (queuedTicketIds.add(ticketId) && !queue.offer(ticketId)) {
+            queuedTicketIds.remove(ticketId);
+            pendingInTable.set(true);
+        }
+    }
+
+    /**
+     * Creates the bookings of a batch of tickets. If the batch fails on a transient failure, its tickets stay
+     * pending; otherwise its tickets still pending are retried one at a time and a ticket failing on its own
+     * with a failure that is not transient is rejected.
+     *
+     * @param ticketIds The IDs of the tickets.
+     */
+    private void process(final List<String> ticketIds) {
+        try {
+            processTogether(ticketIds);
+        } catch (RuntimeException exception) {
+            if (isTransient(exception)) {
+                leavePending(ticketIds, exception);
+            } else if (ticketIds.size() == 1) {
+                reject(ticketIds.get(0), exception);
+            } else {
+                LOGGER.warn(String.format("Failed to process booking tickets %s, processing them one by one", ticketIds), exception);
+                for (String ticketId : ticketIds) {
+                    try {
+                        processTogether(List.of(ticketId));
+                    } catch (RuntimeException ticketException) {
+                        if (isTransient(ticketException)) {
+                            leavePending(List.of(ticketId), ticketException);
+                        } else {
+                            reject(ticketId, ticketException);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates the bookings of the tickets still pending among the given ones. Tickets confirming a room hold
+     * are created one at a time, as the bulk import does not confirm holds; the others are imported together.
+     *
+     * @param ticketIds The IDs of the tickets.
+     */
+    private void processTogether(final List<String> ticketIds) {
+        List<BookingTicket> tickets = bookingTicketRepository.findAllByTicketIdInAndStatusOrderBySubmittedAt(
+                ticketIds, BookingTicketStatus.PENDING);
+        List<String> importedTicketIds = new ArrayList<>();
+        List<BookingDetailsDto> imported = new ArrayList<>();
+        for (BookingTicket ticket : tickets) {
+            BookingDetailsDto bookingData = read(ticket.getRequest());
+            if (bookingData.getHoldId() != null) {
+                confirmHold(ticket.getTicketId(), bookingData);
+            } else {
+                importedTicketIds.add(ticket.getTicketId());
+                imported.add(bookingData);
+            }
+        }
+        if (!imported.isEmpty()) {
+            bookingImportService.importBookings(imported, results -> results.forEach(result ->
+                    complete(importedTicketIds.get(result.getIndex()), result)));
+        }
+        LOGGER.debug("Processed {} booking tickets", tickets.size());
+    }
+
+    private void confirmHold(final String ticketId, final BookingDetailsDto bookingData) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                BookingDetails booking = bookingDetailsService.createBooking(bookingData);
+                complete(ticketId, BulkBookingResult.created(0, booking.getBookingId()));
+            });
+        } catch (InvalidBookingDatesException | ResourceNotFoundException | RoomNotAvailableException
+                 | ChildrenNotAccompaniedByAdultException | AdvancePaymentNotDoneException exception) {
+            complete(ticketId, BulkBookingResult.rejected(0, exception.getMessage()));
+        }
+    }
+
+    private void leavePending(final List<String> ticketIds, final RuntimeException exception) {
+        LOGGER.warn(String.format("Transient failure processing booking tickets %s, retrying them from the table", ticketIds), exception);
+        pendingInTable.set(true);
+    }
+
+    private void reject(final String ticketId, final RuntimeException exception) {
+        LOGGER.error(String.format("Rejecting booking ticket %s that failed on its own", ticketId), exception);
+        complete(ticketId, BulkBookingResult.rejected(0, TICKET_NOT_PROCESSED));
+    }
+
+    /**
+     * Records the outcome of a ticket, in the transaction creating its booking if there is one, and notifies
+     * the ticket's subscribers once it commits.
+     */
+    private void complete(final String ticketId, final BulkBookingResult result) {
+        String message = result.getMessage() == null || result.getMessage().length() <= BookingTicket.MAX_MESSAGE_LENGTH
+                ? result.getMessage() : result.getMessage().substring(0, BookingTicket.MAX_MESSAGE_LENGTH);
+        bookingTicketRepository.complete(ticketId, BookingTicketStatus.valueOf(result.getStatus().name()),
+                result.getBookingId(), message, LocalDateTime.now());
+        afterCommit(() -> notifySubscribers(ticketId));
+    }
+
+    private void notifySubscribers(final String ticketId) {
+        List<SseEmitter> emitters = subscribers.remove(ticketId);
+        if (emitters == null || emitters.isEmpty()) {
+            return;
+        }
+        bookingTicketRepository.findById(ticketId).ifPresent(ticket -> emitters.forEach(emitter -> {
+            if (emitters.remove(emitter)) {
+                send(emitter, ticket);
+            }
+        }));
+    }
+
+    private void unsubscribe(final String ticketId, final List<SseEmitter> emitters, final SseEmitter emitter) {
+        emitters.remove(emitter);
+        subscribers.computeIfPresent(ticketId, (id, current) -> current.isEmpty() ? null : current);
+    }
+
+    private static void send(final SseEmitter emitter, final BookingTicket ticket) {
+        try {
+            emitter.send(SseEmitter.event().name("ticket").data(ticket));
+            emitter.complete();
+        } catch (IOException exception) {
+            LOGGER.debug("Subscriber of booking ticket {} went away", ticket.getTicketId(), exception);
+        }
+    }
+
+    /**
+     * Tells whether a failure may not happen again on a later attempt: a lock conflict or timeout, or the
+     * database being unreachable.
+     */
+    private static boolean isTransient(final Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException || cause instanceof RecoverableDataAccessException
+                    || cause instanceof DataAccessResourceFailureException || cause instanceof CannotCreateTransactionException
+                    || cause instanceof TransactionTimedOutException || cause instanceof OptimisticLockException
+                    || cause instanceof PessimisticLockException || cause instanceof LockTimeoutException
+                    || cause instanceof QueryTimeoutException
+                    || cause instanceof SQLTransientException || cause instanceof SQLRecoverableException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private BookingDetailsDto read(final String request) {
+        try {
+            return objectMapper.readValue(request, BookingDetailsDto.class);
+        } catch (JsonProcessingException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static void afterCommit(final Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
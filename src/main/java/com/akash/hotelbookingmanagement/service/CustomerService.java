@@ -1,18 +1,27 @@
 package com.akash.hotelbookingmanagement.service;
 
+import com.akash.hotelbookingmanagement.dto.CustomerView;
 import com.akash.hotelbookingmanagement.exception.ResourceNotFoundException;
 import com.akash.hotelbookingmanagement.model.Customer;
 import com.akash.hotelbookingmanagement.repository.CustomerRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
  * Service class for managing customers.
  */
 @Service
+@Timed(value = "booking.service.calls", histogram = true)
 public class CustomerService {
 
     @Autowired
@@ -30,12 +39,25 @@ public class CustomerService {
     }
 
     /**
-     * Retrieves all customers.
+     * Retrieves a page of customer views in ID order.
      *
-     * @return Iterable of customers.
+     * @param after The ID the page starts after, or null for the first page.
+     * @param limit The maximum number of customers to return.
+     * @return The customer views of the page.
      */
-    public Iterable<Customer> getAllCustomers() {
-        return customerRepository.findAll();
+    public List<CustomerView> getAllCustomers(final Integer after, final int limit) {
+        return customerRepository.findViewsByCustomerIdGreaterThanOrderByCustomerId(Objects.requireNonNullElse(after, 0), Limit.of(limit));
+    }
+
+    /**
+     * Retrieves the view of a customer by their ID.
+     *
+     * @param id The ID of the customer.
+     * @return The customer view.
+     */
+    public CustomerView getCustomerView(final Integer id) {
+        return customerRepository.findViewByCustomerId(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Customer details not found with id: " + id));
     }
 
     /**
@@ -49,6 +71,26 @@ public class CustomerService {
         return customerOptional.orElseThrow(() -> new ResourceNotFoundException("Customer details not found with id: " + id));
     }
 
+    /**
+     * Retrieves customers by their IDs from the second-level cache, querying the others with a single query.
+     *
+     * @param ids The IDs of the customers, in the order they should be returned.
+     * @return The customers, one per requested ID.
+     */
+    public List<Customer> getCustomersByIds(final List<Integer> ids) {
+        Map<Integer, Customer> customersById = new HashMap<>();
+        customerRepository.multiLoadById(ids.stream().distinct().toList())
+                .forEach(customer -> customersById.put(customer.getCustomerId(), customer));
+
+        List<Integer> missingIds = ids.stream().filter(id -> !customersById.containsKey(id)).distinct().toList();
+        if (!missingIds.isEmpty()) {
+            throw new ResourceNotFoundException("Customer details not found with ids: " + missingIds);
+        }
+        List<Customer> customers = new ArrayList<>(ids.size());
+        ids.forEach(id -> customers.add(customersById.get(id)));
+        return customers;
+    }
+
     /**
      * Updates a customer.
      *
@@ -0,0 +1,15 @@
+package com.akash.hotelbookingmanagement.service;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.util.Set;
+
+/**
+ * Published by {@link RoomService} when a room is created, updated or deleted.
+ *
+ * @param roomNumber The room number.
+ * @param types      The types the room had before and has after the change.
+ */
+@SuppressFBWarnings(value = {"EI_EXPOSE_REP", "EI_EXPOSE_REP2"})
+public record RoomChangedEvent(Integer roomNumber, Set<String> types) {
+}
@@ -0,0 +1,236 @@
+package com.akash.hotelbookingmanagement.service;
+
+import com.akash.hotelbookingmanagement.concurrency.RoomLockManager;
+import com.akash.hotelbookingmanagement.concurrency.TimingWheel;
+import com.akash.hotelbookingmanagement.dto.RoomHoldDto;
+import com.akash.hotelbookingmanagement.exception.InvalidBookingDatesException;
+import com.akash.hotelbookingmanagement.exception.InvalidRoomHoldException;
+import com.akash.hotelbookingmanagement.exception.ResourceNotFoundException;
+import com.akash.hotelbookingmanagement.exception.RoomNotAvailableException;
+import com.akash.hotelbookingmanagement.model.Room;
+import com.akash.hotelbookingmanagement.model.RoomHold;
+import com.akash.hotelbookingmanagement.model.RoomNight;
+import com.akash.hotelbookingmanagement.repository.RoomHoldRepository;
+import com.akash.hotelbookingmanagement.repository.RoomNightRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Service class for managing temporary room holds. A hold reserves the nights of its rooms like a booking
+ * does, until it is confirmed by a booking, released, or expires. Expiries are tracked by an in-memory
+ * timing wheel rebuilt from room_hold on startup, so no query ever scans for expired holds.
+ */
+@Service
+public class RoomHoldService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RoomHoldService.class);
+
+    private static final int WHEEL_SIZE = 64;
+    private static final int WHEEL_LEVELS = 4;
+
+    @Autowired
+    private RoomHoldRepository roomHoldRepository;
+
+    @Autowired
+    private RoomNightRepository roomNightRepository;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private RoomOccupancyIndex roomOccupancyIndex;
+
+    @Autowired
+    private RoomLockManager roomLockManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${booking.holds.default-minutes:15}")
+    private int defaultHoldMinutes;
+
+    @Value("${booking.holds.max-minutes:60}")
+    private int maxHoldMinutes;
+
+    @Value("${booking.holds.tick-ms:1000}")
+    private long tickMillis;
+
+    @Value("${booking.holds.release-batch-size:100}")
+    private int releaseBatchSize;
+
+    private TimingWheel<Integer> expiries;
+
+    /**
+     * Reloads the holds that survived a restart into the occupancy index and the expiry wheel.
+     * Holds that expired while the application was down are released on the first tick.
+     */
+    @PostConstruct
+    public void loadHolds() {
+        expiries = new TimingWheel<>(tickMillis, WHEEL_SIZE, WHEEL_LEVELS, System.currentTimeMillis());
+        List<RoomHold> roomHolds = roomHoldRepository.findAll();
+        roomHolds.forEach(roomHold -> {
+            roomOccupancyIndex.hold(roomHold.getHoldId(), roomHold.getRoomNumberList(), roomHold.getStartDate(), roomHold.getEndDate());
+            expiries.schedule(roomHold.getHoldId(), toEpochMillis(roomHold.getExpiresAt()));
+        });
+        LOGGER.info("Loaded {} room holds", roomHolds.size());
+    }
+
+    /**
+     * Holds rooms for every night of a stay.
+     *
+     * @param roomHoldData The rooms, stay and duration of the hold.
+     * @return The created hold.
+     */
+    @Transactional
+    public RoomHold createHold(@Valid final RoomHoldDto roomHoldData) {
+        if (roomHoldData.getStartDate() == null || roomHoldData.getEndDate() == null
+                || !roomHoldData.getEndDate().isAfter(roomHoldData.getStartDate())) {
+            throw new InvalidBookingDatesException("End date must be after start date");
+        }
+        int holdMinutes = roomHoldData.getHoldMinutes() == null ? defaultHoldMinutes : roomHoldData.getHoldMinutes();
+        if (holdMinutes < 1 || holdMinutes > maxHoldMinutes) {
+            throw new InvalidRoomHoldException("Rooms can be held for 1 to " + maxHoldMinutes + " minutes");
+        }
+        if (roomHoldData.getRoomNumberList() == null || roomHoldData.getRoomNumberList().isEmpty()) {
+            throw new InvalidRoomHoldException("At least one room must be held");
+        }
+
+        List<Integer> roomNumbers = roomHoldData.getRoomNumberList().stream().distinct().toList();
+        List<Room> rooms = roomService.getRoomsByRoomNumbers(roomNumbers);
+        roomLockManager.lockUntilTransactionCompletes(roomNumbers);
+        if (!roomService.checkRoomsAvailability(rooms, roomHoldData.getStartDate(), roomHoldData.getEndDate())) {
+            throw new RoomNotAvailableException("All rooms selected are currently not available");
+        }
+
+        RoomHold roomHold = roomHoldRepository.save(RoomHold.builder()
+                .roomNumberList(roomNumbers)
+                .startDate(roomHoldData.getStartDate())
+                .endDate(roomHoldData.getEndDate())
+                .expiresAt(LocalDateTime.now().plusMinutes(holdMinutes))
+                .build());
+
+        //reserve every room for every night of the stay
+        try {
+            roomNightRepository.saveAllAndFlush(toRoomNights(roomHold));
+        } catch (DataIntegrityViolationException exception) {
+            throw new RoomNotAvailableException("All rooms selected are currently not available");
+        }
+        roomOccupancyIndex.hold(roomHold.getHoldId(), roomNumbers, roomHold.getStartDate(), roomHold.getEndDate());
+        long expiresAtMillis = toEpochMillis(roomHold.getExpiresAt());
+        afterCommit(() -> expiries.schedule(roomHold.getHoldId(), expiresAtMillis));
+        return roomHold;
+    }
+
+    /**
+     * Retrieves a hold that has not expired yet.
+     *
+     * @param holdId The ID of the hold.
+     * @return The hold.
+     */
+    public RoomHold getRoomHold(final Integer holdId) {
+        return roomHoldRepository.findById(holdId)
+                .filter(roomHold -> roomHold.getExpiresAt().isAfter(LocalDateTime.now()))
+                .orElseThrow(() -> new ResourceNotFoundException("Room hold not found with id: " + holdId));
+    }
+
+    /**
+     * Hands the nights of a hold over to the booking confirming it, as part of the booking's transaction.
+     * Fails if the hold expired in the meantime, which rolls the booking back.
+     *
+     * @param roomHold The hold being confirmed.
+     */
+    @Transactional
+    public void consumeHold(final RoomHold roomHold) {
+        Integer holdId = roomHold.getHoldId();
+        roomNightRepository.deleteAllByHoldIdIn(List.of(holdId));
+        if (roomHoldRepository.deleteUnexpired(holdId, LocalDateTime.now()) == 0) {
+            throw new ResourceNotFoundException("Room hold not found with id: " + holdId);
+        }
+        roomOccupancyIndex.releaseHolds(List.of(holdId));
+        afterCommit(() -> expiries.cancel(holdId));
+    }
+
+    /**
+     * Releases a hold before it expires.
+     *
+     * @param holdId The ID of the hold.
+     */
+    @Transactional
+    public void releaseHold(final Integer holdId) {
+        roomNightRepository.deleteAllByHoldIdIn(List.of(holdId));
+        if (roomHoldRepository.deleteAllByHoldIdIn(List.of(holdId)) == 0) {
+            throw new ResourceNotFoundException("Room hold not found with id: " + holdId);
+        }
+        roomOccupancyIndex.releaseHolds(List.of(holdId));
+        afterCommit(() -> expiries.cancel(holdId));
+    }
+
+    /**
+     * Advances the expiry wheel and releases the holds that expired since the last tick, one transaction per batch.
+     * A batch that fails is retried on the next tick.
+     */
+    @Scheduled(fixedDelayString = "${booking.holds.tick-ms:1000}")
+    public void releaseExpiredHolds() {
+        List<Integer> expiredHoldIds = expiries.advance(System.currentTimeMillis());
+        for (int from = 0; from < expiredHoldIds.size(); from += releaseBatchSize) {
+            List<Integer> batch = expiredHoldIds.subList(from, Math.min(from + releaseBatchSize, expiredHoldIds.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    roomNightRepository.deleteAllByHoldIdIn(batch);
+                    roomHoldRepository.deleteAllByHoldIdIn(batch);
+                    roomOccupancyIndex.releaseHolds(batch);
+                });
+                LOGGER.debug("Released {} expired room holds", batch.size());
+            } catch (RuntimeException exception) {
+                LOGGER.error(String.format("Failed to release expired room holds %s", batch), exception);
+                long retryAtMillis = System.currentTimeMillis() + tickMillis;
+                batch.forEach(holdId -> expiries.schedule(holdId, retryAtMillis));
+            }
+        }
+    }
+
+    /**
+     * Builds one inventory row per held room per night of the stay.
+     *
+     * @param roomHold the saved hold
+     * @return The room nights reserved by the hold.
+     */
+    private List<RoomNight> toRoomNights(final RoomHold roomHold) {
+        return roomHold.getRoomNumberList().stream()
+                .flatMap(roomNumber -> roomHold.getStartDate().datesUntil(roomHold.getEndDate())
+                        .map(night -> new RoomNight(roomNumber, night, null, roomHold.getHoldId())))
+                .toList();
+    }
+
+    private static long toEpochMillis(final LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static void afterCommit(final Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
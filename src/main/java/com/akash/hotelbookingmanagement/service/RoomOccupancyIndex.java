@@ -0,0 +1,243 @@
+package com.akash.hotelbookingmanagement.service;
+
+import com.akash.hotelbookingmanagement.dto.BookedRoomStay;
+import com.akash.hotelbookingmanagement.repository.BookingDetailsRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of the booked and held [startDate, endDate) stays of every room, used to answer overlap checks
+ * without a database round trip. The room_night primary key remains the final guard against double booking.
+ */
+@Component
+public class RoomOccupancyIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RoomOccupancyIndex.class);
+
+    private final BookingDetailsRepository bookingDetailsRepository;
+
+    private final Map<Integer, RoomTimeline> timelines = new ConcurrentHashMap<>();
+
+    private final Map<StayOwner, BookedStay> stays = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RoomOccupancyIndex(final BookingDetailsRepository bookingDetailsRepository) {
+        this.bookingDetailsRepository = bookingDetailsRepository;
+    }
+
+    /**
+     * Loads every stay that has not ended yet from booking_details and booked_room_list.
+     */
+    @PostConstruct
+    public void load() {
+        List<BookedRoomStay> bookedRoomStays = bookingDetailsRepository.findAllBookedRoomStaysEndingAfter(LocalDate.now());
+        bookedRoomStays.forEach(stay -> add(StayOwner.booking(stay.getBookingId()), List.of(stay.getRoomNumber()),
+                stay.getStartDate(), stay.getEndDate()));
+        LOGGER.info("Loaded {} booked room stays into the occupancy index", bookedRoomStays.size());
+    }
+
+    /**
+     * Checks that none of the rooms is booked or held on any night of [startDate, endDate).
+     *
+     * @param roomNumbers       The rooms to check.
+     * @param startDate         The first night of the stay.
+     * @param endDate           The check-out date, exclusive.
+     * @param excludedBookingId The booking whose own stay is ignored, or null.
+     * @return True if every room is free for the whole stay, false otherwise.
+     */
+    public boolean isFree(final Collection<Integer> roomNumbers, final LocalDate startDate, final LocalDate endDate,
+                          final Integer excludedBookingId) {
+        StayOwner excluded = excludedBookingId == null ? null : StayOwner.booking(excludedBookingId);
+        return roomNumbers.stream().allMatch(roomNumber -> {
+            RoomTimeline timeline = timelines.get(roomNumber);
+            return timeline == null || !timeline.overlaps(startDate, endDate, excluded);
+        });
+    }
+
+    /**
+     * Records a booking's stay once the surrounding transaction, if any, commits.
+     *
+     * @param bookingId   The id of the booking.
+     * @param roomNumbers The booked rooms.
+     * @param startDate   The first night of the stay.
+     * @param endDate     The check-out date, exclusive.
+     */
+    public void book(final Integer bookingId, final Collection<Integer> roomNumbers, final LocalDate startDate, final LocalDate endDate) {
+        replaceAfterCommit(StayOwner.booking(bookingId), roomNumbers, startDate, endDate);
+    }
+
+    /**
+     * Forgets a booking's stay once the surrounding transaction, if any, commits.
+     *
+     * @param bookingId The id of the booking.
+     */
+    public void release(final Integer bookingId) {
+        afterCommit(() -> remove(StayOwner.booking(bookingId)));
+    }
+
+    /**
+     * Records a room hold's stay once the surrounding transaction, if any, commits.
+     *
+     * @param holdId      The id of the hold.
+     * @param roomNumbers The held rooms.
+     * @param startDate   The first night of the stay.
+     * @param endDate     The check-out date, exclusive.
+     */
+    public void hold(final Integer holdId, final Collection<Integer> roomNumbers, final LocalDate startDate, final LocalDate endDate) {
+        replaceAfterCommit(StayOwner.hold(holdId), roomNumbers, startDate, endDate);
+    }
+
+    /**
+     * Forgets the stays of room holds once the surrounding transaction, if any, commits.
+     *
+     * @param holdIds The ids of the holds.
+     */
+    public void releaseHolds(final Collection<Integer> holdIds) {
+        List<Integer> ids = List.copyOf(holdIds);
+        afterCommit(() -> ids.forEach(holdId -> remove(StayOwner.hold(holdId))));
+    }
+
+    private void replaceAfterCommit(final StayOwner owner, final Collection<Integer> roomNumbers,
+                                    final LocalDate startDate, final LocalDate endDate) {
+        List<Integer> rooms = List.copyOf(roomNumbers);
+        afterCommit(() -> {
+            remove(owner);
+            add(owner, rooms, startDate, endDate);
+        });
+    }
+
+    private void add(final StayOwner owner, final List<Integer> roomNumbers, final LocalDate startDate, final LocalDate endDate) {
+        stays.merge(owner, new BookedStay(owner, roomNumbers, startDate, endDate), BookedStay::withRoomsOf);
+        roomNumbers.forEach(roomNumber -> timelines.computeIfAbsent(roomNumber, key -> new RoomTimeline())
+                .add(new Interval(startDate, endDate, owner)));
+    }
+
+    private void remove(final StayOwner owner) {
+        BookedStay stay = stays.remove(owner);
+        if (stay == null) {
+            return;
+        }
+        stay.roomNumbers().forEach(roomNumber -> {
+            RoomTimeline timeline = timelines.get(roomNumber);
+            if (timeline != null) {
+                timeline.remove(new Interval(stay.startDate(), stay.endDate(), owner));
+            }
+        });
+    }
+
+    private static void afterCommit(final Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * The booking or room hold a stay belongs to. Bookings sort before holds.
+     */
+    private record StayOwner(boolean held, Integer id) {
+
+        private static final Comparator<StayOwner> ORDER = Comparator.comparing(StayOwner::held)
+                .thenComparing(StayOwner::id);
+
+        private static final StayOwner LOWEST = new StayOwner(false, Integer.MIN_VALUE);
+
+        static StayOwner booking(final Integer bookingId) {
+            return new StayOwner(false, bookingId);
+        }
+
+        static StayOwner hold(final Integer holdId) {
+            return new StayOwner(true, holdId);
+        }
+    }
+
+    /**
+     * A booking's or hold's stay, remembered so it can be removed from every room it touches.
+     */
+    private record BookedStay(StayOwner owner, List<Integer> roomNumbers, LocalDate startDate, LocalDate endDate) {
+
+        BookedStay withRoomsOf(final BookedStay other) {
+            List<Integer> merged = new ArrayList<>(roomNumbers);
+            merged.addAll(other.roomNumbers());
+            return new BookedStay(owner, List.copyOf(merged), startDate, endDate);
+        }
+    }
+
+    /**
+     * A booked or held [start, end) interval of one room.
+     */
+    private record Interval(LocalDate start, LocalDate end, StayOwner owner) {
+    }
+
+    /**
+     * Booked and held intervals of one room, sorted by start date. Intervals of a room never overlap,
+     * so an overlap check only walks back from the interval starting just before the candidate's end.
+     */
+    private static final class RoomTimeline {
+
+        private static final Comparator<Interval> BY_START = Comparator.comparing(Interval::start)
+                .thenComparing(Interval::owner, StayOwner.ORDER);
+
+        private final NavigableSet<Interval> intervals = new TreeSet<>(BY_START);
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        boolean overlaps(final LocalDate startDate, final LocalDate endDate, final StayOwner excluded) {
+            lock.readLock().lock();
+            try {
+                for (Interval interval : intervals.headSet(new Interval(endDate, endDate, StayOwner.LOWEST), false).descendingSet()) {
+                    if (!interval.end().isAfter(startDate)) {
+                        return false;
+                    }
+                    if (!interval.owner().equals(excluded)) {
+                        return true;
+                    }
+                }
+                return false;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void add(final Interval interval) {
+            lock.writeLock().lock();
+            try {
+                intervals.add(interval);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(final Interval interval) {
+            lock.writeLock().lock();
+            try {
+                intervals.remove(interval);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+}
@@ -1,34 +1,64 @@
 package com.akash.hotelbookingmanagement.service;
 
+import com.akash.hotelbookingmanagement.concurrency.RetryOnOptimisticLock;
+import com.akash.hotelbookingmanagement.concurrency.SingleFlight;
 import com.akash.hotelbookingmanagement.config.RoomMapper;
+import com.akash.hotelbookingmanagement.dto.AssociatedId;
+import com.akash.hotelbookingmanagement.dto.CustomerView;
 import com.akash.hotelbookingmanagement.dto.RoomDto;
+import com.akash.hotelbookingmanagement.dto.RoomSearchCriteria;
+import com.akash.hotelbookingmanagement.dto.RoomView;
+import com.akash.hotelbookingmanagement.exception.InvalidBookingDatesException;
 import com.akash.hotelbookingmanagement.exception.ResourceNotFoundException;
-import com.akash.hotelbookingmanagement.model.Customer;
 import com.akash.hotelbookingmanagement.model.Room;
 import com.akash.hotelbookingmanagement.repository.RoomRepository;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 /**
  * Service class for managing rooms.
  */
 @Service
+@Timed(value = "booking.service.calls", histogram = true)
 public class RoomService {
 
     @Autowired
     private RoomRepository roomRepository;
 
+    @Autowired
+    private RoomOccupancyIndex roomOccupancyIndex;
+
     @Autowired
     private CustomerService customerService;
 
     @Autowired
     private RoomMapper roomMapper;
 
+    @Autowired
+    private RoomTypeCache roomTypeCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private SingleFlight<Integer, RoomView> roomViewLookups;
+
     /**
      * Creates a new room.
      *
@@ -36,17 +66,34 @@ public class RoomService {
      * @return The created room.
      */
     public Room createRoom(@Valid final RoomDto roomData) {
-        Room room = roomMapper.convertToEntity(roomData);
-        return roomRepository.save(room);
+        Room room = roomRepository.save(roomMapper.convertToEntity(roomData));
+        publishRoomChanged(room.getRoomNumber(), room.getType());
+        return room;
     }
 
     /**
-     * Retrieves all rooms.
+     * Retrieves a page of room views in room number order.
      *
-     * @return Iterable of all rooms.
+     * @param after The room number the page starts after, or null for the first page.
+     * @param limit The maximum number of rooms to return.
+     * @return The room views of the page.
      */
-    public Iterable<Room> getAllRooms() {
-        return roomRepository.findAll();
+    public List<RoomView> getAllRooms(final Integer after, final int limit) {
+        return withCheckedInCustomerIds(roomRepository.findViewsAfter(Objects.requireNonNullElse(after, 0), Limit.of(limit)));
+    }
+
+    /**
+     * Retrieves the view of a room by its room number, sharing the lookup with concurrent callers for the same room.
+     *
+     * @param roomNumber The room number.
+     * @return The room view with its checked-in customer IDs.
+     */
+    public RoomView getRoomView(final Integer roomNumber) {
+        return roomViewLookups.execute(roomNumber, () -> {
+            RoomView roomView = roomRepository.findViewByRoomNumber(roomNumber)
+                    .orElseThrow(() -> new ResourceNotFoundException("Room details not found with room number: " + roomNumber));
+            return withCheckedInCustomerIds(List.of(roomView)).get(0);
+        });
     }
 
     /**
@@ -61,24 +108,76 @@ public class RoomService {
     }
 
     /**
-     * Retrieves rooms by their type.
+     * Retrieves rooms by their room numbers, reading the cached rooms and their checked-in customers from the
+     * second-level cache and the others with a single query per level.
+     *
+     * @param roomNumbers The room numbers, in the order the rooms should be returned.
+     * @return The rooms, one per requested room number.
+     */
+    public List<Room> getRoomsByRoomNumbers(final List<Integer> roomNumbers) {
+        Map<Integer, Room> roomsByNumber = new HashMap<>();
+        roomRepository.multiLoadById(roomNumbers.stream().distinct().toList())
+                .forEach(room -> roomsByNumber.put(room.getRoomNumber(), room));
+
+        List<Integer> missingRoomNumbers = roomNumbers.stream().filter(roomNumber -> !roomsByNumber.containsKey(roomNumber)).distinct().toList();
+        if (!missingRoomNumbers.isEmpty()) {
+            throw new ResourceNotFoundException("Room details not found with room numbers: " + missingRoomNumbers);
+        }
+        List<Room> rooms = new ArrayList<>(roomNumbers.size());
+        roomNumbers.forEach(roomNumber -> rooms.add(roomsByNumber.get(roomNumber)));
+        return rooms;
+    }
+
+    /**
+     * Retrieves room views by their type from the {@link RoomTypeCache}.
      *
      * @param type The room type.
-     * @return Iterable of rooms with the specified type.
+     * @return The unmodifiable views of the rooms with the specified type.
      */
-    public Iterable<Room> getRoomsByType(final String type) {
-        return roomRepository.findAllByType(type);
+    public List<RoomView> getRoomsByType(final String type) {
+        return roomTypeCache.get(type);
     }
 
     /**
-     * Retrieves checked-in customers for a room.
+     * Searches the rooms matching the criteria that are open for sale and neither sold nor held on any night
+     * of the stay, in room number order.
+     *
+     * @param criteria The stay and room filters.
+     * @param after    The room number the page starts after, or null for the first page.
+     * @param limit    The maximum number of rooms to return.
+     * @return The views of the available rooms.
+     */
+    public List<RoomView> searchAvailableRooms(final RoomSearchCriteria criteria, final Integer after, final int limit) {
+        if (criteria.getFrom() == null || criteria.getTo() == null || !criteria.getTo().isAfter(criteria.getFrom())) {
+            throw new InvalidBookingDatesException("End date must be after start date");
+        }
+        List<Integer> roomNumbers = roomRepository.findAvailableRoomNumbers(criteria.getFrom(), criteria.getTo(),
+                criteria.getType(), criteria.getMinOccupancy(), criteria.getMaxPrice(), Objects.requireNonNullElse(after, 0), Limit.of(limit));
+        return roomNumbers.isEmpty() ? List.of() : withCheckedInCustomerIds(roomRepository.findViewsByRoomNumberIn(roomNumbers));
+    }
+
+    /**
+     * Retrieves the views of the checked-in customers of a room.
      *
      * @param roomNumber The room number.
-     * @return Iterable of checked-in customers for the specified room.
+     * @return The views of the checked-in customers of the specified room.
      */
-    public Iterable<Customer> getCheckedInCustomers(final Integer roomNumber) {
-        Room room = getRoomByRoomNumber(roomNumber);
-        return room != null ? room.getCheckedInCustomers() : null;
+    public List<CustomerView> getCheckedInCustomers(final Integer roomNumber) {
+        List<CustomerView> customers = roomRepository.findCheckedInCustomerViews(roomNumber);
+        if (customers.isEmpty() && !roomRepository.existsById(roomNumber)) {
+            throw new ResourceNotFoundException("Room details not found with room number: " + roomNumber);
+        }
+        return customers;
+    }
+
+    private List<RoomView> withCheckedInCustomerIds(final List<RoomView> roomViews) {
+        if (roomViews.isEmpty()) {
+            return roomViews;
+        }
+        Map<Integer, List<Integer>> customerIds = AssociatedId.groupByOwner(
+                roomRepository.findCheckedInCustomerIdsByRoomNumberIn(roomViews.stream().map(RoomView::getRoomNumber).toList()));
+        roomViews.forEach(roomView -> roomView.setCheckedInCustomerIdList(customerIds.getOrDefault(roomView.getRoomNumber(), List.of())));
+        return roomViews;
     }
 
     /**
@@ -88,12 +187,15 @@ public class RoomService {
      * @param roomData   The updated room information.
      * @return The updated room.
      */
+    @RetryOnOptimisticLock
+    @Transactional
     public Room updateRoomById(final Integer roomNumber, final RoomDto roomData) {
 
         Room roomOld = getRoomByRoomNumber(roomNumber);
         if (roomOld == null) {
             return null;
         }
+        String oldType = roomOld.getType();
         Room room = roomMapper.convertToEntity(roomData);
         if (room.getOccupancy() != null) {
             roomOld.setOccupancy(room.getOccupancy());
@@ -117,7 +219,9 @@ public class RoomService {
             roomOld.setAvailability(room.getAvailability());
         }
 
-        return roomRepository.save(roomOld);
+        Room roomNew = roomRepository.save(roomOld);
+        publishRoomChanged(roomNumber, oldType, roomNew.getType());
+        return roomNew;
     }
 
     /**
@@ -125,19 +229,48 @@ public class RoomService {
      *
      * @param roomNumber The room number.
      */
+    @RetryOnOptimisticLock
+    @Transactional
     public void deleteRoom(final Integer roomNumber) {
-        if (roomRepository.existsById(roomNumber)) {
-            roomRepository.deleteById(roomNumber);
-        }
+        roomRepository.findById(roomNumber).ifPresent(room -> {
+            roomRepository.delete(room);
+            publishRoomChanged(roomNumber, room.getType());
+        });
+    }
+
+    private void publishRoomChanged(final Integer roomNumber, final String... types) {
+        eventPublisher.publishEvent(new RoomChangedEvent(roomNumber,
+                Arrays.stream(types).filter(Objects::nonNull).collect(Collectors.toUnmodifiableSet())));
+    }
+
+    /**
+     * Checks if all rooms in the provided list are open for sale and unsold for every night of the stay.
+     *
+     * @param roomList  The list of rooms to check.
+     * @param startDate The first night of the stay.
+     * @param endDate   The check-out date, exclusive.
+     * @return True if all rooms are available, false otherwise.
+     */
+    public boolean checkRoomsAvailability(final List<Room> roomList, final LocalDate startDate, final LocalDate endDate) {
+        return checkRoomsAvailability(roomList, startDate, endDate, null);
     }
 
     /**
-     * Checks if all rooms in the provided list are available.
+     * Checks if all rooms in the provided list are open for sale and unsold for every night of the stay,
+     * ignoring nights already held by the given booking.
      *
-     * @param roomList The list of rooms to check.
+     * @param roomList          The list of rooms to check.
+     * @param startDate         The first night of the stay.
+     * @param endDate           The check-out date, exclusive.
+     * @param excludedBookingId The booking whose own nights are ignored, or null.
      * @return True if all rooms are available, false otherwise.
      */
-    public boolean checkRoomsAvailability(final List<Room> roomList) {
-        return roomList.stream().allMatch(room -> getRoomByRoomNumber(room.getRoomNumber()).getAvailability());
+    public boolean checkRoomsAvailability(final List<Room> roomList, final LocalDate startDate, final LocalDate endDate,
+                                          final Integer excludedBookingId) {
+        if (!roomList.stream().allMatch(room -> Boolean.TRUE.equals(room.getAvailability()))) {
+            return false;
+        }
+        List<Integer> roomNumbers = roomList.stream().map(Room::getRoomNumber).toList();
+        return roomOccupancyIndex.isFree(roomNumbers, startDate, endDate, excludedBookingId);
     }
 }
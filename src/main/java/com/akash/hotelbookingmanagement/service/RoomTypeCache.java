@@ -0,0 +1,91 @@
+package com.akash.hotelbookingmanagement.service;
+
+import com.akash.hotelbookingmanagement.dto.AssociatedId;
+import com.akash.hotelbookingmanagement.dto.RoomView;
+import com.akash.hotelbookingmanagement.repository.RoomRepository;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-through cache of the rooms of each type. Entries are reloaded in the background once they are older than the
+ * refresh interval, the stale list being served until the reload completes, and are dropped when a room of their
+ * type changes. The cached lists are unmodifiable snapshots shared by all callers.
+ */
+@Component
+public class RoomTypeCache {
+
+    public static final String NAME = "roomsByType";
+
+    private final RoomRepository roomRepository;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final AsyncLoadingCache<String, List<RoomView>> cache;
+
+    @Autowired
+    public RoomTypeCache(final RoomRepository roomRepository,
+                         final PlatformTransactionManager transactionManager,
+                         @Value("${booking.room-type-cache.maximum-size:1000}") final long maximumSize,
+                         @Value("${booking.room-type-cache.refresh-after-seconds:60}") final long refreshAfterSeconds,
+                         @Value("${booking.room-type-cache.expire-after-seconds:600}") final long expireAfterSeconds,
+                         final MeterRegistry meterRegistry) {
+        this.roomRepository = roomRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .refreshAfterWrite(Duration.ofSeconds(refreshAfterSeconds))
+                .expireAfterWrite(Duration.ofSeconds(expireAfterSeconds))
+                .recordStats()
+                .buildAsync(this::load);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+    }
+
+    /**
+     * Returns the rooms of a type, loading them if they are not cached.
+     *
+     * @param type The room type.
+     * @return The unmodifiable views of the rooms with the type.
+     */
+    public List<RoomView> get(final String type) {
+        return cache.synchronous().get(type);
+    }
+
+    /**
+     * Drops the cached rooms of the types a room had and has, once the change is committed.
+     *
+     * @param event The room change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomChanged(final RoomChangedEvent event) {
+        cache.synchronous().invalidateAll(event.types());
+    }
+
+    private List<RoomView> load(final String type) {
+        return readOnlyTransaction.execute(status -> {
+            List<RoomView> roomViews = roomRepository.findViewsByType(type);
+            if (roomViews.isEmpty()) {
+                return List.of();
+            }
+            Map<Integer, List<Integer>> customerIds = AssociatedId.groupByOwner(
+                    roomRepository.findCheckedInCustomerIdsByRoomNumberIn(roomViews.stream().map(RoomView::getRoomNumber).toList()));
+            return roomViews.stream()
+                    .map(roomView -> new RoomView(roomView.getRoomNumber(), roomView.getType(), roomView.getOccupancy(),
+                            roomView.getPricePerDay(), roomView.getAvailability(), roomView.getIsCheckedIn(),
+                            roomView.getIsCheckedOut(), List.copyOf(customerIds.getOrDefault(roomView.getRoomNumber(), List.of()))))
+                    .toList();
+        });
+    }
+}
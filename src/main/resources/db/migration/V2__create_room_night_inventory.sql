@@ -0,0 +1,10 @@
+CREATE TABLE room_night (
+    room_number INT NOT NULL,
+    night DATE NOT NULL,
+    booking_id INT NOT NULL,
+    PRIMARY KEY (room_number, night),
+    FOREIGN KEY (room_number) REFERENCES room(room_number),
+    FOREIGN KEY (booking_id) REFERENCES booking_details(booking_id)
+);
+
+CREATE INDEX idx_room_night_booking_id ON room_night (booking_id);
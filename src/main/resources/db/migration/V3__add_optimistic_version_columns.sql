@@ -0,0 +1,3 @@
+ALTER TABLE room ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE booking_details ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,22 @@
+CREATE TABLE room_hold (
+    hold_id INT AUTO_INCREMENT PRIMARY KEY,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    expires_at DATETIME NOT NULL
+);
+
+CREATE TABLE room_hold_room (
+    hold_id INT NOT NULL,
+    room_number INT NOT NULL,
+    PRIMARY KEY (hold_id, room_number),
+    FOREIGN KEY (hold_id) REFERENCES room_hold(hold_id) ON DELETE CASCADE,
+    FOREIGN KEY (room_number) REFERENCES room(room_number)
+);
+
+ALTER TABLE room_night MODIFY booking_id INT NULL;
+
+ALTER TABLE room_night ADD COLUMN hold_id INT NULL;
+
+ALTER TABLE room_night ADD CONSTRAINT fk_room_night_hold FOREIGN KEY (hold_id) REFERENCES room_hold(hold_id);
+
+CREATE INDEX idx_room_night_hold_id ON room_night (hold_id);
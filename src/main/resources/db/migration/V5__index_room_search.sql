@@ -0,0 +1 @@
+CREATE INDEX idx_room_type ON room (type);
@@ -0,0 +1,9 @@
+CREATE TABLE id_allocation (
+    entity VARCHAR(64) NOT NULL,
+    next_id BIGINT NOT NULL,
+    PRIMARY KEY (entity)
+);
+
+INSERT INTO id_allocation (entity, next_id) SELECT 'room', COALESCE(MAX(room_number), 0) + 1 FROM room;
+INSERT INTO id_allocation (entity, next_id) SELECT 'customer', COALESCE(MAX(customer_id), 0) + 1 FROM customer;
+INSERT INTO id_allocation (entity, next_id) SELECT 'booking_details', COALESCE(MAX(booking_id), 0) + 1 FROM booking_details;
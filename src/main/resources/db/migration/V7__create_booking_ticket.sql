@@ -0,0 +1,11 @@
+CREATE TABLE booking_ticket (
+    ticket_id VARCHAR(36) PRIMARY KEY,
+    request VARCHAR(4000) NOT NULL,
+    status ENUM('PENDING', 'CREATED', 'REJECTED') NOT NULL,
+    booking_id INT NULL,
+    message VARCHAR(255) NULL,
+    submitted_at DATETIME NOT NULL,
+    completed_at DATETIME NULL
+);
+
+CREATE INDEX idx_booking_ticket_status ON booking_ticket (status, submitted_at);
@@ -0,0 +1,221 @@
+package com.akash.hotelbookingmanagement.benchmarks;
+
+import com.akash.hotelbookingmanagement.HotelBookingManagementApplication;
+import com.akash.hotelbookingmanagement.config.BookingDetailsMapper;
+import com.akash.hotelbookingmanagement.config.RoomMapper;
+import com.akash.hotelbookingmanagement.dto.BookingDetailsDto;
+import com.akash.hotelbookingmanagement.dto.BulkBookingResult;
+import com.akash.hotelbookingmanagement.dto.RoomDto;
+import com.akash.hotelbookingmanagement.model.BookingDetails;
+import com.akash.hotelbookingmanagement.model.Customer;
+import com.akash.hotelbookingmanagement.model.Room;
+import com.akash.hotelbookingmanagement.model.enums.ModeOfBooking;
+import com.akash.hotelbookingmanagement.model.enums.ModeOfPayment;
+import com.akash.hotelbookingmanagement.repository.BookingDetailsRepository;
+import com.akash.hotelbookingmanagement.repository.CustomerRepository;
+import com.akash.hotelbookingmanagement.repository.RoomRepository;
+import com.akash.hotelbookingmanagement.service.BookingDetailsService;
+import com.akash.hotelbookingmanagement.service.BookingImportService;
+import com.akash.hotelbookingmanagement.service.RoomService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.Hibernate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Measures the booking write path and its building blocks against the application running on the in-memory
+ * H2 database of the {@code test} profile, for different numbers of rooms per booking and of bookings already
+ * in the tables. Run with {@code mvn -Pbenchmark verify -Djmh.benchmarks=BookingPipelineBenchmark}; the
+ * results are written as JSON to {@code target/jmh-result.json}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingPipelineBenchmark {
+
+    private static final int ROOMS = 40;
+
+    private static final int PRICE_PER_DAY = 100;
+
+    private static final LocalDate FIRST_NIGHT = LocalDate.of(2030, 1, 1);
+
+    @Param({"1", "4"})
+    private int roomsPerBooking;
+
+    @Param({"1000", "10000"})
+    private int tableSize;
+
+    private ConfigurableApplicationContext context;
+
+    private BookingDetailsService bookingDetailsService;
+
+    private RoomService roomService;
+
+    private BookingDetailsMapper bookingDetailsMapper;
+
+    private RoomMapper roomMapper;
+
+    private ObjectMapper objectMapper;
+
+    private List<Integer> roomNumbers;
+
+    private Integer customerId;
+
+    private List<Integer> seededBookingIds;
+
+    private List<Room> rooms;
+
+    private Room room;
+
+    private BookingDetails booking;
+
+    private BookingDetailsDto bookingDto;
+
+    /**
+     * Stays created by {@link #createBooking()} start after the seeded ones, one night each, cycling through
+     * the groups of rooms so that no two of them overlap.
+     */
+    private final AtomicInteger createdBookings = new AtomicInteger();
+
+    private final AtomicInteger updatedBookings = new AtomicInteger();
+
+    private final AtomicInteger availabilityChecks = new AtomicInteger();
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(HotelBookingManagementApplication.class)
+                .run("--spring.profiles.active=test",
+                        "--server.port=0",
+                        "--logging.level.root=warn",
+                        "--booking.bulk.max-bookings=" + tableSize);
+        bookingDetailsService = context.getBean(BookingDetailsService.class);
+        roomService = context.getBean(RoomService.class);
+        bookingDetailsMapper = context.getBean(BookingDetailsMapper.class);
+        roomMapper = context.getBean(RoomMapper.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        Customer customer = context.getBean(CustomerRepository.class).save(new Customer(null, "Benchmark", "Delhi", 30, "7000000000"));
+        customerId = customer.getCustomerId();
+        RoomRepository roomRepository = context.getBean(RoomRepository.class);
+        roomNumbers = new ArrayList<>();
+        for (int i = 0; i < ROOMS; i++) {
+            roomNumbers.add(roomRepository.save(new Room(null, "double", 2, PRICE_PER_DAY, true, false, false,
+                    new ArrayList<>(List.of(customer)), null)).getRoomNumber());
+        }
+
+        // two-night stays, each group of rooms booked back to back
+        List<BookingDetailsDto> seed = IntStream.range(0, tableSize)
+                .mapToObj(i -> bookingDto(group(i), FIRST_NIGHT.plusDays(2L * (i / groups())), 2))
+                .toList();
+        seededBookingIds = context.getBean(BookingImportService.class).importBookings(seed).stream()
+                .map(BulkBookingResult::getBookingId)
+                .toList();
+
+        rooms = roomService.getRoomsByRoomNumbers(group(0));
+        room = rooms.get(0);
+        bookingDto = bookingDto(group(0), FIRST_NIGHT, 2);
+        booking = context.getBean(TransactionTemplate.class).execute(status -> {
+            BookingDetails loaded = context.getBean(BookingDetailsRepository.class).findById(seededBookingIds.get(0)).orElseThrow();
+            Hibernate.initialize(loaded.getCustomerList());
+            loaded.getRoomList().forEach(bookedRoom -> Hibernate.initialize(bookedRoom.getCheckedInCustomers()));
+            return loaded;
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BookingDetails createBooking() {
+        int n = createdBookings.getAndIncrement();
+        LocalDate night = FIRST_NIGHT.plusDays(2L * seedDays() + n / groups());
+        return bookingDetailsService.createBooking(bookingDto(group(n), night, 1));
+    }
+
+    @Benchmark
+    public BookingDetails updateBookingDetails() {
+        int n = updatedBookings.getAndIncrement();
+        BookingDetailsDto payment = BookingDetailsDto.builder()
+                .paidAmount(roomsPerBooking * PRICE_PER_DAY - n % 2)
+                .build();
+        return bookingDetailsService.updateBookingDetails(seededBookingIds.get(n % seededBookingIds.size()), payment);
+    }
+
+    @Benchmark
+    public boolean checkRoomsAvailability() {
+        LocalDate from = FIRST_NIGHT.plusDays(availabilityChecks.getAndIncrement() % (2L * seedDays()));
+        return roomService.checkRoomsAvailability(rooms, from, from.plusDays(2));
+    }
+
+    @Benchmark
+    public BookingDetails bookingToEntity() {
+        return bookingDetailsMapper.convertToEntity(bookingDto);
+    }
+
+    @Benchmark
+    public BookingDetailsDto bookingToDto() {
+        return bookingDetailsMapper.convertToDto(booking);
+    }
+
+    @Benchmark
+    public RoomDto roomToDto() {
+        return roomMapper.convertToDto(room);
+    }
+
+    @Benchmark
+    public byte[] serializeBooking() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(booking);
+    }
+
+    private BookingDetailsDto bookingDto(final List<Integer> bookedRooms, final LocalDate startDate, final int nights) {
+        return BookingDetailsDto.builder()
+                .duration(nights)
+                .startDate(startDate)
+                .endDate(startDate.plusDays(nights))
+                .modeOfBooking(ModeOfBooking.online)
+                .modeOfPayment(ModeOfPayment.prepaid)
+                .paidAmount(roomsPerBooking * PRICE_PER_DAY)
+                .customerIdList(List.of(customerId))
+                .roomNumberList(bookedRooms)
+                .build();
+    }
+
+    private int groups() {
+        return ROOMS / roomsPerBooking;
+    }
+
+    private List<Integer> group(final int n) {
+        int first = (n % groups()) * roomsPerBooking;
+        return roomNumbers.subList(first, first + roomsPerBooking);
+    }
+
+    private int seedDays() {
+        return (tableSize + groups() - 1) / groups();
+    }
+}
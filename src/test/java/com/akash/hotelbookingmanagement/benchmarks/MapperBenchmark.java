@@ -0,0 +1,107 @@
+package com.akash.hotelbookingmanagement.benchmarks;
+
+import com.akash.hotelbookingmanagement.config.BookingDetailsMapper;
+import com.akash.hotelbookingmanagement.config.BookingDetailsMapperImpl;
+import com.akash.hotelbookingmanagement.config.RoomMapper;
+import com.akash.hotelbookingmanagement.config.RoomMapperImpl;
+import com.akash.hotelbookingmanagement.dto.BookingDetailsDto;
+import com.akash.hotelbookingmanagement.dto.RoomDto;
+import com.akash.hotelbookingmanagement.model.BookingDetails;
+import com.akash.hotelbookingmanagement.model.Room;
+import com.akash.hotelbookingmanagement.model.enums.ModeOfBooking;
+import com.akash.hotelbookingmanagement.model.enums.ModeOfPayment;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the generated mappers with the reflective ModelMapper they replaced, on the field copies of
+ * {@link RoomDto} and {@link BookingDetailsDto}. Run with {@code mvn -Pbenchmark verify -Djmh.benchmarks=MapperBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final RoomMapper roomMapper = new RoomMapperImpl();
+
+    private final BookingDetailsMapper bookingDetailsMapper = new BookingDetailsMapperImpl();
+
+    private ModelMapper modelMapper;
+
+    private RoomDto roomDto;
+
+    private BookingDetailsDto bookingDetailsDto;
+
+    private BookingDetails bookingDetails;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT);
+
+        roomDto = new RoomDto();
+        roomDto.setType("Deluxe");
+        roomDto.setOccupancy(3);
+        roomDto.setPricePerDay(150);
+        roomDto.setAvailability(true);
+
+        // id lists stay empty so that neither path resolves entities through a service
+        bookingDetailsDto = BookingDetailsDto.builder()
+                .duration(2)
+                .startDate(LocalDate.of(2030, 1, 1))
+                .endDate(LocalDate.of(2030, 1, 3))
+                .modeOfBooking(ModeOfBooking.online)
+                .modeOfPayment(ModeOfPayment.prepaid)
+                .paidAmount(100)
+                .build();
+        bookingDetails = bookingDetailsMapper.convertToEntity(bookingDetailsDto);
+        bookingDetails.setBookingId(1);
+        bookingDetails.setBillAmount(300);
+    }
+
+    @Benchmark
+    public Room roomToEntityGenerated() {
+        return roomMapper.convertToEntity(roomDto);
+    }
+
+    @Benchmark
+    public Room roomToEntityModelMapper() {
+        return modelMapper.map(roomDto, Room.class);
+    }
+
+    @Benchmark
+    public BookingDetails bookingToEntityGenerated() {
+        return bookingDetailsMapper.convertToEntity(bookingDetailsDto);
+    }
+
+    @Benchmark
+    public BookingDetails bookingToEntityModelMapper() {
+        return modelMapper.map(bookingDetailsDto, BookingDetails.class);
+    }
+
+    @Benchmark
+    public BookingDetailsDto bookingToDtoGenerated() {
+        return bookingDetailsMapper.convertToDto(bookingDetails);
+    }
+
+    @Benchmark
+    public BookingDetailsDto bookingToDtoModelMapper() {
+        return modelMapper.map(bookingDetails, BookingDetailsDto.class);
+    }
+}
@@ -0,0 +1,91 @@
+package com.akash.hotelbookingmanagement.loadTests;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongFunction;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives a mix of booking, room and customer calls against the application on a random port with the H2
+ * database of the {@code test} profile, and writes the latency percentiles and error rates to
+ * {@code target/load-report.txt}. Run with {@code mvn -Pload test}; the load is tuned with the system
+ * properties {@code load.rate} (arrivals per second), {@code load.warmup-seconds}, {@code load.duration-seconds},
+ * {@code load.mix} (e.g. {@code bookings=3,rooms=3,customers=3,create=1}) and {@code load.max-error-rate}.
+ * Bookings are created on the four seeded rooms, so a high share of them measures room lock contention.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "logging.level.root=warn")
+@ActiveProfiles("test")
+@Tag("load")
+class BookingApiLoadTest {
+
+    private static final LocalDate FIRST_NIGHT = LocalDate.of(2031, 1, 1);
+
+    private static final int SEEDED_ROOMS = 4;
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void testMixedTraffic() {
+        // Arrange
+        double rate = Double.parseDouble(System.getProperty("load.rate", "100"));
+        Duration warmup = Duration.ofSeconds(Long.getLong("load.warmup-seconds", 10));
+        Duration duration = Duration.ofSeconds(Long.getLong("load.duration-seconds", 30));
+        double maxErrorRate = Double.parseDouble(System.getProperty("load.max-error-rate", "0.01"));
+        Map<String, Integer> weights = Arrays.stream(System.getProperty("load.mix", "bookings=3,rooms=3,customers=3,create=1").split(","))
+                .map(entry -> entry.split("="))
+                .collect(Collectors.toMap(entry -> entry[0].trim(), entry -> Integer.parseInt(entry[1].trim())));
+        Map<String, LongFunction<HttpRequest>> requests = Map.of(
+                "bookings", sequence -> get("/booking/?limit=20"),
+                "rooms", sequence -> get("/rooms?limit=20"),
+                "customers", sequence -> get("/customer/?limit=20"),
+                "create", this::createBooking);
+        List<LoadHarness.RequestType> mix = weights.entrySet().stream()
+                .map(weight -> new LoadHarness.RequestType(weight.getKey(), weight.getValue(), requests.get(weight.getKey())))
+                .toList();
+
+        // Act
+        LoadReport report;
+        try (LoadHarness harness = new LoadHarness()) {
+            harness.run(mix, rate, warmup);
+            report = harness.run(mix, rate, duration);
+        }
+        report.write(Path.of("target", "load-report.txt"));
+
+        // Assert
+        assertTrue(report.getRequests() > 0);
+        assertTrue(report.getErrorRate() <= maxErrorRate, "Error rate " + report.getErrorRate() + " above " + maxErrorRate);
+    }
+
+    private HttpRequest get(final String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+    }
+
+    /**
+     * Books one seeded room for one night; every arrival gets a room and night of its own.
+     */
+    private HttpRequest createBooking(final long sequence) {
+        LocalDate night = FIRST_NIGHT.plusDays(sequence / SEEDED_ROOMS);
+        String body = String.format("{\"duration\":1,\"startDate\":\"%s\",\"endDate\":\"%s\",\"modeOfBooking\":\"online\","
+                + "\"modeOfPayment\":\"prepaid\",\"paidAmount\":0,\"roomNumberList\":[%d],\"customerIdList\":[1]}",
+                night, night.plusDays(1), sequence % SEEDED_ROOMS + 1);
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/booking/"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
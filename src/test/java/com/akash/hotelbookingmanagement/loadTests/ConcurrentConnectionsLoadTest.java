@@ -0,0 +1,88 @@
+package com.akash.hotelbookingmanagement.loadTests;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Holds a fixed number of connections open against the application, each sending booking, room and customer
+ * list reads back to back to an application backed by MySQL in a container, so that every request blocks on
+ * JDBC network I/O, and writes the throughput and latency percentiles to
+ * {@code target/load-report-platform-threads.txt} or, under {@code -Pvirtual-threads},
+ * {@code target/load-report-virtual-threads.txt}. Comparing the two runs of
+ * {@code mvn -Pload test -Dtest=ConcurrentConnectionsLoadTest} and
+ * {@code mvn -Pload,virtual-threads test -Dtest=ConcurrentConnectionsLoadTest} shows what serving requests on
+ * virtual threads gains once the connections outnumber Tomcat's worker threads. Both runs use the same
+ * connection pool size, {@code load.pool-size} (50 by default), so that only the threading model differs.
+ * The load is tuned with the system properties {@code load.connections} (2000 by default),
+ * {@code load.warmup-seconds}, {@code load.duration-seconds} and {@code load.max-error-rate}; the client and
+ * server share the process, so the open file limit must allow two sockets per connection. Docker is required.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "logging.level.root=warn")
+@ActiveProfiles("test")
+@Testcontainers
+@Tag("load")
+class ConcurrentConnectionsLoadTest {
+
+    @Container
+    static MySQLContainer<?> mySQLContainer = new MySQLContainer<>("mysql:latest");
+
+    @DynamicPropertySource
+    static void configProperties(final DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mySQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", mySQLContainer::getUsername);
+        registry.add("spring.datasource.password", mySQLContainer::getPassword);
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> Integer.getInteger("load.pool-size", 50));
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Test
+    void testConcurrentReads() {
+        // Arrange
+        int connections = Integer.getInteger("load.connections", 2000);
+        Duration warmup = Duration.ofSeconds(Long.getLong("load.warmup-seconds", 10));
+        Duration duration = Duration.ofSeconds(Long.getLong("load.duration-seconds", 30));
+        double maxErrorRate = Double.parseDouble(System.getProperty("load.max-error-rate", "0.01"));
+        List<LoadHarness.RequestType> mix = List.of(
+                new LoadHarness.RequestType("bookings", 1, sequence -> get("/booking/?limit=20")),
+                new LoadHarness.RequestType("rooms", 1, sequence -> get("/rooms?limit=20")),
+                new LoadHarness.RequestType("customers", 1, sequence -> get("/customer/?limit=20")));
+
+        // Act
+        LoadReport report;
+        try (LoadHarness harness = new LoadHarness()) {
+            harness.runClosed(mix, connections, warmup);
+            report = harness.runClosed(mix, connections, duration);
+        }
+        report.write(Path.of("target", virtualThreads ? "load-report-virtual-threads.txt" : "load-report-platform-threads.txt"));
+
+        // Assert
+        assertTrue(report.getRequests() > 0);
+        assertTrue(report.getErrorRate() <= maxErrorRate, "Error rate " + report.getErrorRate() + " above " + maxErrorRate);
+    }
+
+    private HttpRequest get(final String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+    }
+}
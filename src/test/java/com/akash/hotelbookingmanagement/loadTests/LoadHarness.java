@@ -0,0 +1,145 @@
+package com.akash.hotelbookingmanagement.loadTests;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+
+/**
+ * HTTP load generator. In the open model requests arrive as a Poisson process at a fixed mean rate whether or
+ * not earlier requests have completed, and are sent asynchronously from a pool of client threads, so a slow
+ * server builds up a backlog instead of slowing the load down. In the closed model a fixed number of
+ * connections each send their next request as soon as the previous one is answered, which measures the
+ * throughput the server sustains at that concurrency.
+ */
+public class LoadHarness implements AutoCloseable {
+
+    /**
+     * A kind of request in the traffic mix.
+     *
+     * @param name    The name the request is reported under.
+     * @param weight  The relative share of arrivals that are this request.
+     * @param request Builds the request for the given arrival sequence number.
+     */
+    public record RequestType(String name, int weight, LongFunction<HttpRequest> request) {
+    }
+
+    private final ExecutorService clientThreads = Executors.newCachedThreadPool();
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(clientThreads)
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final Random random = new Random(42);
+
+    /**
+     * Sequence number of the next arrival, continued across runs so that a measured run after a warm-up
+     * run still builds requests of its own.
+     */
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * Sends the mix of requests for the given duration and waits for the outstanding responses.
+     *
+     * @param mix               The kinds of requests and their weights.
+     * @param arrivalsPerSecond The mean arrival rate.
+     * @param duration          How long requests keep arriving.
+     * @return The latencies and errors of the run.
+     */
+    public LoadReport run(final List<RequestType> mix, final double arrivalsPerSecond, final Duration duration) {
+        LoadReport report = new LoadReport(mix.stream().map(RequestType::name).toList());
+        int totalWeight = mix.stream().mapToInt(RequestType::weight).sum();
+        List<CompletableFuture<?>> responses = new ArrayList<>();
+
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long nextArrival = start;
+        while (nextArrival < end) {
+            long wait = nextArrival - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            RequestType type = pick(mix, random.nextInt(totalWeight));
+            long scheduled = nextArrival;
+            responses.add(client.sendAsync(type.request().apply(sequence.getAndIncrement()), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> report.record(type.name(), System.nanoTime() - scheduled,
+                            failure != null || response.statusCode() >= 400)));
+            nextArrival += (long) (-Math.log(1 - random.nextDouble()) * TimeUnit.SECONDS.toNanos(1) / arrivalsPerSecond);
+        }
+
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).exceptionally(failure -> null).join();
+        report.setElapsed(Duration.ofNanos(System.nanoTime() - start));
+        return report;
+    }
+
+    /**
+     * Keeps the given number of requests of the mix in flight for the given duration and waits for the last
+     * responses. Latencies are measured from the time each request was sent.
+     *
+     * @param mix         The kinds of requests and their weights.
+     * @param connections The number of concurrent connections.
+     * @param duration    How long the connections keep sending.
+     * @return The latencies and errors of the run.
+     */
+    public LoadReport runClosed(final List<RequestType> mix, final int connections, final Duration duration) {
+        LoadReport report = new LoadReport(mix.stream().map(RequestType::name).toList());
+        int totalWeight = mix.stream().mapToInt(RequestType::weight).sum();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        List<CompletableFuture<Void>> loops = new ArrayList<>();
+        for (int i = 0; i < connections; i++) {
+            loops.add(sendUntil(mix, totalWeight, end, report));
+        }
+
+        CompletableFuture.allOf(loops.toArray(CompletableFuture[]::new)).join();
+        report.setElapsed(Duration.ofNanos(System.nanoTime() - start));
+        return report;
+    }
+
+    /**
+     * Sends one request after another on one connection until the end time.
+     */
+    private CompletableFuture<Void> sendUntil(final List<RequestType> mix, final int totalWeight, final long end,
+                                              final LoadReport report) {
+        if (System.nanoTime() >= end) {
+            return CompletableFuture.completedFuture(null);
+        }
+        RequestType type = pick(mix, ThreadLocalRandom.current().nextInt(totalWeight));
+        long sent = System.nanoTime();
+        return client.sendAsync(type.request().apply(sequence.getAndIncrement()), HttpResponse.BodyHandlers.discarding())
+                .handle((response, failure) -> {
+                    report.record(type.name(), System.nanoTime() - sent, failure != null || response.statusCode() >= 400);
+                    return null;
+                })
+                .thenCompose(ignored -> sendUntil(mix, totalWeight, end, report));
+    }
+
+    private static RequestType pick(final List<RequestType> mix, final int ticket) {
+        int remaining = ticket;
+        for (RequestType type : mix) {
+            remaining -= type.weight();
+            if (remaining < 0) {
+                return type;
+            }
+        }
+        throw new IllegalStateException("Ticket beyond the total weight: " + ticket);
+    }
+
+    @Override
+    public void close() {
+        clientThreads.shutdownNow();
+    }
+}
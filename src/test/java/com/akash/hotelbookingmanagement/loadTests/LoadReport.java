@@ -0,0 +1,96 @@
+package com.akash.hotelbookingmanagement.loadTests;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and errors of a load run, per request name. Latencies are in microseconds, measured from the
+ * time the request was scheduled to arrive, so a server that falls behind shows up in the percentiles.
+ */
+public class LoadReport {
+
+    private static final long HIGHEST_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<String, Histogram> latencies = new TreeMap<>();
+
+    private final Map<String, LongAdder> errors = new TreeMap<>();
+
+    private Duration elapsed = Duration.ZERO;
+
+    LoadReport(final Iterable<String> names) {
+        names.forEach(name -> {
+            latencies.put(name, new ConcurrentHistogram(HIGHEST_LATENCY_MICROS, 3));
+            errors.put(name, new LongAdder());
+        });
+    }
+
+    void record(final String name, final long latencyNanos, final boolean error) {
+        latencies.get(name).recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_LATENCY_MICROS));
+        if (error) {
+            errors.get(name).increment();
+        }
+    }
+
+    void setElapsed(final Duration elapsed) {
+        this.elapsed = elapsed;
+    }
+
+    /**
+     * @return The number of requests sent.
+     */
+    public long getRequests() {
+        return latencies.values().stream().mapToLong(Histogram::getTotalCount).sum();
+    }
+
+    /**
+     * @return The share of requests that failed or were answered with an error status, between 0 and 1.
+     */
+    public double getErrorRate() {
+        long requests = getRequests();
+        return requests == 0 ? 0 : (double) errors.values().stream().mapToLong(LongAdder::sum).sum() / requests;
+    }
+
+    /**
+     * Writes one line per request name, and one for all requests, to a text file.
+     *
+     * @param file The report file, replaced if it exists.
+     */
+    public void write(final Path file) {
+        StringBuilder report = new StringBuilder(String.format(Locale.ROOT, "%-12s %8s %8s %10s %10s %10s %10s %10s%n",
+                "request", "count", "errors", "rate/s", "p50 us", "p99 us", "p999 us", "max us"));
+        Histogram total = new Histogram(HIGHEST_LATENCY_MICROS, 3);
+        long totalErrors = 0;
+        for (Map.Entry<String, Histogram> entry : latencies.entrySet()) {
+            long requestErrors = errors.get(entry.getKey()).sum();
+            appendLine(report, entry.getKey(), entry.getValue(), requestErrors);
+            total.add(entry.getValue());
+            totalErrors += requestErrors;
+        }
+        appendLine(report, "all", total, totalErrors);
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.writeString(file, report);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private void appendLine(final StringBuilder report, final String name, final Histogram histogram, final long requestErrors) {
+        double seconds = Math.max(elapsed.toMillis(), 1) / 1000.0;
+        report.append(String.format(Locale.ROOT, "%-12s %8d %8d %10.1f %10d %10d %10d %10d%n",
+                name, histogram.getTotalCount(), requestErrors, histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(99),
+                histogram.getValueAtPercentile(99.9), histogram.getMaxValue()));
+    }
+}
@@ -0,0 +1,260 @@
+package com.akash.hotelbookingmanagement.soakTests;
+
+import com.akash.hotelbookingmanagement.dto.BookingDetailsDto;
+import com.akash.hotelbookingmanagement.exception.ResourceNotFoundException;
+import com.akash.hotelbookingmanagement.exception.RoomNotAvailableException;
+import com.akash.hotelbookingmanagement.model.Customer;
+import com.akash.hotelbookingmanagement.model.Room;
+import com.akash.hotelbookingmanagement.model.enums.ModeOfBooking;
+import com.akash.hotelbookingmanagement.model.enums.ModeOfPayment;
+import com.akash.hotelbookingmanagement.repository.CustomerRepository;
+import com.akash.hotelbookingmanagement.repository.RoomRepository;
+import com.akash.hotelbookingmanagement.service.BookingDetailsService;
+import com.akash.hotelbookingmanagement.service.RoomOccupancyIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fires overlapping booking creates, updates and deletes at a small pool of rooms from many threads against the
+ * H2 database of the {@code test} profile, then checks that no room was sold twice and that the booking tables
+ * are consistent. The outcome counts and throughput are written to {@code target/soak-report.txt}. Run with
+ * {@code mvn -Psoak test}; the run is tuned with the system properties {@code soak.threads},
+ * {@code soak.operations}, {@code soak.rooms} and {@code soak.nights} (the number of nights stays fall in).
+ */
+@SpringBootTest(properties = "logging.level.root=warn")
+@ActiveProfiles("test")
+@Tag("soak")
+class DoubleBookingSoakTest {
+
+    private static final LocalDate FIRST_NIGHT = LocalDate.of(2032, 1, 1);
+
+    private static final int MAX_NIGHTS_PER_STAY = 3;
+
+    private static final int MAX_ROOMS_PER_BOOKING = 2;
+
+    @Autowired
+    private BookingDetailsService bookingDetailsService;
+
+    @Autowired
+    private RoomOccupancyIndex roomOccupancyIndex;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final int threads = Integer.getInteger("soak.threads", 16);
+
+    private final int operations = Integer.getInteger("soak.operations", 5000);
+
+    private final int nights = Integer.getInteger("soak.nights", 30);
+
+    private final List<Integer> roomNumbers = new ArrayList<>();
+
+    private final List<Integer> bookingIds = new CopyOnWriteArrayList<>();
+
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+    private final Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+    private Integer customerId;
+
+    @BeforeEach
+    void setUp() {
+        customerId = customerRepository.save(new Customer(null, "Soak", "Delhi", 30, "7100000000")).getCustomerId();
+        for (int i = 0; i < Integer.getInteger("soak.rooms", 4); i++) {
+            roomNumbers.add(roomRepository.save(new Room(null, "double", 2, 100 * (i + 1), true, false, false,
+                    new ArrayList<>(), null)).getRoomNumber());
+        }
+    }
+
+    @Test
+    void testConcurrentBookingWrites_NeverDoubleBook() throws InterruptedException {
+        // Arrange
+        AtomicInteger remaining = new AtomicInteger(operations);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // Act
+        long start = System.nanoTime();
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                while (remaining.getAndDecrement() > 0) {
+                    runRandomOperation(ThreadLocalRandom.current());
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.MINUTES), "Soak run did not finish");
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        writeReport(Path.of("target", "soak-report.txt"), elapsed);
+
+        // Assert
+        assertTrue(failures.isEmpty(), () -> failures.size() + " unexpected failures, first: " + failures.peek());
+        assertEquals(List.of(), overlappingBookings());
+        assertEquals(List.of(), bookingsWithWrongBill());
+        assertEquals(List.of(), orphanJoinRows());
+        assertEquals(List.of(), roomNightsOutsideTheirBooking());
+        assertEquals(List.of(), bookingsWithMissingRoomNights());
+        assertEquals(List.of(), roomNightsMissingFromTheIndex());
+    }
+
+    private void runRandomOperation(final ThreadLocalRandom random) {
+        int dice = random.nextInt(10);
+        if (dice < 5 || bookingIds.isEmpty()) {
+            run("create", () -> bookingIds.add(bookingDetailsService.createBooking(randomStay(random)).getBookingId()));
+        } else if (dice < 8) {
+            Integer id = bookingIds.get(random.nextInt(bookingIds.size()));
+            BookingDetailsDto update = random.nextBoolean()
+                    ? randomStay(random)
+                    : BookingDetailsDto.builder().paidAmount(random.nextInt(100)).build();
+            run("update", () -> bookingDetailsService.updateBookingDetails(id, update));
+        } else {
+            Integer id = bookingIds.get(random.nextInt(bookingIds.size()));
+            run("delete", () -> {
+                if (bookingDetailsService.deleteBookingDetails(id)) {
+                    bookingIds.remove(id);
+                } else {
+                    throw new ResourceNotFoundException("Booking details not found with id: " + id);
+                }
+            });
+        }
+    }
+
+    /**
+     * Runs an operation and counts its outcome. Rejections the API reports to clients are expected under
+     * contention; anything else is recorded as a failure.
+     */
+    private void run(final String operation, final Runnable write) {
+        String outcome;
+        try {
+            write.run();
+            outcome = "ok";
+        } catch (RoomNotAvailableException exception) {
+            outcome = "room not available";
+        } catch (ResourceNotFoundException exception) {
+            outcome = "not found";
+        } catch (OptimisticLockingFailureException exception) {
+            outcome = "stale after retries";
+        } catch (RuntimeException exception) {
+            failures.add(exception);
+            outcome = "failed";
+        }
+        outcomes.computeIfAbsent(operation + " " + outcome, key -> new LongAdder()).increment();
+    }
+
+    private BookingDetailsDto randomStay(final ThreadLocalRandom random) {
+        List<Integer> shuffled = new ArrayList<>(roomNumbers);
+        Collections.shuffle(shuffled, random);
+        int stayNights = random.nextInt(1, MAX_NIGHTS_PER_STAY + 1);
+        LocalDate startDate = FIRST_NIGHT.plusDays(random.nextInt(nights - stayNights + 1));
+        return BookingDetailsDto.builder()
+                .duration(stayNights)
+                .startDate(startDate)
+                .endDate(startDate.plusDays(stayNights))
+                .modeOfBooking(ModeOfBooking.online)
+                .modeOfPayment(ModeOfPayment.prepaid)
+                .paidAmount(0)
+                .customerIdList(List.of(customerId))
+                .roomNumberList(shuffled.subList(0, random.nextInt(1, MAX_ROOMS_PER_BOOKING + 1)))
+                .build();
+    }
+
+    private List<String> overlappingBookings() {
+        return jdbcTemplate.queryForList("SELECT CONCAT('room ', a.room_number, ': bookings ', a.booking_id, ' and ', b.booking_id)"
+                + " FROM booked_room_list a"
+                + " JOIN booked_room_list b ON b.room_number = a.room_number AND b.booking_id > a.booking_id"
+                + " JOIN booking_details da ON da.booking_id = a.booking_id"
+                + " JOIN booking_details db ON db.booking_id = b.booking_id"
+                + " WHERE da.start_date < db.end_date AND db.start_date < da.end_date", String.class);
+    }
+
+    private List<Integer> bookingsWithWrongBill() {
+        return jdbcTemplate.queryForList("SELECT d.booking_id FROM booking_details d"
+                + " WHERE d.bill_amount <> (SELECT COALESCE(SUM(r.price_per_day), 0) FROM booked_room_list l"
+                + " JOIN room r ON r.room_number = l.room_number WHERE l.booking_id = d.booking_id)", Integer.class);
+    }
+
+    private List<String> orphanJoinRows() {
+        return jdbcTemplate.queryForList("SELECT CONCAT('booked_room_list ', booking_id) FROM booked_room_list"
+                + " WHERE booking_id NOT IN (SELECT booking_id FROM booking_details)"
+                + " UNION ALL SELECT CONCAT('booking_customer ', booking_id) FROM booking_customer"
+                + " WHERE booking_id NOT IN (SELECT booking_id FROM booking_details)"
+                + " UNION ALL SELECT CONCAT('room_night ', booking_id) FROM room_night"
+                + " WHERE booking_id NOT IN (SELECT booking_id FROM booking_details)", String.class);
+    }
+
+    private List<String> roomNightsOutsideTheirBooking() {
+        return jdbcTemplate.queryForList("SELECT CONCAT('room ', n.room_number, ' night ', n.night, ' booking ', n.booking_id)"
+                + " FROM room_night n JOIN booking_details d ON d.booking_id = n.booking_id"
+                + " LEFT JOIN booked_room_list l ON l.booking_id = n.booking_id AND l.room_number = n.room_number"
+                + " WHERE l.room_number IS NULL OR n.night < d.start_date OR n.night >= d.end_date", String.class);
+    }
+
+    private List<Integer> bookingsWithMissingRoomNights() {
+        return jdbcTemplate.query("SELECT d.booking_id, d.start_date, d.end_date,"
+                        + " (SELECT COUNT(*) FROM booked_room_list l WHERE l.booking_id = d.booking_id) AS rooms,"
+                        + " (SELECT COUNT(*) FROM room_night n WHERE n.booking_id = d.booking_id) AS room_nights"
+                        + " FROM booking_details d",
+                (row, rowNumber) -> {
+                    long stayNights = ChronoUnit.DAYS.between(row.getDate("start_date").toLocalDate(), row.getDate("end_date").toLocalDate());
+                    return row.getLong("rooms") * stayNights == row.getLong("room_nights") ? null : row.getInt("booking_id");
+                }).stream().filter(bookingId -> bookingId != null).toList();
+    }
+
+    private List<String> roomNightsMissingFromTheIndex() {
+        return jdbcTemplate.query("SELECT room_number, night FROM room_night", (row, rowNumber) -> {
+            LocalDate night = row.getDate("night").toLocalDate();
+            int roomNumber = row.getInt("room_number");
+            return roomOccupancyIndex.isFree(List.of(roomNumber), night, night.plusDays(1), null)
+                    ? "room " + roomNumber + " night " + night : null;
+        }).stream().filter(roomNight -> roomNight != null).toList();
+    }
+
+    private void writeReport(final Path path, final Duration elapsed) {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%d threads, %d operations on %d rooms over %d nights in %d ms: %.1f operations/s%n",
+                threads, operations, roomNumbers.size(), nights, elapsed.toMillis(), operations * 1e9 / elapsed.toNanos()));
+        new TreeMap<>(outcomes).forEach((outcome, count) -> report.append(String.format("%-36s %8d%n", outcome, count.sum())));
+        try {
+            Files.createDirectories(path.getParent());
+            Files.writeString(path, report);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
@@ -1,13 +1,24 @@
 package com.akash.hotelbookingmanagement.unitTests.api;
 
 import com.akash.hotelbookingmanagement.api.BookingDetailsController;
+import com.akash.hotelbookingmanagement.api.KeysetPagination;
 import com.akash.hotelbookingmanagement.model.BookingDetails;
+import com.akash.hotelbookingmanagement.model.BookingTicket;
 import com.akash.hotelbookingmanagement.dto.BookingDetailsDto;
+import com.akash.hotelbookingmanagement.dto.BookingView;
+import com.akash.hotelbookingmanagement.dto.BulkBookingResult;
+import com.akash.hotelbookingmanagement.dto.RoomHoldDto;
 import com.akash.hotelbookingmanagement.model.Customer;
 import com.akash.hotelbookingmanagement.model.Room;
+import com.akash.hotelbookingmanagement.model.RoomHold;
+import com.akash.hotelbookingmanagement.model.enums.BookingTicketStatus;
 import com.akash.hotelbookingmanagement.model.enums.ModeOfBooking;
 import com.akash.hotelbookingmanagement.model.enums.ModeOfPayment;
 import com.akash.hotelbookingmanagement.service.BookingDetailsService;
+import com.akash.hotelbookingmanagement.service.BookingExportService;
+import com.akash.hotelbookingmanagement.service.BookingImportService;
+import com.akash.hotelbookingmanagement.service.BookingTicketService;
+import com.akash.hotelbookingmanagement.service.RoomHoldService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,15 +26,27 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
@@ -32,11 +55,27 @@ public class BookingDetailsControllerTest {
     @Mock
     private BookingDetailsService bookingDetailsService;
 
+    @Mock
+    private RoomHoldService roomHoldService;
+
+    @Mock
+    private BookingExportService bookingExportService;
+
+    @Mock
+    private BookingImportService bookingImportService;
+
+    @Mock
+    private BookingTicketService bookingTicketService;
+
+    @Spy
+    private KeysetPagination keysetPagination = new KeysetPagination(20, 100);
+
     @InjectMocks
     private BookingDetailsController bookingDetailsController;
 
     private BookingDetails testBookingDetails;
     private BookingDetailsDto testBookingDetailsDto;
+    private BookingView testBookingView;
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -54,6 +93,10 @@ public class BookingDetailsControllerTest {
         testBookingDetails.setBillAmount(500);
         testBookingDetails.setPaidAmount(250);
 
+        // Setup testBookingView
+        testBookingView = new BookingView(1, 5, LocalDate.of(2024, 4, 1), LocalDate.of(2024, 4, 6),
+                ModeOfBooking.online, ModeOfPayment.prepaid, 500, 250, List.of(1), List.of(101));
+
         // Set up a test booking details dto
         testBookingDetailsDto = new BookingDetailsDto();
         testBookingDetailsDto.setDuration(5);
@@ -75,22 +118,67 @@ public class BookingDetailsControllerTest {
         assertEquals(HttpStatus.CREATED, responseEntity.getStatusCode());
     }
 
+    @Test
+    @DisplayName("Should accept a booking and point to its ticket")
+    void testSubmitBookingDetails() {
+        BookingTicket ticket = BookingTicket.builder().ticketId("ticket-1").status(BookingTicketStatus.PENDING).build();
+        when(bookingTicketService.submit(testBookingDetailsDto)).thenReturn(ticket);
+        ResponseEntity<BookingTicket> responseEntity = bookingDetailsController.submitBookingDetails(testBookingDetailsDto);
+
+        assertEquals(HttpStatus.ACCEPTED, responseEntity.getStatusCode());
+        assertEquals("/booking/tickets/ticket-1", responseEntity.getHeaders().getLocation().toString());
+        assertEquals(ticket, responseEntity.getBody());
+    }
+
+    @Test
+    @DisplayName("Should get a booking ticket")
+    void testGetBookingTicket() {
+        BookingTicket ticket = BookingTicket.builder().ticketId("ticket-1").status(BookingTicketStatus.CREATED).bookingId(1).build();
+        when(bookingTicketService.getTicket("ticket-1")).thenReturn(ticket);
+        ResponseEntity<BookingTicket> responseEntity = bookingDetailsController.getBookingTicket("ticket-1");
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(ticket, responseEntity.getBody());
+    }
+
+    @Test
+    @DisplayName("Should hold rooms")
+    void testCreateRoomHold() {
+        RoomHoldDto roomHoldDto = new RoomHoldDto(List.of(101), LocalDate.now(), LocalDate.now().plusDays(2), 10);
+        when(roomHoldService.createHold(roomHoldDto)).thenReturn(new RoomHold());
+        ResponseEntity<RoomHold> responseEntity = bookingDetailsController.createRoomHold(roomHoldDto);
+
+        assertEquals(HttpStatus.CREATED, responseEntity.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Should release a room hold")
+    void testReleaseRoomHold() {
+        ResponseEntity<Void> responseEntity = bookingDetailsController.releaseRoomHold(1);
+
+        assertEquals(HttpStatus.NO_CONTENT, responseEntity.getStatusCode());
+        verify(roomHoldService, times(1)).releaseHold(1);
+    }
+
     @Test
     @DisplayName("Should get all bookings")
     void testGetAllBookingDetails() {
-        when(bookingDetailsService.getAllBookingDetails()).thenReturn(Arrays.asList(testBookingDetails));
-        ResponseEntity<Iterable<BookingDetails>> responseEntity = bookingDetailsController.getAllBookingDetails();
+        List<BookingView> bookingViews = List.of(testBookingView);
+        when(bookingDetailsService.getAllBookingDetails(5, 10)).thenReturn(bookingViews);
+        ResponseEntity<List<BookingView>> responseEntity = bookingDetailsController.getAllBookingDetails(5, 10);
 
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(bookingViews, responseEntity.getBody());
     }
 
     @Test
     @DisplayName("Should get booking by ID")
     void testGetBookingDetailsById() {
-        when(bookingDetailsService.getBookingDetails(testBookingDetails.getBookingId())).thenReturn(testBookingDetails);
-        ResponseEntity<BookingDetails> responseEntity = bookingDetailsController.getBookingDetailsById(1);
+        when(bookingDetailsService.getBookingView(1)).thenReturn(testBookingView);
+        ResponseEntity<BookingView> responseEntity = bookingDetailsController.getBookingDetailsById(1);
 
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(List.of(101), responseEntity.getBody().getRoomNumberList());
     }
 
     @Test
@@ -110,4 +198,63 @@ public class BookingDetailsControllerTest {
 
         assertEquals(HttpStatus.NO_CONTENT, responseEntity.getStatusCode());
     }
+
+    @Test
+    @DisplayName("Should stream the bookings export as NDJSON")
+    void testExportBookings() throws IOException {
+        // Arrange
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write("{\"bookingId\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(bookingExportService).exportBookings(any(OutputStream.class));
+
+        // Act
+        ResponseEntity<StreamingResponseBody> responseEntity = bookingDetailsController.exportBookings(null);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        responseEntity.getBody().writeTo(body);
+
+        // Assert
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(MediaType.APPLICATION_NDJSON, responseEntity.getHeaders().getContentType());
+        assertNull(responseEntity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("{\"bookingId\":1}\n", body.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should gzip the bookings export when the client accepts it")
+    void testExportBookingsGzipped() throws IOException {
+        // Arrange
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write("{\"bookingId\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(bookingExportService).exportBookings(any(OutputStream.class));
+
+        // Act
+        ResponseEntity<StreamingResponseBody> responseEntity = bookingDetailsController.exportBookings("gzip, deflate");
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        responseEntity.getBody().writeTo(body);
+
+        // Assert
+        assertEquals("gzip", responseEntity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        try (GZIPInputStream unzipped = new GZIPInputStream(new ByteArrayInputStream(body.toByteArray()))) {
+            assertEquals("{\"bookingId\":1}\n", new String(unzipped.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @DisplayName("Should import a batch of bookings sent as NDJSON")
+    void testImportBookingsNdjson() {
+        // Arrange
+        InputStream body = new ByteArrayInputStream(new byte[0]);
+        List<BulkBookingResult> results = List.of(BulkBookingResult.created(0, 1), BulkBookingResult.rejected(1, "All rooms selected are currently not available"));
+        when(bookingImportService.readBookings(body)).thenReturn(List.of(testBookingDetailsDto, testBookingDetailsDto));
+        when(bookingImportService.importBookings(List.of(testBookingDetailsDto, testBookingDetailsDto))).thenReturn(results);
+
+        // Act
+        ResponseEntity<List<BulkBookingResult>> responseEntity = bookingDetailsController.importBookingsNdjson(body);
+
+        // Assert
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(results, responseEntity.getBody());
+    }
 }
@@ -1,8 +1,11 @@
 package com.akash.hotelbookingmanagement.unitTests.api;
 
 import com.akash.hotelbookingmanagement.api.CustomerController;
+import com.akash.hotelbookingmanagement.api.KeysetPagination;
+import com.akash.hotelbookingmanagement.dto.CustomerView;
 import com.akash.hotelbookingmanagement.model.Customer;
 import com.akash.hotelbookingmanagement.service.CustomerService;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,11 +13,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -27,6 +37,9 @@ public class CustomerControllerTest {
     @Mock
     private CustomerService customerService;
 
+    @Spy
+    private KeysetPagination keysetPagination = new KeysetPagination(20, 100);
+
     @InjectMocks
     private CustomerController customerController;
 
@@ -35,6 +48,11 @@ public class CustomerControllerTest {
         MockitoAnnotations.openMocks(this);
     }
 
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
     @Test
     @DisplayName("Should create a customer")
     void testCreateCustomer() {
@@ -51,27 +69,44 @@ public class CustomerControllerTest {
     @Test
     @DisplayName("Should get all customers")
     void testGetAllCustomers() {
-        Customer customer1 = new Customer("Akash", "Gemini", 30, "1234567890");
-        Customer customer2 = new Customer("Aman", "Delhi", 25, "9876543210");
+        List<CustomerView> customerList = Arrays.asList(mock(CustomerView.class), mock(CustomerView.class));
 
-        List<Customer> customerList = Arrays.asList(customer1, customer2);
+        when(customerService.getAllCustomers(null, 20)).thenReturn(customerList);
 
-        when(customerService.getAllCustomers()).thenReturn(customerList);
-
-        ResponseEntity<Iterable<Customer>> responseEntity = customerController.getAllCustomers();
+        ResponseEntity<List<CustomerView>> responseEntity = customerController.getAllCustomers(null, null);
 
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
         assertEquals(customerList, responseEntity.getBody());
     }
 
+    @Test
+    @DisplayName("Should cap the page size and link to the next page")
+    void testGetAllCustomers_NextPage() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/customer/");
+        request.setQueryString("limit=500");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        CustomerView lastCustomer = mock(CustomerView.class);
+        when(lastCustomer.getCustomerId()).thenReturn(140);
+        List<CustomerView> customerList = new ArrayList<>(Collections.nCopies(99, mock(CustomerView.class)));
+        customerList.add(lastCustomer);
+
+        when(customerService.getAllCustomers(40, 100)).thenReturn(customerList);
+
+        ResponseEntity<List<CustomerView>> responseEntity = customerController.getAllCustomers(40, 500);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals("140", responseEntity.getHeaders().getFirst(KeysetPagination.NEXT_CURSOR_HEADER));
+        assertEquals("<http://localhost/customer/?after=140&limit=100>; rel=\"next\"", responseEntity.getHeaders().getFirst(HttpHeaders.LINK));
+    }
+
     @Test
     @DisplayName("Should get customer by ID")
     void testGetCustomer() {
-        Customer customer = new Customer("Akash", "Gemini", 30, "1234567890");
+        CustomerView customer = mock(CustomerView.class);
 
-        when(customerService.getCustomerById(anyInt())).thenReturn(customer);
+        when(customerService.getCustomerView(anyInt())).thenReturn(customer);
 
-        ResponseEntity<Customer> responseEntity = customerController.getCustomer(1);
+        ResponseEntity<CustomerView> responseEntity = customerController.getCustomer(1);
 
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
         assertEquals(customer, responseEntity.getBody());
@@ -1,10 +1,15 @@
 package com.akash.hotelbookingmanagement.unitTests.api;
 
+import com.akash.hotelbookingmanagement.api.KeysetPagination;
 import com.akash.hotelbookingmanagement.api.RoomController;
+import com.akash.hotelbookingmanagement.dto.CustomerView;
 import com.akash.hotelbookingmanagement.dto.RoomDto;
+import com.akash.hotelbookingmanagement.dto.RoomSearchCriteria;
+import com.akash.hotelbookingmanagement.dto.RoomView;
 import com.akash.hotelbookingmanagement.model.Customer;
 import com.akash.hotelbookingmanagement.model.Room;
 import com.akash.hotelbookingmanagement.service.RoomService;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,15 +17,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -30,10 +42,14 @@ public class RoomControllerTest {
     @Mock
     private RoomService roomService;
 
+    @Spy
+    private KeysetPagination keysetPagination = new KeysetPagination(20, 100);
+
     @InjectMocks
     private RoomController roomController;
 
     private Room testRoom;
+    private RoomView testRoomView;
     private RoomDto testRoomDto;
     private Customer testCustomer;
 
@@ -57,6 +73,9 @@ public class RoomControllerTest {
                 .checkedInCustomers(Arrays.asList(testCustomer))
                 .build();
 
+        // Initialize test RoomView
+        testRoomView = new RoomView(101, "Standard", 2, 100, true, false, false, List.of(testCustomer.getCustomerId()));
+
         // Initialize test RoomDto
         testRoomDto = new RoomDto();
         testRoomDto.setType("Standard");
@@ -65,6 +84,11 @@ public class RoomControllerTest {
         testRoomDto.setCheckedInCustomerIdList(Collections.singletonList(testCustomer.getCustomerId()));
     }
 
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
     @Test
     @DisplayName("Should create a room")
     void testCreateRoom() {
@@ -79,35 +103,65 @@ public class RoomControllerTest {
     @Test
     @DisplayName("Should get all rooms")
     void testGetAllRooms() {
-        List<Room> roomList = Arrays.asList(testRoom, new Room());
+        List<RoomView> roomList = List.of(testRoomView);
 
-        when(roomService.getAllRooms()).thenReturn(roomList);
+        when(roomService.getAllRooms(null, 20)).thenReturn(roomList);
 
-        ResponseEntity<Iterable<Room>> responseEntity = roomController.getAllRooms();
+        ResponseEntity<List<RoomView>> responseEntity = roomController.getAllRooms(null, null);
 
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
         assertEquals(roomList, responseEntity.getBody());
     }
 
+    @Test
+    @DisplayName("Should search available rooms with a link to the next page")
+    void testSearchAvailableRooms() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/rooms/available");
+        request.setQueryString("from=2024-05-01&to=2024-05-03&limit=1");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        RoomSearchCriteria criteria = RoomSearchCriteria.builder().from(LocalDate.of(2024, 5, 1)).to(LocalDate.of(2024, 5, 3)).build();
+        when(roomService.searchAvailableRooms(criteria, null, 1)).thenReturn(List.of(testRoomView));
+
+        ResponseEntity<List<RoomView>> responseEntity = roomController.searchAvailableRooms(criteria, null, 1);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(List.of(testRoomView), responseEntity.getBody());
+        assertEquals("101", responseEntity.getHeaders().getFirst(KeysetPagination.NEXT_CURSOR_HEADER));
+        assertEquals("<http://localhost/rooms/available?from=2024-05-01&to=2024-05-03&after=101&limit=1>; rel=\"next\"",
+                responseEntity.getHeaders().getFirst(HttpHeaders.LINK));
+    }
+
+    @Test
+    @DisplayName("Should search available rooms without a next page")
+    void testSearchAvailableRooms_LastPage() {
+        RoomSearchCriteria criteria = RoomSearchCriteria.builder().from(LocalDate.of(2024, 5, 1)).to(LocalDate.of(2024, 5, 3)).build();
+        when(roomService.searchAvailableRooms(criteria, 101, 100)).thenReturn(List.of());
+
+        ResponseEntity<List<RoomView>> responseEntity = roomController.searchAvailableRooms(criteria, 101, 500);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertNull(responseEntity.getHeaders().getFirst(KeysetPagination.NEXT_CURSOR_HEADER));
+    }
+
     @Test
     @DisplayName("Should get room by room number")
     void testGetRoomByRoomNumber() {
-        when(roomService.getRoomByRoomNumber(anyInt())).thenReturn(testRoom);
+        when(roomService.getRoomView(anyInt())).thenReturn(testRoomView);
 
-        ResponseEntity<Room> responseEntity = roomController.getRoomByRoomNumber(101);
+        ResponseEntity<RoomView> responseEntity = roomController.getRoomByRoomNumber(101);
 
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
-        assertEquals(testRoom, responseEntity.getBody());
+        assertEquals(testRoomView, responseEntity.getBody());
     }
 
     @Test
     @DisplayName("Should get rooms by type")
     void testGetRoomsByType() {
-        List<Room> roomList = Arrays.asList(testRoom, new Room());
+        List<RoomView> roomList = List.of(testRoomView);
 
         when(roomService.getRoomsByType(anyString())).thenReturn(roomList);
 
-        ResponseEntity<Iterable<Room>> responseEntity = roomController.getRoomsByType("Standard");
+        ResponseEntity<List<RoomView>> responseEntity = roomController.getRoomsByType("Standard");
 
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
         assertEquals(roomList, responseEntity.getBody());
@@ -116,11 +170,11 @@ public class RoomControllerTest {
     @Test
     @DisplayName("Should get checked-in customers for a room")
     void testGetCheckedInCustomers() {
-        List<Customer> customerList = Collections.singletonList(testCustomer);
+        List<CustomerView> customerList = List.of(mock(CustomerView.class));
 
         when(roomService.getCheckedInCustomers(anyInt())).thenReturn(customerList);
 
-        ResponseEntity<Iterable<Customer>> responseEntity = roomController.getCheckedInCustomers(101);
+        ResponseEntity<List<CustomerView>> responseEntity = roomController.getCheckedInCustomers(101);
 
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
         assertEquals(customerList, responseEntity.getBody());
@@ -0,0 +1,119 @@
+package com.akash.hotelbookingmanagement.unitTests.concurrency;
+
+import com.akash.hotelbookingmanagement.concurrency.OptimisticLockRetryAspect;
+import com.akash.hotelbookingmanagement.metrics.RequestSqlStats;
+import com.akash.hotelbookingmanagement.metrics.SqlBudgetStatementInspector;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OptimisticLockRetryAspectTest {
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    @Mock
+    private Signature signature;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private OptimisticLockRetryAspect aspect;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        aspect = new OptimisticLockRetryAspect(3, 1, 2, meterRegistry);
+    }
+
+    @Test
+    void testRetry_SucceedsAfterStaleVersion() throws Throwable {
+        // Arrange
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.proceed())
+                .thenThrow(new ObjectOptimisticLockingFailureException("Room", 101))
+                .thenReturn("updated");
+
+        // Act
+        Object result = aspect.retry(joinPoint);
+
+        // Assert
+        assertEquals("updated", result);
+        verify(joinPoint, times(2)).proceed();
+        assertEquals(1, meterRegistry.counter("booking.optimistic.retries").count());
+    }
+
+    @Test
+    void testRetry_GivesUpAfterMaxAttempts() throws Throwable {
+        // Arrange
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.proceed()).thenThrow(new OptimisticLockException("stale"));
+
+        // Act & Assert
+        assertThrows(OptimisticLockException.class, () -> aspect.retry(joinPoint));
+        verify(joinPoint, times(3)).proceed();
+        assertEquals(2, meterRegistry.counter("booking.optimistic.retries").count());
+        assertEquals(1, meterRegistry.counter("booking.optimistic.retries.exhausted").count());
+    }
+
+    @Test
+    void testRetry_InterruptedBackOffRethrowsTheStaleVersion() throws Throwable {
+        // Arrange
+        ObjectOptimisticLockingFailureException stale = new ObjectOptimisticLockingFailureException("Room", 101);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.proceed()).thenThrow(stale);
+        Thread.currentThread().interrupt();
+
+        // Act & Assert
+        try {
+            assertSame(stale, assertThrows(ObjectOptimisticLockingFailureException.class, () -> aspect.retry(joinPoint)));
+            assertTrue(Thread.currentThread().isInterrupted());
+            verify(joinPoint, times(1)).proceed();
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    void testRetry_EachAttemptHasTheWholeSqlBudget() throws Throwable {
+        // Arrange
+        SqlBudgetStatementInspector inspector = new SqlBudgetStatementInspector();
+        RequestSqlStats.start().setBudget("BookingDetailsController.updateBookingDetails", 1, true);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.proceed())
+                .thenAnswer(invocation -> {
+                    inspector.inspect("update booking_details set paid_amount=? where booking_id=? and version=?");
+                    throw new ObjectOptimisticLockingFailureException("BookingDetails", 1);
+                })
+                .thenAnswer(invocation -> inspector.inspect("update booking_details set paid_amount=? where booking_id=? and version=?"));
+
+        // Act & Assert
+        try {
+            assertDoesNotThrow(() -> aspect.retry(joinPoint));
+            assertFalse(RequestSqlStats.current().isOverBudget());
+        } finally {
+            RequestSqlStats.stop();
+        }
+    }
+
+    @Test
+    void testRetry_OtherFailuresAreNotRetried() throws Throwable {
+        // Arrange
+        when(joinPoint.proceed()).thenThrow(new IllegalArgumentException("bad input"));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> aspect.retry(joinPoint));
+        verify(joinPoint, times(1)).proceed();
+        assertEquals(0, meterRegistry.counter("booking.optimistic.retries").count());
+    }
+}
@@ -0,0 +1,61 @@
+package com.akash.hotelbookingmanagement.unitTests.concurrency;
+
+import com.akash.hotelbookingmanagement.concurrency.RoomLockManager;
+import com.akash.hotelbookingmanagement.exception.RoomNotAvailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomLockManagerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private RoomLockManager roomLockManager;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        roomLockManager = new RoomLockManager(16, 50, meterRegistry);
+    }
+
+    @Test
+    void testLock_DisjointRoomsDoNotBlock() throws Exception {
+        try (RoomLockManager.RoomLocks ignored = roomLockManager.lock(List.of(1))) {
+            CompletableFuture<Void> other = CompletableFuture.runAsync(() -> roomLockManager.lock(List.of(2)).close());
+            other.get(1, TimeUnit.SECONDS);
+        }
+        assertEquals(0, meterRegistry.counter("booking.room.lock.timeouts").count());
+    }
+
+    @Test
+    void testLock_ContendedRoomTimesOut() {
+        try (RoomLockManager.RoomLocks ignored = roomLockManager.lock(List.of(3, 1))) {
+            CompletableFuture<Void> other = CompletableFuture.runAsync(() -> roomLockManager.lock(List.of(1, 2)).close());
+
+            Exception exception = assertThrows(Exception.class, () -> other.get(1, TimeUnit.SECONDS));
+            assertInstanceOf(RoomNotAvailableException.class, exception.getCause());
+        }
+        assertEquals(1, meterRegistry.counter("booking.room.lock.timeouts").count());
+        assertEquals(1, meterRegistry.counter("booking.room.lock.contended").count());
+    }
+
+    @Test
+    void testLock_ReleasedAfterClose() throws Exception {
+        roomLockManager.lock(List.of(1, 2)).close();
+
+        CompletableFuture<Void> other = CompletableFuture.runAsync(() -> roomLockManager.lock(List.of(2, 1)).close());
+        other.get(1, TimeUnit.SECONDS);
+        assertEquals(0, meterRegistry.counter("booking.room.lock.contended").count());
+    }
+
+    @Test
+    void testLockUntilTransactionCompletes_RequiresTransaction() {
+        assertThrows(IllegalStateException.class, () -> roomLockManager.lockUntilTransactionCompletes(List.of(1)));
+    }
+}
@@ -0,0 +1,171 @@
+package com.akash.hotelbookingmanagement.unitTests.concurrency;
+
+import com.akash.hotelbookingmanagement.concurrency.SingleFlight;
+import com.akash.hotelbookingmanagement.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final int FOLLOWERS = 8;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private SingleFlight<Integer, String> singleFlight;
+
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(FOLLOWERS + 1);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>("test", 5000, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void testExecute_ConcurrentCallersShareOneLookup() throws Exception {
+        // Arrange
+        List<CompletableFuture<String>> calls = startBurst(() -> {
+            lookups.incrementAndGet();
+            awaitRelease();
+            return "room 1";
+        });
+
+        // Act
+        release.countDown();
+
+        // Assert
+        for (CompletableFuture<String> call : calls) {
+            assertEquals("room 1", call.get(1, TimeUnit.SECONDS));
+        }
+        assertEquals(1, lookups.get());
+        assertEquals(FOLLOWERS, calls("coalesced"));
+        assertEquals(1, calls("executed"));
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    void testExecute_ExceptionSharedWithFollowers() throws Exception {
+        // Arrange
+        List<CompletableFuture<String>> calls = startBurst(() -> {
+            awaitRelease();
+            throw new ResourceNotFoundException("Room details not found with room number: 1");
+        });
+
+        // Act
+        release.countDown();
+
+        // Assert
+        for (CompletableFuture<String> call : calls) {
+            ExecutionException exception = assertThrows(ExecutionException.class, () -> call.get(1, TimeUnit.SECONDS));
+            assertInstanceOf(ResourceNotFoundException.class, exception.getCause());
+        }
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    void testExecute_FollowerTimesOutAndRunsOwnLookup() throws Exception {
+        // Arrange
+        singleFlight = new SingleFlight<>("test", 50, meterRegistry);
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> singleFlight.execute(1, () -> {
+            awaitRelease();
+            return "slow";
+        }), callers);
+        awaitInFlight();
+
+        // Act
+        String result = singleFlight.execute(1, () -> "own");
+
+        // Assert
+        assertEquals("own", result);
+        assertEquals(1, meterRegistry.counter("booking.single.flight.timeouts", "flight", "test").count());
+        release.countDown();
+        assertEquals("slow", leader.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testExecute_SequentialCallersRunOwnLookups() {
+        // Act
+        singleFlight.execute(1, () -> "first " + lookups.incrementAndGet());
+        String second = singleFlight.execute(1, () -> "second " + lookups.incrementAndGet());
+
+        // Assert
+        assertEquals("second 2", second);
+        assertEquals(0, calls("coalesced"));
+    }
+
+    @Test
+    void testExecute_InsideTransactionNeverShared() {
+        // Arrange
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            // Act
+            String result = singleFlight.execute(1, () -> "own " + singleFlight.inFlight());
+
+            // Assert
+            assertEquals("own 0", result);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+    }
+
+    /**
+     * Starts a lookup of key 1 and, once it is in flight, as many concurrent callers of the same key as followers.
+     */
+    private List<CompletableFuture<String>> startBurst(final Supplier<String> lookup) throws InterruptedException {
+        List<CompletableFuture<String>> calls = new ArrayList<>();
+        calls.add(CompletableFuture.supplyAsync(() -> singleFlight.execute(1, lookup), callers));
+        awaitInFlight();
+        for (int i = 0; i < FOLLOWERS; i++) {
+            calls.add(CompletableFuture.supplyAsync(() -> singleFlight.execute(1, lookup), callers));
+        }
+        while (calls("coalesced") < FOLLOWERS) {
+            Thread.sleep(5);
+        }
+        return calls;
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        while (singleFlight.inFlight() == 0) {
+            Thread.sleep(5);
+        }
+    }
+
+    private void awaitRelease() {
+        try {
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private double calls(final String result) {
+        return meterRegistry.counter("booking.single.flight.calls", "flight", "test", "result", result).count();
+    }
+}
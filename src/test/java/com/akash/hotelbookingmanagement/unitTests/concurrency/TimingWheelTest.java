@@ -0,0 +1,90 @@
+package com.akash.hotelbookingmanagement.unitTests.concurrency;
+
+import com.akash.hotelbookingmanagement.concurrency.TimingWheel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    // 10 ms ticks, 8 slots, 3 levels: level 0 spans 80 ms, level 1 spans 640 ms, level 2 spans 5120 ms
+    private TimingWheel<Integer> timingWheel;
+
+    @BeforeEach
+    void setUp() {
+        timingWheel = new TimingWheel<>(10, 8, 3, START);
+    }
+
+    @Test
+    void testAdvance_FiresWithinLowestLevel() {
+        timingWheel.schedule(1, START + 30);
+
+        assertEquals(List.of(), timingWheel.advance(START + 29));
+        assertEquals(List.of(1), timingWheel.advance(START + 30));
+        assertEquals(0, timingWheel.size());
+    }
+
+    @Test
+    void testAdvance_CascadesFromHigherLevels() {
+        timingWheel.schedule(1, START + 95);
+        timingWheel.schedule(2, START + 700);
+        timingWheel.schedule(3, START + 4000);
+
+        List<Integer> fired = new ArrayList<>();
+        long firstFiredAt1 = -1;
+        long firstFiredAt2 = -1;
+        long firstFiredAt3 = -1;
+        for (long now = START; now <= START + 5000; now += 10) {
+            List<Integer> due = timingWheel.advance(now);
+            fired.addAll(due);
+            firstFiredAt1 = due.contains(1) ? now : firstFiredAt1;
+            firstFiredAt2 = due.contains(2) ? now : firstFiredAt2;
+            firstFiredAt3 = due.contains(3) ? now : firstFiredAt3;
+        }
+
+        assertEquals(List.of(1, 2, 3), fired);
+        assertEquals(START + 100, firstFiredAt1);
+        assertEquals(START + 700, firstFiredAt2);
+        assertEquals(START + 4000, firstFiredAt3);
+    }
+
+    @Test
+    void testAdvance_DeadlineBeyondRange() {
+        timingWheel.schedule(1, START + 12_000);
+
+        assertEquals(List.of(), timingWheel.advance(START + 11_990));
+        assertEquals(List.of(1), timingWheel.advance(START + 12_000));
+    }
+
+    @Test
+    void testAdvance_PastDeadlineFiresOnNextAdvance() {
+        timingWheel.schedule(1, START - 500);
+
+        assertEquals(List.of(1), timingWheel.advance(START));
+    }
+
+    @Test
+    void testCancel() {
+        timingWheel.schedule(1, START + 50);
+        timingWheel.schedule(2, START + 50);
+
+        assertTrue(timingWheel.cancel(1));
+        assertFalse(timingWheel.cancel(3));
+        assertEquals(List.of(2), timingWheel.advance(START + 1000));
+    }
+
+    @Test
+    void testSchedule_ReplacesDeadline() {
+        timingWheel.schedule(1, START - 10);
+        timingWheel.schedule(1, START + 200);
+
+        assertEquals(List.of(), timingWheel.advance(START + 190));
+        assertEquals(List.of(1), timingWheel.advance(START + 200));
+    }
+}
@@ -0,0 +1,150 @@
+package com.akash.hotelbookingmanagement.unitTests.config;
+
+import com.akash.hotelbookingmanagement.config.BookingDetailsMapperImpl;
+import com.akash.hotelbookingmanagement.config.RoomMapperImpl;
+import com.akash.hotelbookingmanagement.dto.BookingDetailsDto;
+import com.akash.hotelbookingmanagement.dto.RoomDto;
+import com.akash.hotelbookingmanagement.model.BookingDetails;
+import com.akash.hotelbookingmanagement.model.Customer;
+import com.akash.hotelbookingmanagement.model.Room;
+import com.akash.hotelbookingmanagement.model.enums.ModeOfBooking;
+import com.akash.hotelbookingmanagement.model.enums.ModeOfPayment;
+import com.akash.hotelbookingmanagement.service.CustomerService;
+import com.akash.hotelbookingmanagement.service.RoomService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks the generated mappers against the ModelMapper configuration they replace.
+ */
+@ExtendWith(MockitoExtension.class)
+class MapperTest {
+
+    @InjectMocks
+    private RoomMapperImpl roomMapper;
+
+    @InjectMocks
+    private BookingDetailsMapperImpl bookingDetailsMapper;
+
+    @Mock
+    private CustomerService customerService;
+
+    @Mock
+    private RoomService roomService;
+
+    private final ModelMapper modelMapper = strictModelMapper();
+
+    @Test
+    void testRoomToEntity_SameFieldsAsModelMapper() {
+        // Arrange
+        RoomDto roomDto = new RoomDto();
+        roomDto.setType("Deluxe");
+        roomDto.setOccupancy(3);
+        roomDto.setPricePerDay(150);
+        roomDto.setIsCheckedIn(true);
+
+        // Act
+        Room room = roomMapper.convertToEntity(roomDto);
+        Room expected = modelMapper.map(roomDto, Room.class);
+
+        // Assert
+        assertEquals(expected.getType(), room.getType());
+        assertEquals(expected.getOccupancy(), room.getOccupancy());
+        assertEquals(expected.getPricePerDay(), room.getPricePerDay());
+        assertEquals(expected.getIsCheckedIn(), room.getIsCheckedIn());
+        assertEquals(expected.getAvailability(), room.getAvailability());
+        assertNull(room.getCheckedInCustomers());
+        verifyNoInteractions(customerService);
+    }
+
+    @Test
+    void testRoomToEntity_ResolvesCheckedInCustomers() {
+        // Arrange
+        Customer customer = new Customer(1, "Akash", "Delhi", 30, "1234567890");
+        RoomDto roomDto = new RoomDto();
+        roomDto.setCheckedInCustomerIdList(List.of(1));
+        when(customerService.getCustomersByIds(List.of(1))).thenReturn(List.of(customer));
+
+        // Act
+        Room room = roomMapper.convertToEntity(roomDto);
+
+        // Assert
+        assertEquals(List.of(customer), room.getCheckedInCustomers());
+        assertEquals(List.of(1), roomMapper.convertToDto(room).getCheckedInCustomerIdList());
+    }
+
+    @Test
+    void testBookingToEntity_SameFieldsAsModelMapper() {
+        // Arrange
+        Room room = Room.builder().roomNumber(101).build();
+        BookingDetailsDto bookingDetailsDto = BookingDetailsDto.builder()
+                .duration(2)
+                .startDate(LocalDate.of(2030, 1, 1))
+                .endDate(LocalDate.of(2030, 1, 3))
+                .modeOfBooking(ModeOfBooking.online)
+                .modeOfPayment(ModeOfPayment.prepaid)
+                .paidAmount(100)
+                .roomNumberList(List.of(101))
+                .customerIdList(List.of())
+                .holdId(7)
+                .build();
+        when(roomService.getRoomsByRoomNumbers(List.of(101))).thenReturn(List.of(room));
+
+        // Act
+        BookingDetails bookingDetails = bookingDetailsMapper.convertToEntity(bookingDetailsDto);
+        BookingDetails expected = modelMapper.map(bookingDetailsDto, BookingDetails.class);
+
+        // Assert
+        assertEquals(expected.getDuration(), bookingDetails.getDuration());
+        assertEquals(expected.getStartDate(), bookingDetails.getStartDate());
+        assertEquals(expected.getEndDate(), bookingDetails.getEndDate());
+        assertEquals(expected.getModeOfBooking(), bookingDetails.getModeOfBooking());
+        assertEquals(expected.getModeOfPayment(), bookingDetails.getModeOfPayment());
+        assertEquals(expected.getPaidAmount(), bookingDetails.getPaidAmount());
+        assertNull(bookingDetails.getBookingId());
+        assertNull(bookingDetails.getBillAmount());
+        assertNull(bookingDetails.getCustomerList());
+        assertEquals(List.of(room), bookingDetails.getRoomList());
+        verifyNoInteractions(customerService);
+    }
+
+    @Test
+    void testBookingToDto_ExtractsIds() {
+        // Arrange
+        BookingDetails bookingDetails = BookingDetails.builder()
+                .bookingId(1)
+                .duration(2)
+                .startDate(LocalDate.of(2030, 1, 1))
+                .endDate(LocalDate.of(2030, 1, 3))
+                .customerList(List.of(new Customer(4, "Akash", "Delhi", 30, "1234567890")))
+                .roomList(List.of(Room.builder().roomNumber(101).build(), Room.builder().roomNumber(102).build()))
+                .build();
+
+        // Act
+        BookingDetailsDto bookingDetailsDto = bookingDetailsMapper.convertToDto(bookingDetails);
+
+        // Assert
+        assertEquals(2, bookingDetailsDto.getDuration());
+        assertEquals(LocalDate.of(2030, 1, 3), bookingDetailsDto.getEndDate());
+        assertEquals(List.of(4), bookingDetailsDto.getCustomerIdList());
+        assertEquals(List.of(101, 102), bookingDetailsDto.getRoomNumberList());
+        assertNull(bookingDetailsDto.getHoldId());
+    }
+
+    private static ModelMapper strictModelMapper() {
+        ModelMapper modelMapper = new ModelMapper();
+        modelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT);
+        return modelMapper;
+    }
+}
@@ -0,0 +1,105 @@
+package com.akash.hotelbookingmanagement.unitTests.metrics;
+
+import com.akash.hotelbookingmanagement.exception.SqlBudgetExceededException;
+import com.akash.hotelbookingmanagement.metrics.RequestSqlStats;
+import com.akash.hotelbookingmanagement.metrics.SqlBudget;
+import com.akash.hotelbookingmanagement.metrics.SqlBudgetInterceptor;
+import com.akash.hotelbookingmanagement.metrics.SqlBudgetStatementInspector;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlBudgetInterceptorTest {
+
+    private static final String SELECT_ROOM = "select r1_0.room_number from room r1_0 where r1_0.room_number=?";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final SqlBudgetStatementInspector inspector = new SqlBudgetStatementInspector();
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/rooms");
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @BeforeEach
+    void setUp() {
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/rooms");
+        RequestSqlStats.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestSqlStats.stop();
+    }
+
+    @Test
+    void testStatementOverBudget_ThrowsWhenFailing() throws NoSuchMethodException {
+        // Arrange
+        SqlBudgetInterceptor interceptor = new SqlBudgetInterceptor(true, 0, meterRegistry);
+        interceptor.preHandle(request, response, handler("budgetOfTwo"));
+        inspector.inspect(SELECT_ROOM);
+        inspector.inspect(SELECT_ROOM);
+
+        // Act & Assert
+        SqlBudgetExceededException exception = assertThrows(SqlBudgetExceededException.class, () -> inspector.inspect(SELECT_ROOM));
+        assertEquals("Handlers.budgetOfTwo prepared 3 SQL statements, budget 2: 3x " + SELECT_ROOM, exception.getMessage());
+    }
+
+    @Test
+    void testRequestOverBudget_CountedWhenWarning() throws NoSuchMethodException {
+        // Arrange
+        SqlBudgetInterceptor interceptor = new SqlBudgetInterceptor(false, 1, meterRegistry);
+        interceptor.preHandle(request, response, handler("budgetOfTwo"));
+
+        // Act
+        inspector.inspect("select c1_0.customer_id from customer c1_0 where c1_0.customer_id in (?,?, ?)");
+        inspector.inspect(SELECT_ROOM);
+        inspector.inspect(SELECT_ROOM);
+        interceptor.afterCompletion(request, response, handler("budgetOfTwo"), null);
+
+        // Assert
+        assertTrue(RequestSqlStats.current().isOverBudget());
+        assertEquals("Handlers.budgetOfTwo prepared 3 SQL statements, budget 2: 2x " + SELECT_ROOM
+                + "; 1x select c1_0.customer_id from customer c1_0 where c1_0.customer_id in (?, ...)",
+                RequestSqlStats.current().describeBudgetOverrun());
+        assertEquals(1, meterRegistry.get(SqlBudgetInterceptor.EXCEEDED).tag("uri", "/rooms").counter().count());
+    }
+
+    @Test
+    void testHandlerWithoutBudget_Unlimited() throws NoSuchMethodException {
+        // Arrange
+        SqlBudgetInterceptor interceptor = new SqlBudgetInterceptor(true, 1, meterRegistry);
+        interceptor.preHandle(request, response, handler("noBudget"));
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            inspector.inspect(SELECT_ROOM);
+        }
+        interceptor.afterCompletion(request, response, handler("noBudget"), null);
+
+        // Assert
+        assertFalse(RequestSqlStats.current().isOverBudget());
+        assertNull(meterRegistry.find(SqlBudgetInterceptor.EXCEEDED).counter());
+    }
+
+    private static HandlerMethod handler(final String method) throws NoSuchMethodException {
+        return new HandlerMethod(new Handlers(), Handlers.class.getMethod(method));
+    }
+
+    static class Handlers {
+
+        @SqlBudget(2)
+        public void budgetOfTwo() {
+        }
+
+        public void noBudget() {
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.akash.hotelbookingmanagement.unitTests.metrics;
+
+import com.akash.hotelbookingmanagement.metrics.RequestSqlStats;
+import com.akash.hotelbookingmanagement.metrics.SqlMetricsInterceptor;
+import com.akash.hotelbookingmanagement.metrics.SqlStatsSessionListener;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlMetricsInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private SqlMetricsInterceptor sqlMetricsInterceptor;
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/booking/7");
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sqlMetricsInterceptor = new SqlMetricsInterceptor(meterRegistry);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/booking/{id}");
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestSqlStats.stop();
+    }
+
+    @Test
+    void testAfterCompletion_RecordsStatementsOfTheRequest() {
+        // Arrange
+        SqlStatsSessionListener session = new SqlStatsSessionListener();
+        sqlMetricsInterceptor.preHandle(request, response, new Object());
+        session.jdbcConnectionAcquisitionStart();
+        session.jdbcConnectionAcquisitionEnd();
+        session.jdbcExecuteStatementStart();
+        session.jdbcExecuteStatementEnd();
+        session.jdbcExecuteBatchStart();
+        session.jdbcExecuteBatchEnd();
+
+        // Act
+        sqlMetricsInterceptor.afterCompletion(request, response, new Object(), null);
+
+        // Assert
+        DistributionSummary statements = meterRegistry.get(SqlMetricsInterceptor.STATEMENTS)
+                .tag("method", "GET").tag("uri", "/booking/{id}").summary();
+        assertEquals(1, statements.count());
+        assertEquals(2, statements.totalAmount());
+        assertEquals(1, meterRegistry.get(SqlMetricsInterceptor.STATEMENT_TIME).timer().count());
+        assertEquals(1, meterRegistry.get(SqlMetricsInterceptor.CONNECTION_WAIT).timer().count());
+        assertNull(RequestSqlStats.current());
+    }
+
+    @Test
+    void testSessionListener_IgnoresWorkOutsideRequests() {
+        // Arrange
+        SqlStatsSessionListener session = new SqlStatsSessionListener();
+
+        // Act
+        session.jdbcExecuteStatementStart();
+        session.jdbcExecuteStatementEnd();
+
+        // Assert
+        assertNull(RequestSqlStats.current());
+        assertTrue(meterRegistry.find(SqlMetricsInterceptor.STATEMENTS).meters().isEmpty());
+    }
+
+    @Test
+    void testAfterConcurrentHandlingStarted_StopsCollectingOnTheRequestThread() {
+        // Arrange
+        sqlMetricsInterceptor.preHandle(request, response, new Object());
+
+        // Act
+        sqlMetricsInterceptor.afterConcurrentHandlingStarted(request, response, new Object());
+        sqlMetricsInterceptor.afterCompletion(request, response, new Object(), null);
+
+        // Assert
+        assertNull(RequestSqlStats.current());
+        Timer statementTime = meterRegistry.find(SqlMetricsInterceptor.STATEMENT_TIME).timer();
+        assertNull(statementTime);
+    }
+}
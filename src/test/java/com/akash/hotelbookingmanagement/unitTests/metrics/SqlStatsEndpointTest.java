@@ -0,0 +1,44 @@
+package com.akash.hotelbookingmanagement.unitTests.metrics;
+
+import com.akash.hotelbookingmanagement.metrics.SqlMetricsInterceptor;
+import com.akash.hotelbookingmanagement.metrics.SqlStatsEndpoint;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatsEndpointTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final SqlStatsEndpoint sqlStatsEndpoint = new SqlStatsEndpoint(meterRegistry);
+
+    @Test
+    void testSqlStats_SummarizesEachEndpoint() {
+        // Arrange
+        DistributionSummary statements = meterRegistry.summary(SqlMetricsInterceptor.STATEMENTS, "method", "GET", "uri", "/rooms");
+        statements.record(2);
+        statements.record(4);
+        Timer statementTime = meterRegistry.timer(SqlMetricsInterceptor.STATEMENT_TIME, "method", "GET", "uri", "/rooms");
+        statementTime.record(Duration.ofMillis(3));
+        statementTime.record(Duration.ofMillis(5));
+        meterRegistry.summary(SqlMetricsInterceptor.STATEMENTS, "method", "POST", "uri", "/booking/").record(8);
+
+        // Act
+        SqlStatsEndpoint.SqlStatsReport report = sqlStatsEndpoint.sqlStats();
+
+        // Assert
+        assertEquals(2, report.endpoints().size());
+        SqlStatsEndpoint.EndpointSqlStats rooms = report.endpoints().get("GET /rooms");
+        assertEquals(2, rooms.requests());
+        assertEquals(3.0, rooms.meanStatements());
+        assertEquals(4.0, rooms.maxStatements());
+        assertEquals(4.0, rooms.meanSqlMillis());
+        assertEquals(0.0, report.endpoints().get("POST /booking/").meanSqlMillis());
+        assertNull(report.connectionPool());
+    }
+}
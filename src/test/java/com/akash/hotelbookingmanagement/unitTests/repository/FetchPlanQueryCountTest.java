@@ -0,0 +1,174 @@
+package com.akash.hotelbookingmanagement.unitTests.repository;
+
+import com.akash.hotelbookingmanagement.model.BookingDetails;
+import com.akash.hotelbookingmanagement.model.Customer;
+import com.akash.hotelbookingmanagement.model.Room;
+import com.akash.hotelbookingmanagement.model.enums.ModeOfBooking;
+import com.akash.hotelbookingmanagement.model.enums.ModeOfPayment;
+import com.akash.hotelbookingmanagement.repository.BookingDetailsRepository;
+import com.akash.hotelbookingmanagement.repository.CustomerRepository;
+import com.akash.hotelbookingmanagement.repository.RoomRepository;
+import com.akash.hotelbookingmanagement.service.BookingDetailsService;
+import com.akash.hotelbookingmanagement.service.RoomService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the SQL statements needed to load and serialize each read use case, the way the controllers do,
+ * on the H2 test database.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=warn"})
+@ActiveProfiles("test")
+@Transactional
+class FetchPlanQueryCountTest {
+
+    private static final int BOOKINGS = 40;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BookingDetailsRepository bookingDetailsRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private BookingDetailsService bookingDetailsService;
+
+    @Autowired
+    private RoomService roomService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private Statistics statistics;
+
+    private Integer firstBookingId;
+
+    private Integer firstRoomNumber;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (int i = 0; i < BOOKINGS; i++) {
+            Customer adult = customerRepository.save(new Customer(null, "Adult " + i, "Delhi", 30, String.format("8%09d", 2 * i)));
+            Customer child = customerRepository.save(new Customer(null, "Child " + i, "Delhi", 8, String.format("8%09d", 2 * i + 1)));
+            List<Room> rooms = new ArrayList<>();
+            for (int r = 0; r < 2; r++) {
+                rooms.add(roomRepository.save(new Room(null, "double", 2, 100, true, true, false,
+                        new ArrayList<>(List.of(adult, child)), null)));
+            }
+            BookingDetails booking = bookingDetailsRepository.save(BookingDetails.builder()
+                    .duration(2)
+                    .startDate(LocalDate.of(2030, 1, 1).plusDays(2L * i))
+                    .endDate(LocalDate.of(2030, 1, 3).plusDays(2L * i))
+                    .modeOfBooking(ModeOfBooking.online)
+                    .modeOfPayment(ModeOfPayment.prepaid)
+                    .billAmount(200)
+                    .paidAmount(200)
+                    .customerList(new ArrayList<>(List.of(adult, child)))
+                    .roomList(rooms)
+                    .build());
+            if (i == 0) {
+                firstBookingId = booking.getBookingId();
+                firstRoomNumber = rooms.get(0).getRoomNumber();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testBookingList_ConstantStatementsPerPage() throws JsonProcessingException {
+        // Act
+        long smallPage = countStatements(() -> bookingDetailsService.getAllBookingDetails(firstBookingId - 1, 5));
+        long largePage = countStatements(() -> bookingDetailsService.getAllBookingDetails(firstBookingId - 1, BOOKINGS));
+
+        // Assert: booking views, their customer IDs and their room numbers
+        assertEquals(3, smallPage);
+        assertEquals(3, largePage);
+    }
+
+    @Test
+    void testRoomList_ConstantStatementsPerPage() throws JsonProcessingException {
+        // Act
+        long smallPage = countStatements(() -> roomService.getAllRooms(firstRoomNumber - 1, 5));
+        long largePage = countStatements(() -> roomService.getAllRooms(firstRoomNumber - 1, 2 * BOOKINGS));
+
+        // Assert: room views and their checked-in customer IDs
+        assertEquals(2, smallPage);
+        assertEquals(2, largePage);
+    }
+
+    @Test
+    void testBookingView_OwnColumnsAndAssociatedIds() throws JsonProcessingException {
+        // Act
+        long statements = countStatements(() -> bookingDetailsService.getBookingView(firstBookingId));
+
+        // Assert
+        assertEquals(3, statements);
+        assertEquals(2, bookingDetailsService.getBookingView(firstBookingId).getRoomNumberList().size());
+    }
+
+    @Test
+    void testBookingDetail_RoomsJoinedCustomersBatched() throws JsonProcessingException {
+        // Act
+        long statements = countStatements(() -> bookingDetailsRepository.findById(firstBookingId).orElseThrow());
+
+        // Assert: booking with its rooms, its customers, the rooms' checked-in customers
+        assertEquals(3, statements);
+    }
+
+    @Test
+    void testRoomDetail_CheckedInCustomersJoined() throws JsonProcessingException {
+        // Act
+        long statements = countStatements(() -> roomRepository.findById(firstRoomNumber).orElseThrow());
+
+        // Assert
+        assertEquals(1, statements);
+    }
+
+    /**
+     * Loads a result with an empty persistence context and serializes it like a controller response.
+     *
+     * @param query The repository call.
+     * @return The number of SQL statements executed.
+     * @throws JsonProcessingException if the result cannot be serialized.
+     */
+    private long countStatements(final Query query) throws JsonProcessingException {
+        entityManager.clear();
+        statistics.clear();
+        objectMapper.writeValueAsString(query.run());
+        return statistics.getPrepareStatementCount();
+    }
+
+    @FunctionalInterface
+    private interface Query {
+        Object run();
+    }
+}
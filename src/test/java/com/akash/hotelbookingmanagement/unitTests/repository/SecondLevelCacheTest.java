@@ -0,0 +1,154 @@
+package com.akash.hotelbookingmanagement.unitTests.repository;
+
+import com.akash.hotelbookingmanagement.dto.RoomDto;
+import com.akash.hotelbookingmanagement.exception.ResourceNotFoundException;
+import com.akash.hotelbookingmanagement.model.Customer;
+import com.akash.hotelbookingmanagement.model.Room;
+import com.akash.hotelbookingmanagement.repository.CustomerRepository;
+import com.akash.hotelbookingmanagement.repository.RoomRepository;
+import com.akash.hotelbookingmanagement.service.CustomerService;
+import com.akash.hotelbookingmanagement.service.RoomService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that rooms and customers are read from the second-level cache and that writes invalidate it, with
+ * committed transactions on the H2 test database.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private RoomService roomService;
+
+    private Statistics statistics;
+
+    private Customer customer;
+
+    private Room room;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        customer = customerRepository.save(new Customer(null, "Cached Guest", "Delhi", 30, "7000000001"));
+        room = roomRepository.save(new Room(null, "double", 2, 100, true, true, false,
+                new ArrayList<>(List.of(customer)), null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        roomRepository.deleteById(room.getRoomNumber());
+        customerRepository.deleteById(customer.getCustomerId());
+    }
+
+    @Test
+    void testGetCustomersByIds_ReadFromCache() {
+        // Arrange
+        statistics.clear();
+
+        // Act
+        Customer cached = customerService.getCustomersByIds(List.of(customer.getCustomerId())).get(0);
+
+        // Assert
+        assertEquals("Cached Guest", cached.getFullName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(Customer.CACHE_REGION).getHitCount());
+    }
+
+    @Test
+    void testGetRoomsByRoomNumbers_RoomAndCheckedInCustomersReadFromCache() {
+        // Arrange: the first read caches the checked-in customers
+        countCheckedInCustomers();
+        statistics.clear();
+
+        // Act
+        int checkedInCustomers = countCheckedInCustomers();
+
+        // Assert
+        assertEquals(1, checkedInCustomers);
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(Room.CACHE_REGION).getHitCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(Room.CHECKED_IN_CUSTOMERS_CACHE_REGION).getHitCount());
+    }
+
+    @Test
+    void testUpdates_InvalidateCache() {
+        // Arrange
+        countCheckedInCustomers();
+        RoomDto roomData = new RoomDto();
+        roomData.setPricePerDay(250);
+        roomData.setCheckedInCustomerIdList(List.of());
+        Customer customerData = new Customer();
+        customerData.setFullName("Renamed Guest");
+
+        // Act
+        roomService.updateRoomById(room.getRoomNumber(), roomData);
+        customerService.updateCustomer(customer.getCustomerId(), customerData);
+
+        // Assert
+        assertEquals(250, roomService.getRoomsByRoomNumbers(List.of(room.getRoomNumber())).get(0).getPricePerDay());
+        assertEquals(0, countCheckedInCustomers());
+        assertEquals("Renamed Guest", customerService.getCustomersByIds(List.of(customer.getCustomerId())).get(0).getFullName());
+    }
+
+    @Test
+    void testDelete_InvalidatesCache() {
+        // Arrange
+        Customer other = customerRepository.save(new Customer(null, "Leaving Guest", "Delhi", 30, "7000000002"));
+        customerService.getCustomersByIds(List.of(other.getCustomerId()));
+
+        // Act
+        customerService.deleteCustomer(other.getCustomerId());
+
+        // Assert
+        assertThrows(ResourceNotFoundException.class, () -> customerService.getCustomersByIds(List.of(other.getCustomerId())));
+    }
+
+    @Test
+    void testCacheRequests_PublishedAsMeters() {
+        // Act
+        customerService.getCustomersByIds(List.of(customer.getCustomerId()));
+
+        // Assert
+        assertNotNull(meterRegistry.find("hibernate.second.level.cache.requests")
+                .tags("region", Customer.CACHE_REGION, "result", "hit").functionCounter());
+    }
+
+    private int countCheckedInCustomers() {
+        return transactionTemplate.execute(status ->
+                roomService.getRoomsByRoomNumbers(List.of(room.getRoomNumber())).get(0).getCheckedInCustomers().size());
+    }
+}
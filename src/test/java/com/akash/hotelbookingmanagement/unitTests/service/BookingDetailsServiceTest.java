@@ -1,30 +1,47 @@
 package com.akash.hotelbookingmanagement.unitTests.service;
 
+import com.akash.hotelbookingmanagement.concurrency.RoomLockManager;
+import com.akash.hotelbookingmanagement.concurrency.SingleFlight;
 import com.akash.hotelbookingmanagement.config.BookingDetailsMapper;
+import com.akash.hotelbookingmanagement.dto.AssociatedId;
+import com.akash.hotelbookingmanagement.dto.BookingView;
 import com.akash.hotelbookingmanagement.exception.*;
 import com.akash.hotelbookingmanagement.model.BookingDetails;
 import com.akash.hotelbookingmanagement.dto.BookingDetailsDto;
 import com.akash.hotelbookingmanagement.model.Customer;
 import com.akash.hotelbookingmanagement.model.Room;
+import com.akash.hotelbookingmanagement.model.RoomHold;
+import com.akash.hotelbookingmanagement.model.RoomNight;
 import com.akash.hotelbookingmanagement.repository.BookingDetailsRepository;
-import com.akash.hotelbookingmanagement.repository.RoomRepository;
+import com.akash.hotelbookingmanagement.repository.RoomNightRepository;
 import com.akash.hotelbookingmanagement.service.BookingDetailsService;
 import com.akash.hotelbookingmanagement.service.CustomerService;
+import com.akash.hotelbookingmanagement.service.RoomHoldService;
+import com.akash.hotelbookingmanagement.service.RoomOccupancyIndex;
 import com.akash.hotelbookingmanagement.service.RoomService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import com.akash.hotelbookingmanagement.model.enums.ModeOfBooking;
 import com.akash.hotelbookingmanagement.model.enums.ModeOfPayment;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -39,11 +56,20 @@ class BookingDetailsServiceTest {
     BookingDetailsRepository bookingDetailsRepository;
 
     @Mock
-    RoomRepository roomRepository;
+    RoomNightRepository roomNightRepository;
+
+    @Mock
+    RoomOccupancyIndex roomOccupancyIndex;
+
+    @Mock
+    RoomLockManager roomLockManager;
 
     @Mock
     RoomService roomService;
 
+    @Mock
+    RoomHoldService roomHoldService;
+
     @Mock
     CustomerService customerService;
 
@@ -56,6 +82,9 @@ class BookingDetailsServiceTest {
     @Mock
     private BookingDetailsMapper bookingDetailsMapper;
 
+    @Spy
+    private SingleFlight<Integer, BookingView> bookingViewLookups = new SingleFlight<>("booking.view", 1000, new SimpleMeterRegistry());
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -64,7 +93,7 @@ class BookingDetailsServiceTest {
         testCustomer = new Customer(1, "Akash", "Delhi", 30, "1234567890");
 
         // Set up a test room
-        testRoom = new Room(101, "single", 2, 100, true, false, true, new ArrayList<>());
+        testRoom = new Room(101, "single", 2, 100, true, false, true, new ArrayList<>(), 0L);
 
         // Set up a test booking details
         testBookingDetails = new BookingDetails();
@@ -94,10 +123,8 @@ class BookingDetailsServiceTest {
     @Test
     void testCreateBooking_Success() {
         // Arrange
-        when(roomService.getRoomByRoomNumber(testRoom.getRoomNumber())).thenReturn(testRoom);
-        when(roomService.checkRoomsAvailability(testBookingDetails.getRoomList())).thenReturn(true);
+        when(roomService.checkRoomsAvailability(testBookingDetails.getRoomList(), testBookingDetails.getStartDate(), testBookingDetails.getEndDate())).thenReturn(true);
         when(bookingDetailsRepository.save(testBookingDetails)).thenReturn(testBookingDetails);
-        when(roomRepository.save(any(Room.class))).thenReturn(testRoom);
         when(bookingDetailsMapper.convertToEntity(any(BookingDetailsDto.class))).thenReturn(testBookingDetails);
 
         // Act
@@ -106,13 +133,104 @@ class BookingDetailsServiceTest {
         // Assert
         assertNotNull(createdBooking);
         assertEquals(testBookingDetails.getBookingId(), createdBooking.getBookingId());
+        verify(roomLockManager, times(1)).lockUntilTransactionCompletes(List.of(101));
         verify(bookingDetailsRepository, times(1)).save(testBookingDetails);
     }
 
+    @Test
+    void testCreateBooking_SellsEveryRoomNight() {
+        // Arrange
+        when(roomService.checkRoomsAvailability(any(List.class), any(LocalDate.class), any(LocalDate.class))).thenReturn(true);
+        when(bookingDetailsRepository.save(testBookingDetails)).thenReturn(testBookingDetails);
+        when(bookingDetailsMapper.convertToEntity(any(BookingDetailsDto.class))).thenReturn(testBookingDetails);
+        ArgumentCaptor<List<RoomNight>> roomNights = ArgumentCaptor.forClass(List.class);
+
+        // Act
+        bookingDetailsService.createBooking(testBookingDetailsDto);
+
+        // Assert
+        verify(roomNightRepository, times(1)).saveAllAndFlush(roomNights.capture());
+        assertEquals(5, roomNights.getValue().size());
+        assertEquals(testBookingDetails.getStartDate(), roomNights.getValue().get(0).getNight());
+        assertEquals(testBookingDetails.getEndDate().minusDays(1), roomNights.getValue().get(4).getNight());
+        assertTrue(roomNights.getValue().stream().allMatch(night -> night.getBookingId().equals(testBookingDetails.getBookingId())));
+        verify(roomOccupancyIndex, times(1)).book(testBookingDetails.getBookingId(), List.of(101),
+                testBookingDetails.getStartDate(), testBookingDetails.getEndDate());
+    }
+
+    @Test
+    void testCreateBooking_RoomNightAlreadyClaimed() {
+        // Arrange
+        when(roomService.checkRoomsAvailability(any(List.class), any(LocalDate.class), any(LocalDate.class))).thenReturn(true);
+        when(bookingDetailsRepository.save(testBookingDetails)).thenReturn(testBookingDetails);
+        when(bookingDetailsMapper.convertToEntity(any(BookingDetailsDto.class))).thenReturn(testBookingDetails);
+        when(roomNightRepository.saveAllAndFlush(any(List.class))).thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+
+        // Act & Assert
+        assertThrows(RoomNotAvailableException.class, () -> bookingDetailsService.createBooking(testBookingDetailsDto));
+        verify(roomOccupancyIndex, never()).book(anyInt(), any(), any(), any());
+    }
+
+    @Test
+    void testCreateBooking_RoomsLockedByAnotherBooking() {
+        // Arrange
+        when(bookingDetailsMapper.convertToEntity(any(BookingDetailsDto.class))).thenReturn(testBookingDetails);
+        doThrow(new RoomNotAvailableException("busy")).when(roomLockManager).lockUntilTransactionCompletes(List.of(101));
+
+        // Act & Assert
+        assertThrows(RoomNotAvailableException.class, () -> bookingDetailsService.createBooking(testBookingDetailsDto));
+        verify(roomService, never()).checkRoomsAvailability(any(List.class), any(LocalDate.class), any(LocalDate.class));
+        verify(bookingDetailsRepository, never()).save(any(BookingDetails.class));
+    }
+
+    @Test
+    void testCreateBooking_ConfirmsRoomHold() {
+        // Arrange
+        RoomHold roomHold = new RoomHold(7, List.of(101), testBookingDetails.getStartDate(), testBookingDetails.getEndDate(), null);
+        testBookingDetailsDto.setHoldId(7);
+        when(roomHoldService.getRoomHold(7)).thenReturn(roomHold);
+        when(bookingDetailsRepository.save(testBookingDetails)).thenReturn(testBookingDetails);
+        when(bookingDetailsMapper.convertToEntity(any(BookingDetailsDto.class))).thenReturn(testBookingDetails);
+
+        // Act
+        BookingDetails createdBooking = bookingDetailsService.createBooking(testBookingDetailsDto);
+
+        // Assert
+        assertNotNull(createdBooking);
+        verify(roomService, never()).checkRoomsAvailability(any(List.class), any(LocalDate.class), any(LocalDate.class));
+        verify(roomHoldService, times(1)).consumeHold(roomHold);
+        verify(roomNightRepository, times(1)).saveAllAndFlush(any(List.class));
+    }
+
+    @Test
+    void testCreateBooking_RoomHoldForAnotherStay() {
+        // Arrange
+        RoomHold roomHold = new RoomHold(7, List.of(101), testBookingDetails.getStartDate(), testBookingDetails.getEndDate().plusDays(1), null);
+        testBookingDetailsDto.setHoldId(7);
+        when(roomHoldService.getRoomHold(7)).thenReturn(roomHold);
+        when(bookingDetailsMapper.convertToEntity(any(BookingDetailsDto.class))).thenReturn(testBookingDetails);
+
+        // Act & Assert
+        assertThrows(RoomNotAvailableException.class, () -> bookingDetailsService.createBooking(testBookingDetailsDto));
+        verify(roomHoldService, never()).consumeHold(any(RoomHold.class));
+        verify(bookingDetailsRepository, never()).save(any(BookingDetails.class));
+    }
+
+    @Test
+    void testCreateBooking_InvalidBookingDatesException() {
+        // Arrange
+        testBookingDetails.setEndDate(testBookingDetails.getStartDate());
+        when(bookingDetailsMapper.convertToEntity(any(BookingDetailsDto.class))).thenReturn(testBookingDetails);
+
+        // Act & Assert
+        assertThrows(InvalidBookingDatesException.class, () -> bookingDetailsService.createBooking(testBookingDetailsDto));
+        verify(bookingDetailsRepository, never()).save(any(BookingDetails.class));
+    }
+
     @Test
     void testCreateBooking_RoomNotAvailableException() {
         // Arrange
-        when(roomService.checkRoomsAvailability(testBookingDetails.getRoomList())).thenReturn(false);
+        when(roomService.checkRoomsAvailability(testBookingDetails.getRoomList(), testBookingDetails.getStartDate(), testBookingDetails.getEndDate())).thenReturn(false);
         when(bookingDetailsMapper.convertToEntity(any(BookingDetailsDto.class))).thenReturn(testBookingDetails);
 
         // Act & Assert
@@ -125,7 +243,7 @@ class BookingDetailsServiceTest {
         testBookingDetails.setRoomList(List.of(testRoom, testRoom, testRoom,testRoom)); // More than 3 rooms
         testBookingDetails.setPaidAmount(100); // Less than 50% payment
         when(bookingDetailsMapper.convertToEntity(any(BookingDetailsDto.class))).thenReturn(testBookingDetails);
-        when(roomService.checkRoomsAvailability(any(List.class))).thenReturn(true);
+        when(roomService.checkRoomsAvailability(any(List.class), any(LocalDate.class), any(LocalDate.class))).thenReturn(true);
         // Act & Assert
         assertThrows(AdvancePaymentNotDoneException.class, () -> bookingDetailsService.createBooking(testBookingDetailsDto));
     }
@@ -139,7 +257,7 @@ class BookingDetailsServiceTest {
 
         testBookingDetailsDto.setRoomNumberList(List.of(101));
         testBookingDetailsDto.setCustomerIdList(List.of(2)); // Child without adult
-        when(roomService.checkRoomsAvailability(any(List.class))).thenReturn(true);
+        when(roomService.checkRoomsAvailability(any(List.class), any(LocalDate.class), any(LocalDate.class))).thenReturn(true);
         when(bookingDetailsMapper.convertToEntity(any(BookingDetailsDto.class))).thenReturn(testBookingDetails);
 
         // Act & Assert
@@ -171,16 +289,30 @@ class BookingDetailsServiceTest {
     @Test
     void testGetAllBookingDetails() {
         // Arrange
-        List<BookingDetails> bookingDetailsList = new ArrayList<>();
-        bookingDetailsList.add(testBookingDetails);
-        when(bookingDetailsRepository.findAll()).thenReturn(bookingDetailsList);
+        BookingView bookingView = new BookingView(11, 2, LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 3),
+                ModeOfBooking.online, ModeOfPayment.prepaid, 200, 200);
+        when(bookingDetailsRepository.findViewsAfter(10, Limit.of(20))).thenReturn(List.of(bookingView));
+        when(bookingDetailsRepository.findCustomerIdsByBookingIdIn(List.of(11)))
+                .thenReturn(List.of(associatedId(11, 1), associatedId(11, 2)));
+        when(bookingDetailsRepository.findRoomNumbersByBookingIdIn(List.of(11))).thenReturn(List.of(associatedId(11, 101)));
 
         // Act
-        Iterable<BookingDetails> retrievedBookingDetails = bookingDetailsService.getAllBookingDetails();
+        List<BookingView> retrievedBookingDetails = bookingDetailsService.getAllBookingDetails(10, 20);
 
         // Assert
-        assertNotNull(retrievedBookingDetails);
-        assertEquals(1, ((List<BookingDetails>) retrievedBookingDetails).size());
+        assertEquals(List.of(bookingView), retrievedBookingDetails);
+        assertEquals(List.of(1, 2), bookingView.getCustomerIdList());
+        assertEquals(List.of(101), bookingView.getRoomNumberList());
+    }
+
+    @Test
+    void testGetBookingView_NotFound() {
+        // Arrange
+        when(bookingDetailsRepository.findViewById(1)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> bookingDetailsService.getBookingView(1));
+        verify(bookingDetailsRepository, never()).findCustomerIdsByBookingIdIn(any());
     }
 
     @Test
@@ -189,11 +321,10 @@ class BookingDetailsServiceTest {
         testBookingDetails.setPaidAmount(200);
         testBookingDetails.setCustomerList(List.of(testCustomer));
         // Arrange
-        when(bookingDetailsRepository.findById(testBookingDetails.getBookingId())).thenReturn(Optional.of(testBookingDetails));
-        when(bookingDetailsRepository.save(any(BookingDetails.class))).thenReturn(testBookingDetails);
-        when(roomService.getRoomByRoomNumber(testRoom.getRoomNumber())).thenReturn(testRoom);
-        when(roomService.checkRoomsAvailability(any(List.class))).thenReturn(true);
-        when(roomRepository.save(any(Room.class))).thenReturn(testRoom);
+        when(bookingDetailsRepository.findWithVersionIncrementByBookingId(testBookingDetails.getBookingId())).thenReturn(Optional.of(testBookingDetails));
+        when(bookingDetailsRepository.existsById(testBookingDetails.getBookingId())).thenReturn(true);
+        when(bookingDetailsRepository.saveAndFlush(any(BookingDetails.class))).thenReturn(testBookingDetails);
+        when(roomService.checkRoomsAvailability(any(List.class), any(LocalDate.class), any(LocalDate.class), eq(testBookingDetails.getBookingId()))).thenReturn(true);
 //        when(customerService.getCustomerById(anyInt())).thenReturn(testCustomer);
         when(bookingDetailsMapper.convertToEntity(any(BookingDetailsDto.class))).thenReturn(testBookingDetails);
 
@@ -204,14 +335,18 @@ class BookingDetailsServiceTest {
         // Assert
         assertNotNull(updatedBooking);
         assertEquals(testBookingDetails.getBookingId(), updatedBooking.getBookingId());
-        verify(bookingDetailsRepository, times(1)).save(testBookingDetails);
+        verify(bookingDetailsRepository, times(1)).saveAndFlush(testBookingDetails);
+        verify(roomLockManager, times(1)).lockUntilTransactionCompletes(Set.of(101));
+        verify(roomNightRepository, times(1)).deleteAllByBookingId(testBookingDetails.getBookingId());
+        verify(roomNightRepository, times(1)).saveAllAndFlush(any(List.class));
     }
 
     @Test
     void testUpdateBookingDetails_RoomNotAvailableException() {
         // Arrange
-        when(bookingDetailsRepository.findById(testBookingDetails.getBookingId())).thenReturn(Optional.of(testBookingDetails));
-        when(roomService.checkRoomsAvailability(testBookingDetails.getRoomList())).thenReturn(false);
+        when(bookingDetailsRepository.findWithVersionIncrementByBookingId(testBookingDetails.getBookingId())).thenReturn(Optional.of(testBookingDetails));
+        when(bookingDetailsRepository.existsById(testBookingDetails.getBookingId())).thenReturn(true);
+        when(roomService.checkRoomsAvailability(testBookingDetails.getRoomList(), testBookingDetails.getStartDate(), testBookingDetails.getEndDate(), testBookingDetails.getBookingId())).thenReturn(false);
         when(bookingDetailsMapper.convertToEntity(any(BookingDetailsDto.class))).thenReturn(testBookingDetails);
 
         // Act & Assert
@@ -224,37 +359,72 @@ class BookingDetailsServiceTest {
         testBookingDetails.setCustomerList(List.of(childCustomer)); // Child without adult
         testBookingDetails.setRoomList(List.of(testRoom));
         // Arrange
-        when(bookingDetailsRepository.findById(testBookingDetails.getBookingId())).thenReturn(Optional.of(testBookingDetails));
+        when(bookingDetailsRepository.findWithVersionIncrementByBookingId(testBookingDetails.getBookingId())).thenReturn(Optional.of(testBookingDetails));
+        when(bookingDetailsRepository.existsById(testBookingDetails.getBookingId())).thenReturn(true);
         when(bookingDetailsMapper.convertToEntity(any(BookingDetailsDto.class))).thenReturn(testBookingDetails);
-        when(roomService.checkRoomsAvailability(testBookingDetails.getRoomList())).thenReturn(true);
+        when(roomService.checkRoomsAvailability(testBookingDetails.getRoomList(), testBookingDetails.getStartDate(), testBookingDetails.getEndDate(), testBookingDetails.getBookingId())).thenReturn(true);
         // Act & Assert
         assertThrows(ChildrenNotAccompaniedByAdultException.class, () -> bookingDetailsService.updateBookingDetails(testBookingDetails.getBookingId(), testBookingDetailsDto));
     }
 
     @Test
-    void testDeleteBookingDetails_Success() {
+    void testUpdateBookingDetails_ConcurrentDeleteFailsTheVersionCheckBeforeTheChecks() {
+        //a delete committed after the read left the booking without customers
+        testBookingDetails.setCustomerList(List.of());
+        testBookingDetails.setRoomList(List.of(testRoom));
         // Arrange
+        when(bookingDetailsRepository.findWithVersionIncrementByBookingId(testBookingDetails.getBookingId())).thenReturn(Optional.of(testBookingDetails));
         when(bookingDetailsRepository.existsById(testBookingDetails.getBookingId())).thenReturn(true);
+        when(bookingDetailsMapper.convertToEntity(any(BookingDetailsDto.class))).thenReturn(testBookingDetails);
+        when(roomService.checkRoomsAvailability(testBookingDetails.getRoomList(), testBookingDetails.getStartDate(), testBookingDetails.getEndDate(), testBookingDetails.getBookingId())).thenReturn(true);
+        when(bookingDetailsRepository.saveAndFlush(testBookingDetails))
+                .thenThrow(new ObjectOptimisticLockingFailureException(BookingDetails.class, testBookingDetails.getBookingId()));
+
+        // Act & Assert
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> bookingDetailsService.updateBookingDetails(testBookingDetails.getBookingId(), testBookingDetailsDto));
+        verify(roomNightRepository, never()).deleteAllByBookingId(anyInt());
+    }
+
+    @Test
+    void testUpdateBookingDetails_DeletedWhileWaitingForTheRooms() {
+        // Arrange
+        when(bookingDetailsRepository.findWithVersionIncrementByBookingId(testBookingDetails.getBookingId())).thenReturn(Optional.of(testBookingDetails));
+        when(bookingDetailsMapper.convertToEntity(any(BookingDetailsDto.class))).thenReturn(testBookingDetails);
+        when(bookingDetailsRepository.existsById(testBookingDetails.getBookingId())).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> bookingDetailsService.updateBookingDetails(testBookingDetails.getBookingId(), testBookingDetailsDto));
+        verify(roomLockManager).lockUntilTransactionCompletes(Set.of(101));
+        verify(bookingDetailsRepository, never()).saveAndFlush(any(BookingDetails.class));
+    }
+
+    @Test
+    void testDeleteBookingDetails_Success() {
+        // Arrange
+        when(bookingDetailsRepository.findById(testBookingDetails.getBookingId())).thenReturn(Optional.of(testBookingDetails));
 
         // Act
         boolean isDeleted = bookingDetailsService.deleteBookingDetails(testBookingDetails.getBookingId());
 
         // Assert
         assertTrue(isDeleted);
-        verify(bookingDetailsRepository, times(1)).deleteById(testBookingDetails.getBookingId());
+        verify(roomNightRepository, times(1)).deleteAllByBookingId(testBookingDetails.getBookingId());
+        verify(roomLockManager, times(1)).lockUntilTransactionCompletes(List.of(101));
+        verify(bookingDetailsRepository, times(1)).delete(testBookingDetails);
+        verify(roomOccupancyIndex, times(1)).release(testBookingDetails.getBookingId());
     }
 
     @Test
     void testDeleteBookingDetails_NotFound() {
         // Arrange
-        when(bookingDetailsRepository.existsById(testBookingDetails.getBookingId())).thenReturn(false);
+        when(bookingDetailsRepository.findById(testBookingDetails.getBookingId())).thenReturn(Optional.empty());
 
         // Act
         boolean isDeleted = bookingDetailsService.deleteBookingDetails(testBookingDetails.getBookingId());
 
         // Assert
         assertFalse(isDeleted);
-        verify(bookingDetailsRepository, never()).deleteById(anyInt());
+        verify(bookingDetailsRepository, never()).delete(any(BookingDetails.class));
     }
 
     @Test
@@ -283,6 +453,19 @@ class BookingDetailsServiceTest {
         assertFalse(isAdvancePaymentDone);
     }
 
+    @Test
+    void testIsAdvancePaymentDone_FalseWithoutPaidAmount() {
+        // Arrange
+        testBookingDetails.setRoomList(List.of(testRoom, testRoom, testRoom, testRoom));
+        testBookingDetails.setPaidAmount(null);
+
+        // Act
+        boolean isAdvancePaymentDone = bookingDetailsService.isAdvancePaymentDone(testBookingDetails);
+
+        // Assert
+        assertFalse(isAdvancePaymentDone);
+    }
+
     @Test
     void testIsAccompaniedByAdult_True() {
         // Arrange
@@ -309,4 +492,9 @@ class BookingDetailsServiceTest {
         assertFalse(isAccompaniedByAdult);
     }
 
+
+    private static AssociatedId associatedId(final Integer ownerId, final Integer associatedId) {
+        return new SpelAwareProxyProjectionFactory().createProjection(AssociatedId.class,
+                Map.of("ownerId", ownerId, "associatedId", associatedId));
+    }
 }
@@ -0,0 +1,351 @@
+package com.akash.hotelbookingmanagement.unitTests.service;
+
+import com.akash.hotelbookingmanagement.concurrency.RoomLockManager;
+import com.akash.hotelbookingmanagement.dto.BookingDetailsDto;
+import com.akash.hotelbookingmanagement.dto.BulkBookingResult;
+import com.akash.hotelbookingmanagement.exception.InvalidBookingDatesException;
+import com.akash.hotelbookingmanagement.exception.InvalidBookingRequestException;
+import com.akash.hotelbookingmanagement.exception.InvalidBulkBookingException;
+import com.akash.hotelbookingmanagement.model.BookingDetails;
+import com.akash.hotelbookingmanagement.model.Customer;
+import com.akash.hotelbookingmanagement.model.Room;
+import com.akash.hotelbookingmanagement.model.RoomNight;
+import com.akash.hotelbookingmanagement.model.enums.ModeOfBooking;
+import com.akash.hotelbookingmanagement.model.enums.ModeOfPayment;
+import com.akash.hotelbookingmanagement.repository.BookingDetailsRepository;
+import com.akash.hotelbookingmanagement.repository.CustomerRepository;
+import com.akash.hotelbookingmanagement.repository.RoomNightRepository;
+import com.akash.hotelbookingmanagement.repository.RoomRepository;
+import com.akash.hotelbookingmanagement.service.BookingDetailsService;
+import com.akash.hotelbookingmanagement.service.BookingImportService;
+import com.akash.hotelbookingmanagement.service.RoomOccupancyIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingImportServiceTest {
+
+    @InjectMocks
+    private BookingImportService bookingImportService;
+
+    @Mock
+    private BookingDetailsRepository bookingDetailsRepository;
+
+    @Mock
+    private RoomNightRepository roomNightRepository;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Spy
+    private BookingDetailsService bookingDetailsService = new BookingDetailsService();
+
+    @Mock
+    private RoomOccupancyIndex roomOccupancyIndex;
+
+    @Mock
+    private RoomLockManager roomLockManager;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Mock
+    private EntityManager entityManager;
+
+    private final AtomicInteger nextBookingId = new AtomicInteger(1);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bookingImportService, "chunkSize", 500);
+        ReflectionTestUtils.setField(bookingImportService, "maxBookings", 3);
+    }
+
+    @Test
+    void testImportBookings_RejectsConflictsWithinTheBatch() {
+        // Arrange
+        givenTransactionsRun();
+        givenRoomsAndCustomers();
+        givenBookingsAreSaved();
+        when(roomOccupancyIndex.isFree(anyCollection(), any(), any(), isNull())).thenReturn(true);
+        List<BookingDetailsDto> bookings = List.of(
+                booking(List.of(101), LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 3)),
+                booking(List.of(101), LocalDate.of(2030, 1, 2), LocalDate.of(2030, 1, 4)),
+                booking(List.of(101), LocalDate.of(2030, 1, 3), LocalDate.of(2030, 1, 5)));
+
+        // Act
+        List<BulkBookingResult> results = bookingImportService.importBookings(bookings);
+
+        // Assert
+        assertEquals(List.of(BulkBookingResult.Status.CREATED, BulkBookingResult.Status.REJECTED, BulkBookingResult.Status.CREATED),
+                results.stream().map(BulkBookingResult::getStatus).toList());
+        assertEquals(1, results.get(0).getBookingId());
+        assertEquals(2, results.get(2).getBookingId());
+        assertEquals("All rooms selected are currently not available", results.get(1).getMessage());
+        verify(roomRepository).findAllById(anyIterable());
+        verify(roomNightRepository).saveAllAndFlush(argThat(roomNights -> ((List<RoomNight>) roomNights).size() == 4));
+        verify(roomOccupancyIndex, times(2)).book(anyInt(), eq(List.of(101)), any(), any());
+    }
+
+    @Test
+    void testImportBookings_RejectsInvalidBookings() {
+        // Arrange
+        givenTransactionsRun();
+        givenRoomsAndCustomers();
+        givenBookingsAreSaved();
+        BookingDetailsDto unknownRoom = booking(List.of(999), LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 3));
+        BookingDetailsDto noDuration = booking(List.of(101), LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 3));
+        noDuration.setDuration(null);
+        BookingDetailsDto backwards = booking(List.of(101), LocalDate.of(2030, 1, 3), LocalDate.of(2030, 1, 1));
+
+        // Act
+        List<BulkBookingResult> results = bookingImportService.importBookings(List.of(unknownRoom, noDuration, backwards));
+
+        // Assert
+        assertTrue(results.stream().allMatch(result -> result.getStatus() == BulkBookingResult.Status.REJECTED));
+        assertEquals("Room details not found with room numbers: [999]", results.get(0).getMessage());
+        assertEquals("Duration must be specified", results.get(1).getMessage());
+        assertEquals("End date must be after start date", results.get(2).getMessage());
+        verify(roomOccupancyIndex, never()).book(anyInt(), anyCollection(), any(), any());
+    }
+
+    @Test
+    void testImportBookings_RejectsRoomsClosedForSale() {
+        // Arrange
+        givenTransactionsRun();
+        givenBookingsAreSaved();
+        when(roomRepository.findAllById(anyIterable())).thenReturn(List.of(
+                new Room(101, "single", 2, 100, true, false, true, new ArrayList<>(), 0L),
+                new Room(102, "single", 2, 100, false, false, true, new ArrayList<>(), 0L)));
+        when(customerRepository.findAllById(anyIterable()))
+                .thenReturn(List.of(new Customer(1, "Akash", "Delhi", 30, "1234567890")));
+        when(roomOccupancyIndex.isFree(anyCollection(), any(), any(), isNull())).thenReturn(true);
+        List<BookingDetailsDto> bookings = List.of(
+                booking(List.of(102), LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 3)),
+                booking(List.of(101), LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 3)));
+
+        // Act
+        List<BulkBookingResult> results = bookingImportService.importBookings(bookings);
+
+        // Assert
+        assertEquals(BulkBookingResult.Status.REJECTED, results.get(0).getStatus());
+        assertEquals("All rooms selected are currently not available", results.get(0).getMessage());
+        assertEquals(BulkBookingResult.Status.CREATED, results.get(1).getStatus());
+        verify(roomOccupancyIndex, never()).book(anyInt(), eq(List.of(102)), any(), any());
+    }
+
+    @Test
+    void testImportBookings_RejectsMissingAdvancePayment() {
+        // Arrange
+        givenTransactionsRun();
+        givenBookingsAreSaved();
+        when(roomRepository.findAllById(anyIterable())).thenReturn(List.of(
+                new Room(101, "single", 2, 100, true, false, true, new ArrayList<>(), 0L),
+                new Room(102, "single", 2, 100, true, false, true, new ArrayList<>(), 0L),
+                new Room(103, "single", 2, 100, true, false, true, new ArrayList<>(), 0L),
+                new Room(104, "single", 2, 100, true, false, true, new ArrayList<>(), 0L)));
+        when(customerRepository.findAllById(anyIterable()))
+                .thenReturn(List.of(new Customer(1, "Akash", "Delhi", 30, "1234567890")));
+        when(roomOccupancyIndex.isFree(anyCollection(), any(), any(), isNull())).thenReturn(true);
+        BookingDetailsDto unpaid = booking(List.of(101, 102, 103, 104), LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 3));
+        unpaid.setPaidAmount(null);
+
+        // Act
+        List<BulkBookingResult> results = bookingImportService.importBookings(List.of(unpaid));
+
+        // Assert
+        assertEquals(BulkBookingResult.Status.REJECTED, results.get(0).getStatus());
+        assertEquals("For number of customers more than 3, at least 50% payment must be done", results.get(0).getMessage());
+    }
+
+    @Test
+    void testImportBookings_RejectsBookingsThatFailUnexpectedly() {
+        // Arrange
+        givenTransactionsRun();
+        givenRoomsAndCustomers();
+        givenBookingsAreSaved();
+        when(roomOccupancyIndex.isFree(anyCollection(), any(), any(), isNull())).thenReturn(true);
+        doThrow(new IllegalStateException("customer without age")).doCallRealMethod()
+                .when(bookingDetailsService).isAccompaniedByAdult(any());
+        List<BookingDetailsDto> bookings = List.of(
+                booking(List.of(101), LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 3)),
+                booking(List.of(101), LocalDate.of(2030, 1, 3), LocalDate.of(2030, 1, 5)));
+
+        // Act
+        List<BulkBookingResult> results = bookingImportService.importBookings(bookings);
+
+        // Assert
+        assertEquals(BulkBookingResult.Status.REJECTED, results.get(0).getStatus());
+        assertEquals("Booking could not be checked", results.get(0).getMessage());
+        assertEquals(BulkBookingResult.Status.CREATED, results.get(1).getStatus());
+    }
+
+    @Test
+    void testImportBookings_RetriesOneByOneWhenTheChunkFails() {
+        // Arrange
+        givenTransactionsRun();
+        givenRoomsAndCustomers();
+        givenBookingsAreSaved();
+        when(roomOccupancyIndex.isFree(anyCollection(), any(), any(), isNull())).thenReturn(true);
+        when(roomNightRepository.saveAllAndFlush(anyList()))
+                .thenThrow(new DataIntegrityViolationException("duplicate room night"))
+                .thenReturn(List.of())
+                .thenThrow(new DataIntegrityViolationException("duplicate room night"));
+        List<BookingDetailsDto> bookings = List.of(
+                booking(List.of(101), LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 3)),
+                booking(List.of(101), LocalDate.of(2030, 1, 3), LocalDate.of(2030, 1, 5)));
+
+        // Act
+        List<BulkBookingResult> results = bookingImportService.importBookings(bookings);
+
+        // Assert
+        assertEquals(BulkBookingResult.Status.CREATED, results.get(0).getStatus());
+        assertEquals(BulkBookingResult.Status.REJECTED, results.get(1).getStatus());
+        assertEquals("All rooms selected are currently not available", results.get(1).getMessage());
+        verify(transactionTemplate, times(3)).execute(any());
+    }
+
+    @Test
+    void testImportBookings_HandsOverOutcomesOfEachChunk() {
+        // Arrange
+        givenTransactionsRun();
+        givenRoomsAndCustomers();
+        givenBookingsAreSaved();
+        when(roomOccupancyIndex.isFree(anyCollection(), any(), any(), isNull())).thenReturn(true);
+        when(roomNightRepository.saveAllAndFlush(anyList()))
+                .thenThrow(new DataIntegrityViolationException("duplicate room night"))
+                .thenReturn(List.of())
+                .thenThrow(new DataIntegrityViolationException("duplicate room night"));
+        List<BookingDetailsDto> bookings = List.of(
+                booking(List.of(101), LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 3)),
+                booking(List.of(101), LocalDate.of(2030, 1, 3), LocalDate.of(2030, 1, 5)));
+        List<List<BulkBookingResult>> completed = new ArrayList<>();
+
+        // Act
+        bookingImportService.importBookings(bookings, completed::add);
+
+        // Assert
+        assertEquals(2, completed.size());
+        assertEquals(BulkBookingResult.Status.CREATED, completed.get(0).get(0).getStatus());
+        assertEquals(1, completed.get(1).get(0).getIndex());
+        assertEquals(BulkBookingResult.Status.REJECTED, completed.get(1).get(0).getStatus());
+    }
+
+    @Test
+    void testImportBookings_TooManyBookings() {
+        // Arrange
+        BookingDetailsDto booking = booking(List.of(101), LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 3));
+
+        // Act & Assert
+        assertThrows(InvalidBulkBookingException.class,
+                () -> bookingImportService.importBookings(List.of(booking, booking, booking, booking)));
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    void testValidateBooking_RefusesMalformedBookings() {
+        // Arrange
+        BookingDetailsDto backwards = booking(List.of(101), LocalDate.of(2030, 1, 3), LocalDate.of(2030, 1, 1));
+        BookingDetailsDto noCustomers = booking(List.of(101), LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 3));
+        noCustomers.setCustomerIdList(List.of());
+        BookingDetailsDto noDuration = booking(List.of(101), LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 3));
+        noDuration.setDuration(null);
+
+        // Act & Assert
+        assertThrows(InvalidBookingDatesException.class, () -> bookingImportService.validateBooking(backwards));
+        assertThrows(InvalidBookingRequestException.class, () -> bookingImportService.validateBooking(noCustomers));
+        assertThrows(InvalidBookingRequestException.class, () -> bookingImportService.validateBooking(noDuration));
+        bookingImportService.validateBooking(booking(List.of(101), LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 3)));
+    }
+
+    @Test
+    void testReadBookings_OneBookingPerLine() {
+        // Arrange
+        String ndjson = "{\"duration\":2,\"startDate\":\"2030-01-01\",\"endDate\":\"2030-01-03\",\"roomNumberList\":[101]}\n"
+                + "{\"duration\":1,\"startDate\":\"2030-02-01\",\"endDate\":\"2030-02-02\",\"roomNumberList\":[102]}\n";
+
+        // Act
+        List<BookingDetailsDto> bookings = bookingImportService.readBookings(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertEquals(2, bookings.size());
+        assertEquals(LocalDate.of(2030, 2, 1), bookings.get(1).getStartDate());
+        assertEquals(List.of(102), bookings.get(1).getRoomNumberList());
+    }
+
+    @Test
+    void testReadBookings_MalformedLine() {
+        // Arrange
+        String ndjson = "{\"duration\":2}\n{\"duration\":\n";
+
+        // Act & Assert
+        assertThrows(InvalidBulkBookingException.class,
+                () -> bookingImportService.readBookings(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private void givenTransactionsRun() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(mock(TransactionStatus.class)));
+    }
+
+    private void givenRoomsAndCustomers() {
+        when(roomRepository.findAllById(anyIterable()))
+                .thenReturn(List.of(new Room(101, "single", 2, 100, true, false, true, new ArrayList<>(), 0L)));
+        when(customerRepository.findAllById(anyIterable()))
+                .thenReturn(List.of(new Customer(1, "Akash", "Delhi", 30, "1234567890")));
+    }
+
+    private void givenBookingsAreSaved() {
+        when(bookingDetailsRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<BookingDetails> bookings = invocation.getArgument(0);
+            bookings.forEach(booking -> booking.setBookingId(nextBookingId.getAndIncrement()));
+            return bookings;
+        });
+    }
+
+    private static BookingDetailsDto booking(final List<Integer> roomNumbers, final LocalDate startDate, final LocalDate endDate) {
+        return BookingDetailsDto.builder()
+                .duration(2)
+                .startDate(startDate)
+                .endDate(endDate)
+                .modeOfBooking(ModeOfBooking.online)
+                .modeOfPayment(ModeOfPayment.prepaid)
+                .paidAmount(100)
+                .roomNumberList(roomNumbers)
+                .customerIdList(List.of(1))
+                .build();
+    }
+}
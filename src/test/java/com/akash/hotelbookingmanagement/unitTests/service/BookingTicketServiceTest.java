@@ -0,0 +1,249 @@
+package com.akash.hotelbookingmanagement.unitTests.service;
+
+import com.akash.hotelbookingmanagement.dto.BookingDetailsDto;
+import com.akash.hotelbookingmanagement.dto.BulkBookingResult;
+import com.akash.hotelbookingmanagement.exception.InvalidBookingDatesException;
+import com.akash.hotelbookingmanagement.exception.InvalidBookingRequestException;
+import com.akash.hotelbookingmanagement.model.BookingDetails;
+import com.akash.hotelbookingmanagement.model.BookingTicket;
+import com.akash.hotelbookingmanagement.model.enums.BookingTicketStatus;
+import com.akash.hotelbookingmanagement.model.enums.ModeOfBooking;
+import com.akash.hotelbookingmanagement.model.enums.ModeOfPayment;
+import com.akash.hotelbookingmanagement.repository.BookingTicketRepository;
+import com.akash.hotelbookingmanagement.service.BookingDetailsService;
+import com.akash.hotelbookingmanagement.service.BookingImportService;
+import com.akash.hotelbookingmanagement.service.BookingTicketService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingTicketServiceTest {
+
+    @InjectMocks
+    private BookingTicketService bookingTicketService;
+
+    @Mock
+    private BookingTicketRepository bookingTicketRepository;
+
+    @Mock
+    private BookingImportService bookingImportService;
+
+    @Mock
+    private BookingDetailsService bookingDetailsService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final List<BookingTicket> savedTickets = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bookingTicketService, "queueCapacity", 1);
+        ReflectionTestUtils.setField(bookingTicketService, "batchSize", 10);
+        bookingTicketService.createQueue();
+    }
+
+    @Test
+    void testSubmit_StagesTheBookingAndQueuesIt() throws Exception {
+        // Arrange
+        givenTicketsAreSaved();
+        BookingDetailsDto booking = booking();
+
+        // Act
+        BookingTicket ticket = bookingTicketService.submit(booking);
+
+        // Assert
+        assertEquals("ticket-1", ticket.getTicketId());
+        assertEquals(BookingTicketStatus.PENDING, ticket.getStatus());
+        assertEquals(LocalDate.of(2030, 1, 1), objectMapper.readValue(ticket.getRequest(), BookingDetailsDto.class).getStartDate());
+        assertEquals(1.0, meterRegistry.get("booking.tickets.queued").gauge().value());
+    }
+
+    @Test
+    void testSubmit_RejectsMalformedBookingsBeforeStaging() {
+        // Arrange
+        BookingDetailsDto backwards = booking();
+        backwards.setEndDate(LocalDate.of(2029, 12, 31));
+        BookingDetailsDto noCustomers = booking();
+        noCustomers.setCustomerIdList(List.of());
+        doThrow(new InvalidBookingDatesException("End date must be after start date"))
+                .when(bookingImportService).validateBooking(same(backwards));
+        doThrow(new InvalidBookingRequestException("At least one room and one customer must be specified"))
+                .when(bookingImportService).validateBooking(same(noCustomers));
+
+        // Act & Assert
+        assertThrows(InvalidBookingDatesException.class, () -> bookingTicketService.submit(backwards));
+        assertThrows(InvalidBookingRequestException.class, () -> bookingTicketService.submit(noCustomers));
+        verifyNoInteractions(bookingTicketRepository);
+    }
+
+    @Test
+    void testProcessNextBatch_RecordsTheImportOutcomes() throws Exception {
+        // Arrange
+        givenTicketsAreSaved();
+        bookingTicketService.submit(booking());
+        when(bookingTicketRepository.findAllByTicketIdInAndStatusOrderBySubmittedAt(List.of("ticket-1"), BookingTicketStatus.PENDING))
+                .thenReturn(savedTickets);
+        when(bookingImportService.importBookings(anyList(), any())).thenAnswer(invocation -> {
+            List<BulkBookingResult> results = List.of(BulkBookingResult.created(0, 7));
+            invocation.<Consumer<List<BulkBookingResult>>>getArgument(1).accept(results);
+            return results;
+        });
+
+        // Act
+        int processed = bookingTicketService.processNextBatch(0);
+
+        // Assert
+        assertEquals(1, processed);
+        verify(bookingTicketRepository).complete(eq("ticket-1"), eq(BookingTicketStatus.CREATED), eq(7), isNull(), any());
+        assertEquals(0, bookingTicketService.processNextBatch(0));
+    }
+
+    @Test
+    void testProcessNextBatch_RejectsATicketThatFailsOnItsOwn() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(bookingTicketService, "queueCapacity", 2);
+        bookingTicketService.createQueue();
+        givenTicketsAreSaved();
+        BookingDetailsDto unpaid = booking();
+        unpaid.setPaidAmount(null);
+        bookingTicketService.submit(unpaid);
+        bookingTicketService.submit(booking());
+        when(bookingTicketRepository.findAllByTicketIdInAndStatusOrderBySubmittedAt(anyList(), eq(BookingTicketStatus.PENDING)))
+                .thenAnswer(invocation -> savedTickets.stream()
+                        .filter(ticket -> invocation.<List<String>>getArgument(0).contains(ticket.getTicketId())).toList());
+        when(bookingImportService.importBookings(anyList(), any())).thenAnswer(invocation -> {
+            List<BookingDetailsDto> bookings = invocation.getArgument(0);
+            if (bookings.stream().anyMatch(booking -> booking.getPaidAmount() == null)) {
+                throw new NullPointerException("paidAmount");
+            }
+            List<BulkBookingResult> results = List.of(BulkBookingResult.created(0, 7));
+            invocation.<Consumer<List<BulkBookingResult>>>getArgument(1).accept(results);
+            return results;
+        });
+
+        // Act
+        int processed = bookingTicketService.processNextBatch(0);
+
+        // Assert
+        assertEquals(2, processed);
+        verify(bookingTicketRepository).complete(eq("ticket-1"), eq(BookingTicketStatus.REJECTED), isNull(),
+                eq("Booking could not be processed"), any());
+        verify(bookingTicketRepository).complete(eq("ticket-2"), eq(BookingTicketStatus.CREATED), eq(7), isNull(), any());
+        assertEquals(0, bookingTicketService.processNextBatch(0));
+    }
+
+    @Test
+    void testProcessNextBatch_LeavesTicketsPendingOnTransientFailures() throws Exception {
+        // Arrange
+        when(bookingTicketRepository.findTicketIdsByStatus(BookingTicketStatus.PENDING, Limit.of(1)))
+                .thenReturn(List.of(), List.of("ticket-1"));
+        bookingTicketService.requeuePendingTickets();
+        givenTicketsAreSaved();
+        bookingTicketService.submit(booking());
+        when(bookingTicketRepository.findAllByTicketIdInAndStatusOrderBySubmittedAt(List.of("ticket-1"), BookingTicketStatus.PENDING))
+                .thenReturn(savedTickets);
+        when(bookingImportService.importBookings(anyList(), any())).thenThrow(new CannotAcquireLockException("Deadlock detected"));
+
+        // Act
+        bookingTicketService.processNextBatch(0);
+        bookingTicketService.requeuePendingTickets();
+
+        // Assert
+        verify(bookingTicketRepository, never()).complete(any(), any(), any(), any(), any());
+        assertEquals(1, bookingTicketService.processNextBatch(0));
+    }
+
+    @Test
+    void testProcessNextBatch_ConfirmsHoldsOneByOne() throws Exception {
+        // Arrange
+        givenTicketsAreSaved();
+        BookingDetailsDto heldBooking = booking();
+        heldBooking.setHoldId(3);
+        bookingTicketService.submit(heldBooking);
+        when(bookingTicketRepository.findAllByTicketIdInAndStatusOrderBySubmittedAt(List.of("ticket-1"), BookingTicketStatus.PENDING))
+                .thenReturn(savedTickets);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(bookingDetailsService.createBooking(argThat(booking -> booking.getHoldId() == 3)))
+                .thenReturn(BookingDetails.builder().bookingId(9).build());
+
+        // Act
+        bookingTicketService.processNextBatch(0);
+
+        // Assert
+        verify(bookingTicketRepository).complete(eq("ticket-1"), eq(BookingTicketStatus.CREATED), eq(9), isNull(), any());
+        verify(bookingImportService, never()).importBookings(anyList(), any());
+    }
+
+    @Test
+    void testRequeuePendingTickets_QueuesTicketsThatDidNotFit() throws Exception {
+        // Arrange
+        givenTicketsAreSaved();
+        bookingTicketService.submit(booking());
+        bookingTicketService.submit(booking());
+        when(bookingTicketRepository.findAllByTicketIdInAndStatusOrderBySubmittedAt(anyList(), eq(BookingTicketStatus.PENDING)))
+                .thenReturn(List.of());
+        bookingTicketService.processNextBatch(0);
+        when(bookingTicketRepository.findTicketIdsByStatus(BookingTicketStatus.PENDING, Limit.of(1))).thenReturn(List.of("ticket-2"));
+
+        // Act
+        bookingTicketService.requeuePendingTickets();
+
+        // Assert
+        assertEquals(1, bookingTicketService.processNextBatch(0));
+        verify(bookingTicketRepository).findAllByTicketIdInAndStatusOrderBySubmittedAt(List.of("ticket-2"), BookingTicketStatus.PENDING);
+    }
+
+    private void givenTicketsAreSaved() {
+        when(bookingTicketRepository.save(any(BookingTicket.class))).thenAnswer(invocation -> {
+            BookingTicket ticket = invocation.getArgument(0);
+            ticket.setTicketId("ticket-" + (savedTickets.size() + 1));
+            savedTickets.add(ticket);
+            return ticket;
+        });
+    }
+
+    private static BookingDetailsDto booking() {
+        return BookingDetailsDto.builder()
+                .duration(2)
+                .startDate(LocalDate.of(2030, 1, 1))
+                .endDate(LocalDate.of(2030, 1, 3))
+                .modeOfBooking(ModeOfBooking.online)
+                .modeOfPayment(ModeOfPayment.prepaid)
+                .paidAmount(100)
+                .roomNumberList(List.of(101))
+                .customerIdList(List.of(1))
+                .build();
+    }
+}
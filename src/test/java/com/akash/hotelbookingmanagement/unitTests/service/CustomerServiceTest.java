@@ -1,5 +1,6 @@
 package com.akash.hotelbookingmanagement.unitTests.service;
 
+import com.akash.hotelbookingmanagement.dto.CustomerView;
 import com.akash.hotelbookingmanagement.exception.ResourceNotFoundException;
 import com.akash.hotelbookingmanagement.model.Customer;
 import com.akash.hotelbookingmanagement.repository.CustomerRepository;
@@ -11,7 +12,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -55,15 +58,17 @@ class CustomerServiceTest {
 
     @Test
     void testGetAllCustomers() {
-        when(customerRepository.findAll()).thenReturn(java.util.Collections.singletonList(testCustomer));
+        CustomerView customerView = mock(CustomerView.class);
+        when(customerRepository.findViewsByCustomerIdGreaterThanOrderByCustomerId(0, Limit.of(20)))
+                .thenReturn(java.util.Collections.singletonList(customerView));
 
-        Iterable<Customer> customers = customerService.getAllCustomers();
+        Iterable<CustomerView> customers = customerService.getAllCustomers(null, 20);
 
         assertNotNull(customers);
         assertTrue(customers.iterator().hasNext());
-        assertEquals(testCustomer, customers.iterator().next());
+        assertEquals(customerView, customers.iterator().next());
 
-        verify(customerRepository, times(1)).findAll();
+        verify(customerRepository, never()).findAll();
     }
 
     @Test
@@ -87,6 +92,28 @@ class CustomerServiceTest {
         verify(customerRepository, times(1)).findById(1);
     }
 
+    @Test
+    void testGetCustomersByIds() {
+        Customer otherCustomer = Customer.builder().customerId(2).fullName("Aman").build();
+        when(customerRepository.multiLoadById(List.of(2, 1))).thenReturn(List.of(testCustomer, otherCustomer));
+
+        List<Customer> customers = customerService.getCustomersByIds(List.of(2, 1, 2));
+
+        assertEquals(List.of(otherCustomer, testCustomer, otherCustomer), customers);
+        verify(customerRepository, times(1)).multiLoadById(List.of(2, 1));
+        verify(customerRepository, never()).findById(anyInt());
+    }
+
+    @Test
+    void testGetCustomersByIds_NotFound() {
+        when(customerRepository.multiLoadById(List.of(1, 5, 6))).thenReturn(List.of(testCustomer));
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> customerService.getCustomersByIds(List.of(1, 5, 6)));
+
+        assertEquals("Customer details not found with ids: [5, 6]", exception.getMessage());
+    }
+
     @Test
     void testUpdateCustomer() {
         Customer updatedCustomer = Customer.builder()
@@ -0,0 +1,166 @@
+package com.akash.hotelbookingmanagement.unitTests.service;
+
+import com.akash.hotelbookingmanagement.concurrency.RoomLockManager;
+import com.akash.hotelbookingmanagement.dto.RoomHoldDto;
+import com.akash.hotelbookingmanagement.exception.InvalidRoomHoldException;
+import com.akash.hotelbookingmanagement.exception.ResourceNotFoundException;
+import com.akash.hotelbookingmanagement.exception.RoomNotAvailableException;
+import com.akash.hotelbookingmanagement.model.Room;
+import com.akash.hotelbookingmanagement.model.RoomHold;
+import com.akash.hotelbookingmanagement.model.RoomNight;
+import com.akash.hotelbookingmanagement.repository.RoomHoldRepository;
+import com.akash.hotelbookingmanagement.repository.RoomNightRepository;
+import com.akash.hotelbookingmanagement.service.RoomHoldService;
+import com.akash.hotelbookingmanagement.service.RoomOccupancyIndex;
+import com.akash.hotelbookingmanagement.service.RoomService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomHoldServiceTest {
+
+    @InjectMocks
+    private RoomHoldService roomHoldService;
+
+    @Mock
+    private RoomHoldRepository roomHoldRepository;
+
+    @Mock
+    private RoomNightRepository roomNightRepository;
+
+    @Mock
+    private RoomService roomService;
+
+    @Mock
+    private RoomOccupancyIndex roomOccupancyIndex;
+
+    @Mock
+    private RoomLockManager roomLockManager;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private RoomHoldDto testRoomHoldDto;
+
+    private List<Room> testRooms;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(roomHoldService, "defaultHoldMinutes", 15);
+        ReflectionTestUtils.setField(roomHoldService, "maxHoldMinutes", 60);
+        ReflectionTestUtils.setField(roomHoldService, "tickMillis", 1000L);
+        ReflectionTestUtils.setField(roomHoldService, "releaseBatchSize", 2);
+
+        testRooms = List.of(new Room(101, "single", 2, 100, true, false, true, new ArrayList<>(), 0L));
+        testRoomHoldDto = new RoomHoldDto(List.of(101), LocalDate.now(), LocalDate.now().plusDays(3), null);
+    }
+
+    @Test
+    void testCreateHold_ReservesEveryRoomNight() {
+        // Arrange
+        roomHoldService.loadHolds();
+        when(roomService.getRoomsByRoomNumbers(List.of(101))).thenReturn(testRooms);
+        when(roomService.checkRoomsAvailability(testRooms, testRoomHoldDto.getStartDate(), testRoomHoldDto.getEndDate())).thenReturn(true);
+        when(roomHoldRepository.save(any(RoomHold.class))).thenAnswer(invocation -> {
+            RoomHold roomHold = invocation.getArgument(0);
+            roomHold.setHoldId(7);
+            return roomHold;
+        });
+        ArgumentCaptor<List<RoomNight>> roomNights = ArgumentCaptor.forClass(List.class);
+
+        // Act
+        RoomHold roomHold = roomHoldService.createHold(testRoomHoldDto);
+
+        // Assert
+        assertEquals(7, roomHold.getHoldId());
+        assertTrue(roomHold.getExpiresAt().isAfter(LocalDateTime.now().plusMinutes(14)));
+        verify(roomLockManager, times(1)).lockUntilTransactionCompletes(List.of(101));
+        verify(roomNightRepository, times(1)).saveAllAndFlush(roomNights.capture());
+        assertEquals(3, roomNights.getValue().size());
+        assertTrue(roomNights.getValue().stream().allMatch(night -> night.getHoldId() == 7 && night.getBookingId() == null));
+        verify(roomOccupancyIndex, times(1)).hold(7, List.of(101), testRoomHoldDto.getStartDate(), testRoomHoldDto.getEndDate());
+    }
+
+    @Test
+    void testCreateHold_RoomNotAvailableException() {
+        // Arrange
+        when(roomService.getRoomsByRoomNumbers(List.of(101))).thenReturn(testRooms);
+        when(roomService.checkRoomsAvailability(testRooms, testRoomHoldDto.getStartDate(), testRoomHoldDto.getEndDate())).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(RoomNotAvailableException.class, () -> roomHoldService.createHold(testRoomHoldDto));
+        verify(roomHoldRepository, never()).save(any(RoomHold.class));
+    }
+
+    @Test
+    void testCreateHold_InvalidRoomHoldException() {
+        // Arrange
+        testRoomHoldDto.setHoldMinutes(61);
+
+        // Act & Assert
+        assertThrows(InvalidRoomHoldException.class, () -> roomHoldService.createHold(testRoomHoldDto));
+        verifyNoInteractions(roomService, roomHoldRepository);
+    }
+
+    @Test
+    void testConsumeHold_ExpiredHold() {
+        // Arrange
+        RoomHold roomHold = new RoomHold(7, List.of(101), LocalDate.now(), LocalDate.now().plusDays(3), LocalDateTime.now());
+        when(roomHoldRepository.deleteUnexpired(eq(7), any(LocalDateTime.class))).thenReturn(0);
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> roomHoldService.consumeHold(roomHold));
+        verify(roomOccupancyIndex, never()).releaseHolds(any());
+    }
+
+    @Test
+    void testReleaseExpiredHolds_InBatches() {
+        // Arrange
+        List<RoomHold> expiredHolds = List.of(
+                new RoomHold(1, List.of(101), LocalDate.now(), LocalDate.now().plusDays(1), LocalDateTime.now().minusMinutes(1)),
+                new RoomHold(2, List.of(102), LocalDate.now(), LocalDate.now().plusDays(1), LocalDateTime.now().minusMinutes(1)),
+                new RoomHold(3, List.of(103), LocalDate.now(), LocalDate.now().plusDays(1), LocalDateTime.now().minusMinutes(1)));
+        when(roomHoldRepository.findAll()).thenReturn(expiredHolds);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        roomHoldService.loadHolds();
+
+        // Act
+        roomHoldService.releaseExpiredHolds();
+
+        // Assert
+        verify(transactionTemplate, times(2)).executeWithoutResult(any());
+        verify(roomNightRepository, times(1)).deleteAllByHoldIdIn(List.of(1, 2));
+        verify(roomHoldRepository, times(1)).deleteAllByHoldIdIn(List.of(3));
+        verify(roomOccupancyIndex, times(1)).releaseHolds(List.of(1, 2));
+    }
+
+    @Test
+    void testGetRoomHold_NotFound() {
+        // Arrange
+        when(roomHoldRepository.findById(7)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> roomHoldService.getRoomHold(7));
+    }
+}
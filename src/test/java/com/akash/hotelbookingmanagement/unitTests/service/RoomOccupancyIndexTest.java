@@ -0,0 +1,103 @@
+package com.akash.hotelbookingmanagement.unitTests.service;
+
+import com.akash.hotelbookingmanagement.dto.BookedRoomStay;
+import com.akash.hotelbookingmanagement.repository.BookingDetailsRepository;
+import com.akash.hotelbookingmanagement.service.RoomOccupancyIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomOccupancyIndexTest {
+
+    @Mock
+    private BookingDetailsRepository bookingDetailsRepository;
+
+    private RoomOccupancyIndex roomOccupancyIndex;
+
+    private final LocalDate may1 = LocalDate.of(2024, 5, 1);
+
+    @BeforeEach
+    void setUp() {
+        roomOccupancyIndex = new RoomOccupancyIndex(bookingDetailsRepository);
+        // Room 1 is booked for the nights of May 1 and May 2
+        roomOccupancyIndex.book(1, List.of(1), may1, may1.plusDays(2));
+    }
+
+    @Test
+    void testIsFree_OverlappingStay() {
+        assertFalse(roomOccupancyIndex.isFree(List.of(1), may1.plusDays(1), may1.plusDays(4), null));
+        assertFalse(roomOccupancyIndex.isFree(List.of(1), may1.minusDays(3), may1.plusDays(1), null));
+        assertFalse(roomOccupancyIndex.isFree(List.of(2, 1), may1, may1.plusDays(1), null));
+    }
+
+    @Test
+    void testIsFree_AdjacentStays() {
+        // Check-out day of one stay is the check-in day of the next
+        assertTrue(roomOccupancyIndex.isFree(List.of(1), may1.plusDays(2), may1.plusDays(4), null));
+        assertTrue(roomOccupancyIndex.isFree(List.of(1), may1.minusDays(2), may1, null));
+    }
+
+    @Test
+    void testIsFree_OtherRoom() {
+        assertTrue(roomOccupancyIndex.isFree(List.of(2), may1, may1.plusDays(2), null));
+    }
+
+    @Test
+    void testIsFree_HeldStay() {
+        roomOccupancyIndex.hold(1, List.of(2), may1, may1.plusDays(2));
+
+        // A hold and a booking sharing an id are distinct stays
+        assertFalse(roomOccupancyIndex.isFree(List.of(2), may1.plusDays(1), may1.plusDays(3), 1));
+
+        roomOccupancyIndex.releaseHolds(List.of(1));
+
+        assertTrue(roomOccupancyIndex.isFree(List.of(2), may1, may1.plusDays(2), null));
+        assertFalse(roomOccupancyIndex.isFree(List.of(1), may1, may1.plusDays(2), null));
+    }
+
+    @Test
+    void testIsFree_IgnoresExcludedBooking() {
+        roomOccupancyIndex.book(2, List.of(1), may1.minusDays(2), may1);
+
+        assertTrue(roomOccupancyIndex.isFree(List.of(1), may1, may1.plusDays(3), 1));
+        assertFalse(roomOccupancyIndex.isFree(List.of(1), may1.minusDays(1), may1.plusDays(3), 1));
+    }
+
+    @Test
+    void testBook_ReplacesPreviousStay() {
+        roomOccupancyIndex.book(1, List.of(2), may1.plusDays(5), may1.plusDays(6));
+
+        assertTrue(roomOccupancyIndex.isFree(List.of(1), may1, may1.plusDays(2), null));
+        assertFalse(roomOccupancyIndex.isFree(List.of(2), may1.plusDays(5), may1.plusDays(6), null));
+    }
+
+    @Test
+    void testRelease() {
+        roomOccupancyIndex.release(1);
+
+        assertTrue(roomOccupancyIndex.isFree(List.of(1), may1, may1.plusDays(2), null));
+    }
+
+    @Test
+    void testLoad() {
+        BookedRoomStay stay = mock(BookedRoomStay.class);
+        when(stay.getBookingId()).thenReturn(3);
+        when(stay.getRoomNumber()).thenReturn(4);
+        when(stay.getStartDate()).thenReturn(may1);
+        when(stay.getEndDate()).thenReturn(may1.plusDays(1));
+        when(bookingDetailsRepository.findAllBookedRoomStaysEndingAfter(any(LocalDate.class))).thenReturn(List.of(stay));
+
+        roomOccupancyIndex.load();
+
+        assertFalse(roomOccupancyIndex.isFree(List.of(4), may1, may1.plusDays(1), null));
+    }
+}
@@ -1,25 +1,41 @@
 package com.akash.hotelbookingmanagement.unitTests.service;
 
+import com.akash.hotelbookingmanagement.concurrency.SingleFlight;
 import com.akash.hotelbookingmanagement.config.RoomMapper;
+import com.akash.hotelbookingmanagement.dto.AssociatedId;
 import com.akash.hotelbookingmanagement.dto.RoomDto;
+import com.akash.hotelbookingmanagement.dto.RoomSearchCriteria;
+import com.akash.hotelbookingmanagement.dto.RoomView;
+import com.akash.hotelbookingmanagement.exception.InvalidBookingDatesException;
 import com.akash.hotelbookingmanagement.exception.ResourceNotFoundException;
 import com.akash.hotelbookingmanagement.model.Customer;
 import com.akash.hotelbookingmanagement.model.Room;
 import com.akash.hotelbookingmanagement.repository.RoomRepository;
 import com.akash.hotelbookingmanagement.service.CustomerService;
+import com.akash.hotelbookingmanagement.service.RoomChangedEvent;
+import com.akash.hotelbookingmanagement.service.RoomOccupancyIndex;
 import com.akash.hotelbookingmanagement.service.RoomService;
+import com.akash.hotelbookingmanagement.service.RoomTypeCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -30,12 +46,24 @@ class RoomServiceTest {
     @Mock
     private RoomRepository roomRepository;
 
+    @Mock
+    private RoomOccupancyIndex roomOccupancyIndex;
+
     @Mock
     private CustomerService customerService;
 
     @Mock
     private RoomMapper roomMapper;
 
+    @Mock
+    private RoomTypeCache roomTypeCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private SingleFlight<Integer, RoomView> roomViewLookups = new SingleFlight<>("room.view", 1000, new SimpleMeterRegistry());
+
     @InjectMocks
     private RoomService roomService;
 
@@ -90,24 +118,40 @@ class RoomServiceTest {
         assertEquals(testRoom, createdRoom);
 
         verify(roomRepository, times(1)).save(any(Room.class));
+        verify(eventPublisher, times(1)).publishEvent(new RoomChangedEvent(101, Set.of("Standard")));
+    }
+
+    @Test
+    void testGetRoomsByType_ReadFromCache() {
+        // Arrange
+        List<RoomView> roomList = List.of(roomView(101));
+        when(roomTypeCache.get("Standard")).thenReturn(roomList);
+
+        // Act
+        List<RoomView> rooms = roomService.getRoomsByType("Standard");
+
+        // Assert
+        assertEquals(roomList, rooms);
+        verifyNoInteractions(roomRepository);
     }
 
     @Test
     void testGetAllRooms() {
         // Arrange
-        List<Room> roomList = new ArrayList<>();
-        roomList.add(testRoom);
-        when(roomRepository.findAll()).thenReturn(roomList);
+        List<RoomView> roomList = List.of(roomView(101), roomView(102));
+        when(roomRepository.findViewsAfter(0, Limit.of(20))).thenReturn(roomList);
+        when(roomRepository.findCheckedInCustomerIdsByRoomNumberIn(List.of(101, 102)))
+                .thenReturn(List.of(associatedId(101, 1), associatedId(101, 2)));
 
         // Act
-        Iterable<Room> rooms = roomService.getAllRooms();
+        List<RoomView> rooms = roomService.getAllRooms(null, 20);
 
         // Assert
-        assertNotNull(rooms);
-        assertTrue(rooms.iterator().hasNext());
-        assertEquals(testRoom, rooms.iterator().next());
+        assertEquals(roomList, rooms);
+        assertEquals(List.of(1, 2), rooms.get(0).getCheckedInCustomerIdList());
+        assertEquals(List.of(), rooms.get(1).getCheckedInCustomerIdList());
 
-        verify(roomRepository, times(1)).findAll();
+        verify(roomRepository, never()).findAll();
     }
 
     @Test
@@ -136,6 +180,73 @@ class RoomServiceTest {
         verify(roomRepository, times(1)).findById(101);
     }
 
+    @Test
+    void testGetRoomsByRoomNumbers() {
+        Room otherRoom = Room.builder().roomNumber(102).type("Deluxe").build();
+        when(roomRepository.multiLoadById(List.of(102, 101))).thenReturn(List.of(testRoom, otherRoom));
+
+        List<Room> rooms = roomService.getRoomsByRoomNumbers(List.of(102, 101));
+
+        assertEquals(List.of(otherRoom, testRoom), rooms);
+        verify(roomRepository, never()).findById(anyInt());
+    }
+
+    @Test
+    void testGetRoomsByRoomNumbers_NotFound() {
+        when(roomRepository.multiLoadById(List.of(101, 201, 202))).thenReturn(List.of(testRoom));
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> roomService.getRoomsByRoomNumbers(List.of(101, 201, 202)));
+
+        assertEquals("Room details not found with room numbers: [201, 202]", exception.getMessage());
+    }
+
+    @Test
+    void testSearchAvailableRooms() {
+        LocalDate from = LocalDate.of(2024, 5, 1);
+        RoomSearchCriteria criteria = RoomSearchCriteria.builder().from(from).to(from.plusDays(2)).type("Standard").build();
+        when(roomRepository.findAvailableRoomNumbers(from, from.plusDays(2), "Standard", null, null, 0, Limit.of(10)))
+                .thenReturn(List.of(101));
+        RoomView roomView = roomView(101);
+        when(roomRepository.findViewsByRoomNumberIn(List.of(101))).thenReturn(List.of(roomView));
+
+        List<RoomView> rooms = roomService.searchAvailableRooms(criteria, null, 10);
+
+        assertEquals(List.of(roomView), rooms);
+    }
+
+    @Test
+    void testSearchAvailableRooms_NoneAvailable() {
+        LocalDate from = LocalDate.of(2024, 5, 1);
+        RoomSearchCriteria criteria = RoomSearchCriteria.builder().from(from).to(from.plusDays(2)).build();
+        when(roomRepository.findAvailableRoomNumbers(from, from.plusDays(2), null, null, null, 101, Limit.of(10)))
+                .thenReturn(List.of());
+
+        List<RoomView> rooms = roomService.searchAvailableRooms(criteria, 101, 10);
+
+        assertTrue(rooms.isEmpty());
+        verify(roomRepository, never()).findViewsByRoomNumberIn(any());
+    }
+
+    @Test
+    void testGetCheckedInCustomers_RoomNotFound() {
+        // Arrange
+        when(roomRepository.findCheckedInCustomerViews(999)).thenReturn(List.of());
+        when(roomRepository.existsById(999)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> roomService.getCheckedInCustomers(999));
+    }
+
+    @Test
+    void testSearchAvailableRooms_InvalidDates() {
+        LocalDate from = LocalDate.of(2024, 5, 1);
+        RoomSearchCriteria criteria = RoomSearchCriteria.builder().from(from).to(from).build();
+
+        assertThrows(InvalidBookingDatesException.class, () -> roomService.searchAvailableRooms(criteria, null, 10));
+        verifyNoInteractions(roomRepository);
+    }
+
     @Test
     void testUpdateRoomById() {
         // Arrange
@@ -161,62 +272,101 @@ class RoomServiceTest {
         verify(roomRepository, times(1)).findById(101);
         verify(roomMapper, times(1)).convertToEntity(updatedRoomDto);
         verify(roomRepository, times(1)).save(testRoom);
+        verify(eventPublisher, times(1)).publishEvent(new RoomChangedEvent(101, Set.of("Standard", "Deluxe")));
     }
 
     @Test
     void testDeleteRoom() {
         // Arrange
-        when(roomRepository.existsById(101)).thenReturn(true);
+        when(roomRepository.findById(101)).thenReturn(Optional.of(testRoom));
 
         // Act
         roomService.deleteRoom(101);
 
         // Assert
-        verify(roomRepository, times(1)).existsById(101);
-        verify(roomRepository, times(1)).deleteById(101);
+        verify(roomRepository, times(1)).delete(testRoom);
+        verify(eventPublisher, times(1)).publishEvent(new RoomChangedEvent(101, Set.of("Standard")));
     }
 
     @Test
     void testDeleteRoom_NotFound() {
         // Arrange
-        when(roomRepository.existsById(101)).thenReturn(false);
+        when(roomRepository.findById(101)).thenReturn(Optional.empty());
 
         // Act
         roomService.deleteRoom(101);
 
         // Assert
-        verify(roomRepository, times(1)).existsById(101);
-        verify(roomRepository, never()).deleteById(101);
+        verify(roomRepository, never()).delete(any(Room.class));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
     void testCheckRoomsAvailability_AllAvailable() {
         // Arrange
+        LocalDate startDate = LocalDate.of(2024, 4, 1);
         List<Room> roomList = new ArrayList<>();
         roomList.add(testRoom);
-        when(roomRepository.findById(testRoom.getRoomNumber())).thenReturn(Optional.of(testRoom));
+        when(roomOccupancyIndex.isFree(List.of(101), startDate, startDate.plusDays(3), null)).thenReturn(true);
 
         // Act
-        boolean result = roomService.checkRoomsAvailability(roomList);
+        boolean result = roomService.checkRoomsAvailability(roomList, startDate, startDate.plusDays(3));
 
         // Assert
         assertTrue(result);
     }
 
     @Test
-    void testCheckRoomsAvailability_NotAvailable() {
+    void testCheckRoomsAvailability_StayOverlapsBooking() {
         // Arrange
-        testRoom.setAvailability(false);
+        LocalDate startDate = LocalDate.of(2024, 4, 1);
+        List<Room> roomList = new ArrayList<>();
+        roomList.add(testRoom);
+        when(roomOccupancyIndex.isFree(List.of(101), startDate, startDate.plusDays(3), null)).thenReturn(false);
+
+        // Act
+        boolean result = roomService.checkRoomsAvailability(roomList, startDate, startDate.plusDays(3));
+
+        // Assert
+        assertFalse(result);
+    }
+
+    @Test
+    void testCheckRoomsAvailability_IgnoresOwnBooking() {
+        // Arrange
+        LocalDate startDate = LocalDate.of(2024, 4, 1);
         List<Room> roomList = new ArrayList<>();
         roomList.add(testRoom);
+        when(roomOccupancyIndex.isFree(List.of(101), startDate, startDate.plusDays(1), 7)).thenReturn(true);
 
-        when(roomRepository.findById(testRoom.getRoomNumber())).thenReturn(Optional.of(testRoom));
+        // Act
+        boolean result = roomService.checkRoomsAvailability(roomList, startDate, startDate.plusDays(1), 7);
 
+        // Assert
+        assertTrue(result);
+    }
+
+    @Test
+    void testCheckRoomsAvailability_NotAvailable() {
+        // Arrange
+        testRoom.setAvailability(false);
+        List<Room> roomList = new ArrayList<>();
+        roomList.add(testRoom);
 
         // Act
-        boolean result = roomService.checkRoomsAvailability(roomList);
+        boolean result = roomService.checkRoomsAvailability(roomList, LocalDate.of(2024, 4, 1), LocalDate.of(2024, 4, 4));
 
         // Assert
         assertFalse(result);
+        verifyNoInteractions(roomOccupancyIndex);
+    }
+
+    private static RoomView roomView(final Integer roomNumber) {
+        return new RoomView(roomNumber, "Standard", 2, 100, true, false, true);
+    }
+
+    private static AssociatedId associatedId(final Integer ownerId, final Integer associatedId) {
+        return new SpelAwareProxyProjectionFactory().createProjection(AssociatedId.class,
+                Map.of("ownerId", ownerId, "associatedId", associatedId));
     }
 }
@@ -0,0 +1,102 @@
+package com.akash.hotelbookingmanagement.unitTests.service;
+
+import com.akash.hotelbookingmanagement.dto.AssociatedId;
+import com.akash.hotelbookingmanagement.dto.RoomView;
+import com.akash.hotelbookingmanagement.repository.RoomRepository;
+import com.akash.hotelbookingmanagement.service.RoomChangedEvent;
+import com.akash.hotelbookingmanagement.service.RoomTypeCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomTypeCacheTest {
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RoomTypeCache roomTypeCache;
+
+    @BeforeEach
+    void setUp() {
+        roomTypeCache = new RoomTypeCache(roomRepository, transactionManager, 100, 60, 600, meterRegistry);
+    }
+
+    @Test
+    void testGet_LoadsOnceAsUnmodifiableSnapshot() {
+        // Arrange
+        when(roomRepository.findViewsByType("single")).thenReturn(new ArrayList<>(List.of(roomView(101, "single"))));
+        when(roomRepository.findCheckedInCustomerIdsByRoomNumberIn(List.of(101))).thenReturn(List.of(associatedId(101, 1)));
+
+        // Act
+        List<RoomView> first = roomTypeCache.get("single");
+        List<RoomView> second = roomTypeCache.get("single");
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(List.of(1), first.get(0).getCheckedInCustomerIdList());
+        assertThrows(UnsupportedOperationException.class, () -> first.add(roomView(102, "single")));
+        assertThrows(UnsupportedOperationException.class, () -> first.get(0).getCheckedInCustomerIdList().add(2));
+        verify(roomRepository, times(1)).findViewsByType("single");
+    }
+
+    @Test
+    void testOnRoomChanged_ReloadsOnlyChangedTypes() {
+        // Arrange
+        when(roomRepository.findViewsByType(anyString())).thenReturn(List.of());
+        roomTypeCache.get("single");
+        roomTypeCache.get("double");
+
+        // Act
+        roomTypeCache.onRoomChanged(new RoomChangedEvent(101, Set.of("single")));
+        roomTypeCache.get("single");
+        roomTypeCache.get("double");
+
+        // Assert
+        verify(roomRepository, times(2)).findViewsByType("single");
+        verify(roomRepository, times(1)).findViewsByType("double");
+        verify(roomRepository, never()).findCheckedInCustomerIdsByRoomNumberIn(anyCollection());
+    }
+
+    @Test
+    void testGet_HitsAndMissesRecorded() {
+        // Arrange
+        when(roomRepository.findViewsByType("single")).thenReturn(List.of());
+
+        // Act
+        roomTypeCache.get("single");
+        roomTypeCache.get("single");
+
+        // Assert
+        assertEquals(1, meterRegistry.get("cache.gets").tags("cache", RoomTypeCache.NAME, "result", "hit").functionCounter().count());
+        assertEquals(1, meterRegistry.get("cache.gets").tags("cache", RoomTypeCache.NAME, "result", "miss").functionCounter().count());
+    }
+
+    private static RoomView roomView(final Integer roomNumber, final String type) {
+        return new RoomView(roomNumber, type, 1, 100, true, false, false);
+    }
+
+    private static AssociatedId associatedId(final Integer ownerId, final Integer associatedId) {
+        return new SpelAwareProxyProjectionFactory().createProjection(AssociatedId.class,
+                Map.of("ownerId", ownerId, "associatedId", associatedId));
+    }
+}